@@ -0,0 +1,65 @@
+package com.rtejada.bank.engine;
+
+import com.rtejada.bank.model.AccountType;
+import com.rtejada.bank.repository.AccountStore;
+import com.rtejada.bank.service.CreditAccountService;
+import com.rtejada.bank.support.BenchmarkAccounts;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ShardedCommandEngineBenchmark {
+
+	private static final int ACCOUNTS = 1_000;
+
+	@Param({"1", "2", "4", "8"})
+	public int shards;
+
+	private CreditAccountService creditAccountService;
+	private ShardedCommandEngine engine;
+	private UUID[] accounts;
+
+	@Setup(Level.Trial)
+	public void startEngine() {
+		final AccountStore accountStore = new AccountStore();
+		creditAccountService = new CreditAccountService(accountStore);
+		accounts = new UUID[ACCOUNTS];
+		for (int i = 0; i < ACCOUNTS; i++) {
+			accounts[i] = BenchmarkAccounts.open(creditAccountService, AccountType.CREDIT).getId();
+		}
+		engine = new ShardedCommandEngine(accountStore, shards, 16_384);
+	}
+
+	@TearDown(Level.Trial)
+	public void stopEngine() {
+		engine.close();
+	}
+
+	@Benchmark
+	public BigDecimal deposit() {
+		final UUID accountId = accounts[ThreadLocalRandom.current().nextInt(ACCOUNTS)];
+		return engine.submit(accountId, () -> creditAccountService.deposit(BigDecimal.ONE, accountId)).join();
+	}
+
+	@Benchmark
+	@Threads(8)
+	public BigDecimal depositEightThreads() {
+		return deposit();
+	}
+}
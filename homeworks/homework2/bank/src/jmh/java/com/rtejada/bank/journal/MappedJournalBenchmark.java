@@ -0,0 +1,77 @@
+package com.rtejada.bank.journal;
+
+import com.rtejada.bank.model.Account;
+import com.rtejada.bank.model.AccountType;
+import com.rtejada.bank.model.Owner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class MappedJournalBenchmark {
+
+	@Param({"false", "true"})
+	public boolean groupCommit;
+
+	private Path directory;
+	private MappedJournal journal;
+	private JournalRecord record;
+
+	@Setup(Level.Trial)
+	public void openJournal() throws IOException {
+		directory = Files.createTempDirectory("bank-journal");
+		journal = new MappedJournal(directory, MappedJournal.DEFAULT_SEGMENT_SIZE, groupCommit);
+
+		final Owner owner = new Owner();
+		owner.setCpf("52998224725");
+		owner.setName("benchmark");
+
+		final Account account = new Account();
+		account.setId(UUID.randomUUID());
+		account.setAccountType(AccountType.CREDIT);
+		account.setOwner(owner);
+		account.setBalance(BigDecimal.TEN);
+		record = new JournalRecord(Collections.singletonList(AccountImage.of(account, true, 0)));
+	}
+
+	@TearDown(Level.Trial)
+	public void closeJournal() throws IOException {
+		journal.close();
+		try (Stream<Path> files = Files.walk(directory)) {
+			files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+		}
+	}
+
+	@Benchmark
+	public long appendDurable() {
+		final long sequence = journal.append(record);
+		journal.awaitDurable(sequence);
+		return sequence;
+	}
+
+	@Benchmark
+	@Threads(8)
+	public long appendDurableEightThreads() {
+		return appendDurable();
+	}
+}
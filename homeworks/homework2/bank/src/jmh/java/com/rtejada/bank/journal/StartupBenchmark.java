@@ -0,0 +1,77 @@
+package com.rtejada.bank.journal;
+
+import com.rtejada.bank.model.AccountType;
+import com.rtejada.bank.repository.AccountStore;
+import com.rtejada.bank.service.CreditAccountService;
+import com.rtejada.bank.support.BenchmarkAccounts;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StartupBenchmark {
+
+	@Param({"20000"})
+	public int accounts;
+
+	@Param({"false", "true"})
+	public boolean snapshot;
+
+	private Path directory;
+
+	@Setup(Level.Trial)
+	public void writeJournal() throws IOException {
+		directory = Files.createTempDirectory("bank-startup");
+
+		try (MappedJournal journal = new MappedJournal(directory, MappedJournal.DEFAULT_SEGMENT_SIZE, true)) {
+			final AccountStore accountStore = new AccountStore(journal);
+			final CreditAccountService creditAccountService = new CreditAccountService(accountStore);
+
+			for (int i = 0; i < accounts; i++) {
+				final UUID id = BenchmarkAccounts.open(creditAccountService, AccountType.CREDIT).getId();
+				creditAccountService.deposit(BigDecimal.ONE, id);
+				creditAccountService.withdraw(BigDecimal.ONE, id);
+			}
+
+			if (snapshot) {
+				try (Snapshotter snapshotter = new Snapshotter(journal, accountStore, new SnapshotStore(directory))) {
+					snapshotter.snapshot();
+				}
+			}
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void deleteJournal() throws IOException {
+		try (Stream<Path> files = Files.walk(directory)) {
+			files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+		}
+	}
+
+	@Benchmark
+	public int restart() {
+		try (MappedJournal journal = new MappedJournal(directory, MappedJournal.DEFAULT_SEGMENT_SIZE, true)) {
+			final AccountStore accountStore = new AccountStore(journal);
+			accountStore.replay(new SnapshotStore(directory).load(accountStore));
+			return accountStore.size();
+		}
+	}
+}
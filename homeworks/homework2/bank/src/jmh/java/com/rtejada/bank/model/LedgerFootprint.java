@@ -0,0 +1,46 @@
+package com.rtejada.bank.model;
+
+import org.openjdk.jol.info.GraphLayout;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class LedgerFootprint {
+
+	private static final int[] STATEMENTS_PER_ACCOUNT = {5, 100, 10_000};
+
+	private LedgerFootprint() {
+	}
+
+	public static void main(final String[] args) {
+		final long totalStatements = Long.getLong("footprint.statements", 500_000L);
+		final LocalDateTime now = LocalDateTime.now();
+
+		for (int statementsPerAccount : STATEMENTS_PER_ACCOUNT) {
+			final int accounts = (int) Math.max(1, totalStatements / statementsPerAccount);
+			final List<List<Statement>> objects = new ArrayList<>(accounts);
+			final List<Ledger> ledgers = new ArrayList<>(accounts);
+
+			for (int i = 0; i < accounts; i++) {
+				final List<Statement> statements = new ArrayList<>();
+				final Ledger ledger = new Ledger();
+				for (int j = 0; j < statementsPerAccount; j++) {
+					final LocalDateTime date = now.plusSeconds(i + j);
+					final BigDecimal value = BigDecimal.valueOf(i * 100L + j, 2);
+					statements.add(new Statement(date, value, Transaction.DEPOSIT));
+					ledger.append(date, value, Transaction.DEPOSIT);
+				}
+				objects.add(statements);
+				ledgers.add(ledger);
+			}
+
+			final long statements = (long) accounts * statementsPerAccount;
+			System.out.printf("%d accounts x %d statements: objects=%d B/statement, ledger=%d B/statement%n",
+					accounts, statementsPerAccount,
+					GraphLayout.parseInstance(objects).totalSize() / statements,
+					GraphLayout.parseInstance(ledgers).totalSize() / statements);
+		}
+	}
+}
@@ -0,0 +1,56 @@
+package com.rtejada.bank.repository;
+
+import com.rtejada.bank.model.Account;
+import com.rtejada.bank.model.AccountType;
+import com.rtejada.bank.service.CreditAccountService;
+import com.rtejada.bank.support.BenchmarkAccounts;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class AccountStoreDepositBenchmark {
+
+	private static final CreditAccountService CREDIT_ACCOUNT_SERVICE = new CreditAccountService(new AccountStore());
+
+	private Account account;
+
+	@Setup(Level.Iteration)
+	public void openAccount() {
+		account = BenchmarkAccounts.open(CREDIT_ACCOUNT_SERVICE, AccountType.CREDIT);
+	}
+
+	@Benchmark
+	public BigDecimal deposit() {
+		return CREDIT_ACCOUNT_SERVICE.deposit(BigDecimal.ONE, account.getId());
+	}
+
+	@Benchmark
+	@Threads(2)
+	public BigDecimal depositTwoThreads() {
+		return deposit();
+	}
+
+	@Benchmark
+	@Threads(4)
+	public BigDecimal depositFourThreads() {
+		return deposit();
+	}
+
+	@Benchmark
+	@Threads(8)
+	public BigDecimal depositEightThreads() {
+		return deposit();
+	}
+}
@@ -0,0 +1,89 @@
+package com.rtejada.bank.service;
+
+import com.rtejada.bank.model.AccountType;
+import com.rtejada.bank.model.Transfer;
+import com.rtejada.bank.model.TransferResult;
+import com.rtejada.bank.repository.AccountStore;
+import com.rtejada.bank.support.BenchmarkAccounts;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BatchTransferBenchmark {
+
+	private static final int ACCOUNTS = 2_000;
+
+	@Param({"100", "1000"})
+	public int batchSize;
+
+	private TransferService transferService;
+	private BatchTransferService batchTransferService;
+	private List<Transfer> transfers;
+
+	@Setup(Level.Trial)
+	public void openAccounts() {
+		final AccountStore accountStore = new AccountStore();
+		final CreditAccountService creditAccountService = new CreditAccountService(accountStore);
+		transferService = new TransferService(creditAccountService, new SaveAccountService(accountStore), accountStore);
+		batchTransferService = new BatchTransferService(transferService, accountStore);
+
+		final List<UUID> accounts = new ArrayList<>(ACCOUNTS);
+		for (int i = 0; i < ACCOUNTS; i++) {
+			accounts.add(BenchmarkAccounts.open(creditAccountService, AccountType.CREDIT).getId());
+		}
+
+		final Random random = new Random(7);
+		transfers = new ArrayList<>(batchSize);
+		for (int i = 0; i < batchSize; i++) {
+			final UUID source = accounts.get(random.nextInt(ACCOUNTS));
+			UUID target = accounts.get(random.nextInt(ACCOUNTS));
+			while (target.equals(source)) {
+				target = accounts.get(random.nextInt(ACCOUNTS));
+			}
+
+			final Transfer transfer = new Transfer();
+			transfer.setSourceId(source);
+			transfer.setSourceType(AccountType.CREDIT);
+			transfer.setTargetId(target);
+			transfer.setTargetType(AccountType.CREDIT);
+			transfer.setAmount(BigDecimal.valueOf(1 + random.nextInt(100)));
+			transfers.add(transfer);
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void close() {
+		batchTransferService.close();
+	}
+
+	@Benchmark
+	public BigDecimal singleTransfers() {
+		BigDecimal balance = null;
+		for (Transfer transfer : transfers) {
+			balance = transferService.transfer(transfer);
+		}
+		return balance;
+	}
+
+	@Benchmark
+	public List<TransferResult> batchTransfer() {
+		return batchTransferService.transfer(transfers);
+	}
+}
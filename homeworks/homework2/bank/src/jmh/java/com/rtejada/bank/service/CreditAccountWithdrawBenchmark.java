@@ -0,0 +1,72 @@
+package com.rtejada.bank.service;
+
+import com.rtejada.bank.model.Account;
+import com.rtejada.bank.model.AccountType;
+import com.rtejada.bank.repository.AccountStore;
+import com.rtejada.bank.support.BenchmarkAccounts;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CreditAccountWithdrawBenchmark {
+
+	private static final CreditAccountService CREDIT_ACCOUNT_SERVICE = new CreditAccountService(new AccountStore());
+	private static final BigDecimal AMOUNT = new BigDecimal("10.00");
+
+	@Param({"FIRST_OF_DAY", "FREE_REPEAT", "INITIAL_FEE", "FINAL_FEE"})
+	public String feeTier;
+
+	private Account account;
+	private LocalDate lastWithdraw;
+	private long withdrawCount;
+
+	@Setup(Level.Iteration)
+	public void openAccount() {
+		account = BenchmarkAccounts.open(CREDIT_ACCOUNT_SERVICE, AccountType.CREDIT);
+
+		switch (feeTier) {
+			case "FIRST_OF_DAY":
+				lastWithdraw = null;
+				withdrawCount = 0L;
+				break;
+			case "FREE_REPEAT":
+				lastWithdraw = LocalDate.now();
+				withdrawCount = 1L;
+				break;
+			case "INITIAL_FEE":
+				lastWithdraw = LocalDate.now();
+				withdrawCount = 3L;
+				break;
+			default:
+				lastWithdraw = LocalDate.now();
+				withdrawCount = 4L;
+		}
+	}
+
+	@Benchmark
+	public BigDecimal withdraw() {
+		account.setLastWithdraw(lastWithdraw);
+		account.setWithdrawCount(withdrawCount);
+		return CREDIT_ACCOUNT_SERVICE.withdraw(AMOUNT, account.getId());
+	}
+
+	@Benchmark
+	@Threads(4)
+	public BigDecimal withdrawFourThreads() {
+		return withdraw();
+	}
+}
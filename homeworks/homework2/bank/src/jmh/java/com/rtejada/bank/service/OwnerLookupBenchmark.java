@@ -0,0 +1,76 @@
+package com.rtejada.bank.service;
+
+import com.rtejada.bank.model.Account;
+import com.rtejada.bank.model.AccountType;
+import com.rtejada.bank.model.Owner;
+import com.rtejada.bank.repository.AccountStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class OwnerLookupBenchmark {
+
+	@Param({"100000", "1000000", "3000000"})
+	public int owners;
+
+	private OwnerService ownerService;
+	private List<Account> accounts;
+
+	@Setup(Level.Trial)
+	public void createOwners() {
+		final AccountStore accountStore = new AccountStore();
+		final CreditAccountService creditAccountService = new CreditAccountService(accountStore);
+		ownerService = new OwnerService(accountStore);
+		accounts = new ArrayList<>(owners);
+
+		for (int i = 0; i < owners; i++) {
+			final Owner owner = new Owner();
+			owner.setCpf(cpf(i));
+			owner.setName("benchmark");
+
+			final Account account = new Account();
+			account.setAccountType(AccountType.CREDIT);
+			account.setOwner(owner);
+			accounts.add(creditAccountService.createAccount(account));
+		}
+	}
+
+	@Benchmark
+	public List<Account> indexLookup() {
+		return ownerService.getAccounts(randomCpf());
+	}
+
+	@Benchmark
+	public List<Account> fullScan() {
+		final String cpf = randomCpf();
+		final List<Account> found = new ArrayList<>();
+		for (Account account : accounts) {
+			if (cpf.equals(account.getOwner().getCpf())) {
+				found.add(account);
+			}
+		}
+		return found;
+	}
+
+	private String randomCpf() {
+		return cpf(ThreadLocalRandom.current().nextInt(owners));
+	}
+
+	private static String cpf(final int index) {
+		return String.format("%011d", index);
+	}
+}
@@ -0,0 +1,51 @@
+package com.rtejada.bank.service;
+
+import com.rtejada.bank.model.Account;
+import com.rtejada.bank.model.AccountType;
+import com.rtejada.bank.repository.AccountStore;
+import com.rtejada.bank.support.BenchmarkAccounts;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SaveAccountBalanceBenchmark {
+
+	private static final SaveAccountService SAVE_ACCOUNT_SERVICE = new SaveAccountService(new AccountStore());
+
+	@Param({"0", "1", "60", "1440", "43200", "525600"})
+	public long idleMinutes;
+
+	private Account account;
+
+	@Setup(Level.Trial)
+	public void openAccount() {
+		account = BenchmarkAccounts.open(SAVE_ACCOUNT_SERVICE, AccountType.SAVING);
+		account.setLastTransaction(LocalDateTime.now().minusMinutes(idleMinutes));
+	}
+
+	@Benchmark
+	public Optional<BigDecimal> getBalance() {
+		return SAVE_ACCOUNT_SERVICE.getBalance(account.getId());
+	}
+
+	@Benchmark
+	@Threads(4)
+	public Optional<BigDecimal> getBalanceFourThreads() {
+		return getBalance();
+	}
+}
@@ -0,0 +1,104 @@
+package com.rtejada.bank.service;
+
+import com.rtejada.bank.model.AccountType;
+import com.rtejada.bank.model.Statement;
+import com.rtejada.bank.repository.AccountStore;
+import com.rtejada.bank.support.BenchmarkAccounts;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SnapshotReadBenchmark {
+
+	private static final int ACCOUNTS = 64;
+	private static final int HISTORY_SIZE = 1_000;
+	private static final int PAGE_SIZE = 20;
+	private static final int WRITE_PERCENT = 5;
+	private static final int BALANCE_PERCENT = 50;
+
+	private CreditAccountService creditAccountService;
+	private UUID[] accountIds;
+
+	@Setup(Level.Trial)
+	public void openAccounts() {
+		final AccountStore accountStore = new AccountStore();
+		creditAccountService = new CreditAccountService(accountStore);
+		accountIds = new UUID[ACCOUNTS];
+		for (int i = 0; i < ACCOUNTS; i++) {
+			accountIds[i] = UUID.randomUUID();
+			accountStore.save(BenchmarkAccounts.withHistory(accountIds[i], AccountType.CREDIT, HISTORY_SIZE));
+		}
+	}
+
+	@Benchmark
+	public Object readHeavy() {
+		final ThreadLocalRandom random = ThreadLocalRandom.current();
+		final UUID accountId = accountIds[random.nextInt(ACCOUNTS)];
+		final int operation = random.nextInt(100);
+
+		if (operation < WRITE_PERCENT) {
+			return creditAccountService.deposit(BigDecimal.ONE, accountId);
+		}
+		if (operation < WRITE_PERCENT + BALANCE_PERCENT) {
+			return creditAccountService.getBalance(accountId);
+		}
+		return creditAccountService.getStatement(accountId, HISTORY_SIZE - PAGE_SIZE, PAGE_SIZE);
+	}
+
+	@Benchmark
+	@Threads(2)
+	public Object readHeavyTwoThreads() {
+		return readHeavy();
+	}
+
+	@Benchmark
+	@Threads(4)
+	public Object readHeavyFourThreads() {
+		return readHeavy();
+	}
+
+	@Benchmark
+	@Threads(8)
+	public Object readHeavyEightThreads() {
+		return readHeavy();
+	}
+
+	@Benchmark
+	@Group("hotAccount")
+	@GroupThreads(3)
+	public Optional<BigDecimal> hotAccountBalance() {
+		return creditAccountService.getBalance(accountIds[0]);
+	}
+
+	@Benchmark
+	@Group("hotAccount")
+	@GroupThreads(3)
+	public List<Statement> hotAccountStatement() {
+		return creditAccountService.getStatement(accountIds[0], HISTORY_SIZE - PAGE_SIZE, PAGE_SIZE);
+	}
+
+	@Benchmark
+	@Group("hotAccount")
+	@GroupThreads(1)
+	public BigDecimal hotAccountDeposit() {
+		return creditAccountService.deposit(BigDecimal.ONE, accountIds[0]);
+	}
+}
@@ -0,0 +1,115 @@
+package com.rtejada.bank.service;
+
+import com.rtejada.bank.model.Account;
+import com.rtejada.bank.model.AccountType;
+import com.rtejada.bank.model.BalancePoint;
+import com.rtejada.bank.model.Granularity;
+import com.rtejada.bank.model.Statement;
+import com.rtejada.bank.model.StatementSummary;
+import com.rtejada.bank.model.Transaction;
+import com.rtejada.bank.repository.AccountStore;
+import com.rtejada.bank.support.BenchmarkAccounts;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StatementBenchmark {
+
+	private static final int PAGE_SIZE = 100;
+
+	@Param({"1000", "100000", "1000000"})
+	public int historySize;
+
+	private static final Set<Transaction> WITHDRAWS = EnumSet.of(Transaction.WITHDRAW);
+
+	private CreditAccountService creditAccountService;
+	private UUID accountId;
+	private LocalDateTime from;
+	private LocalDateTime to;
+	private LocalDateTime middle;
+
+	@Setup(Level.Trial)
+	public void loadHistory() {
+		final AccountStore accountStore = new AccountStore();
+		creditAccountService = new CreditAccountService(accountStore);
+		accountId = UUID.randomUUID();
+		final Account account = accountStore.save(BenchmarkAccounts.withHistory(accountId, AccountType.CREDIT, historySize));
+		from = account.getStatementList().get(historySize - PAGE_SIZE).getDate();
+		to = account.getLastTransaction();
+		middle = account.getStatementList().get(historySize / 2).getDate();
+	}
+
+	@Benchmark
+	public List<Statement> fullStatement() {
+		return creditAccountService.getStatement(accountId);
+	}
+
+	@Benchmark
+	public List<Statement> lastPage() {
+		return creditAccountService.getStatement(accountId, historySize - PAGE_SIZE, PAGE_SIZE);
+	}
+
+	@Benchmark
+	@Threads(4)
+	public List<Statement> lastPageFourThreads() {
+		return lastPage();
+	}
+
+	@Benchmark
+	public List<Statement> timeRange() {
+		return creditAccountService.getStatement(accountId, from, to, null);
+	}
+
+	@Benchmark
+	public List<Statement> timeRangeWithdraws() {
+		return creditAccountService.getStatement(accountId, from, to, WITHDRAWS);
+	}
+
+	@Benchmark
+	public List<Statement> allWithdraws() {
+		return creditAccountService.getStatement(accountId, null, null, WITHDRAWS);
+	}
+
+	@Benchmark
+	public List<StatementSummary> dailySummary() {
+		return creditAccountService.getStatementSummary(accountId, Granularity.DAY);
+	}
+
+	@Benchmark
+	public List<StatementSummary> monthlySummary() {
+		return creditAccountService.getStatementSummary(accountId, Granularity.MONTH);
+	}
+
+	@Benchmark
+	public BalancePoint balanceAt() {
+		return creditAccountService.getBalanceAt(accountId, middle);
+	}
+
+	@Benchmark
+	public BalancePoint balanceHistory() {
+		final Iterator<BalancePoint> points = creditAccountService.getBalanceHistory(accountId, from, to);
+		BalancePoint last = null;
+		while (points.hasNext()) {
+			last = points.next();
+		}
+		return last;
+	}
+}
@@ -0,0 +1,67 @@
+package com.rtejada.bank.service;
+
+import com.rtejada.bank.model.Account;
+import com.rtejada.bank.model.AccountType;
+import com.rtejada.bank.model.Transfer;
+import com.rtejada.bank.repository.AccountStore;
+import com.rtejada.bank.support.BenchmarkAccounts;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TransferBenchmark {
+
+	private static final AccountStore ACCOUNT_STORE = new AccountStore();
+	private static final CreditAccountService CREDIT_ACCOUNT_SERVICE = new CreditAccountService(ACCOUNT_STORE);
+	private static final SaveAccountService SAVE_ACCOUNT_SERVICE = new SaveAccountService(ACCOUNT_STORE);
+	private static final TransferService TRANSFER_SERVICE = new TransferService(CREDIT_ACCOUNT_SERVICE, SAVE_ACCOUNT_SERVICE, ACCOUNT_STORE);
+
+	@Param({"CREDIT", "SAVING"})
+	public AccountType sourceType;
+
+	@Param({"CREDIT", "SAVING"})
+	public AccountType targetType;
+
+	private Transfer transfer;
+
+	@Setup(Level.Iteration)
+	public void openAccounts() {
+		final Account source = BenchmarkAccounts.open(service(sourceType), sourceType);
+		final Account target = BenchmarkAccounts.open(service(targetType), targetType);
+
+		transfer = new Transfer();
+		transfer.setSourceId(source.getId());
+		transfer.setSourceType(sourceType);
+		transfer.setTargetId(target.getId());
+		transfer.setTargetType(targetType);
+		transfer.setAmount(new BigDecimal("10.00"));
+	}
+
+	@Benchmark
+	public BigDecimal transfer() {
+		return TRANSFER_SERVICE.transfer(transfer);
+	}
+
+	@Benchmark
+	@Threads(4)
+	public BigDecimal transferFourThreads() {
+		return transfer();
+	}
+
+	private static AccountService service(final AccountType accountType) {
+		return AccountType.SAVING.equals(accountType) ? SAVE_ACCOUNT_SERVICE : CREDIT_ACCOUNT_SERVICE;
+	}
+}
@@ -0,0 +1,61 @@
+package com.rtejada.bank.service;
+
+import com.rtejada.bank.model.AccountType;
+import com.rtejada.bank.model.Transfer;
+import com.rtejada.bank.repository.AccountStore;
+import com.rtejada.bank.support.BenchmarkAccounts;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TransferContentionBenchmark {
+
+	@Param({"4", "64"})
+	public int accounts;
+
+	private TransferService transferService;
+	private UUID[] accountIds;
+
+	@Setup(Level.Trial)
+	public void openAccounts() {
+		final AccountStore accountStore = new AccountStore();
+		final CreditAccountService creditAccountService = new CreditAccountService(accountStore);
+		transferService = new TransferService(creditAccountService, new SaveAccountService(accountStore), accountStore);
+
+		accountIds = new UUID[accounts];
+		for (int i = 0; i < accounts; i++) {
+			accountIds[i] = BenchmarkAccounts.open(creditAccountService, AccountType.CREDIT).getId();
+		}
+	}
+
+	@Benchmark
+	@Threads(8)
+	public BigDecimal crissCrossTransfer() {
+		final ThreadLocalRandom random = ThreadLocalRandom.current();
+		final int source = random.nextInt(accounts);
+		final int target = (source + 1 + random.nextInt(accounts - 1)) % accounts;
+
+		final Transfer transfer = new Transfer();
+		transfer.setSourceId(accountIds[source]);
+		transfer.setSourceType(AccountType.CREDIT);
+		transfer.setTargetId(accountIds[target]);
+		transfer.setTargetType(AccountType.CREDIT);
+		transfer.setAmount(BigDecimal.ONE);
+		return transferService.transfer(transfer);
+	}
+}
@@ -0,0 +1,54 @@
+package com.rtejada.bank.support;
+
+import com.rtejada.bank.model.Account;
+import com.rtejada.bank.model.AccountType;
+import com.rtejada.bank.model.Owner;
+import com.rtejada.bank.model.Statement;
+import com.rtejada.bank.model.Transaction;
+import com.rtejada.bank.service.AccountService;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public final class BenchmarkAccounts {
+
+	public static final BigDecimal OPENING_BALANCE = new BigDecimal("1000000000.00");
+
+	private BenchmarkAccounts() {
+	}
+
+	public static Account open(final AccountService accountService, final AccountType accountType) {
+		final Owner owner = new Owner();
+		owner.setCpf("52998224725");
+		owner.setName("benchmark");
+
+		final Account account = new Account();
+		account.setAccountType(accountType);
+		account.setOwner(owner);
+
+		final Account created = accountService.createAccount(account);
+		accountService.deposit(OPENING_BALANCE, created.getId());
+		return created;
+	}
+
+	public static Account withHistory(final UUID accountId, final AccountType accountType, final int statements) {
+		final Owner owner = new Owner();
+		owner.setCpf("52998224725");
+		owner.setName("benchmark");
+
+		final Account account = new Account();
+		account.setId(accountId);
+		account.setAccountType(accountType);
+		account.setOwner(owner);
+		account.setBalance(OPENING_BALANCE);
+
+		final LocalDateTime start = LocalDateTime.now().minusMinutes(statements);
+		for (int i = 0; i < statements; i++) {
+			account.addStatement(new Statement(start.plusMinutes(i), BigDecimal.valueOf(i % 1000 + 1, 2),
+					i % 2 == 0 ? Transaction.DEPOSIT : Transaction.WITHDRAW));
+		}
+		account.setLastTransaction(start.plusMinutes(statements));
+		return account;
+	}
+}
@@ -0,0 +1,69 @@
+package com.rtejada.bank.v1.mapper;
+
+import com.rtejada.bank.model.Account;
+import com.rtejada.bank.model.AccountType;
+import com.rtejada.bank.model.Statement;
+import com.rtejada.bank.support.BenchmarkAccounts;
+import com.rtejada.bank.v1.dto.AccountResponse;
+import com.rtejada.bank.v1.dto.StatementResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AccountMapperBenchmark {
+
+	private final AccountMapper accountMapper = new AccountMapper();
+
+	@Param({"100", "10000"})
+	public int statements;
+
+	private Account account;
+	private List<Statement> statementList;
+
+	@Setup(Level.Trial)
+	public void prepare() {
+		account = BenchmarkAccounts.withHistory(UUID.randomUUID(), AccountType.CREDIT, statements);
+		statementList = account.getStatementList();
+	}
+
+	@Benchmark
+	public AccountResponse toResponse() {
+		return accountMapper.toResponse(account);
+	}
+
+	@Benchmark
+	@Threads(4)
+	public AccountResponse toResponseFourThreads() {
+		return toResponse();
+	}
+
+	@Benchmark
+	public List<StatementResponse> statementsToResponse() {
+		final List<StatementResponse> responses = new ArrayList<>(statementList.size());
+		for (Statement statement : statementList) {
+			responses.add(accountMapper.toResponse(statement));
+		}
+		return responses;
+	}
+
+	@Benchmark
+	@Threads(4)
+	public List<StatementResponse> statementsToResponseFourThreads() {
+		return statementsToResponse();
+	}
+}
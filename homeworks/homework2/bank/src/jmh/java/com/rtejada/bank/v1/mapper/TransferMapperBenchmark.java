@@ -0,0 +1,57 @@
+package com.rtejada.bank.v1.mapper;
+
+import com.rtejada.bank.model.AccountType;
+import com.rtejada.bank.model.Transfer;
+import com.rtejada.bank.v1.dto.TransferRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TransferMapperBenchmark {
+
+	private final TransferMapper transferMapper = new TransferMapper();
+
+	private TransferRequest transferRequest;
+	private Transfer transfer;
+
+	@Setup(Level.Trial)
+	public void prepare() {
+		transferRequest = new TransferRequest();
+		transferRequest.setSourceId(UUID.randomUUID());
+		transferRequest.setSourceType(AccountType.CREDIT);
+		transferRequest.setTargetId(UUID.randomUUID());
+		transferRequest.setTargetType(AccountType.SAVING);
+		transferRequest.setAmount(new BigDecimal("10.50"));
+		transfer = transferMapper.toEntity(transferRequest);
+	}
+
+	@Benchmark
+	public Transfer toEntity() {
+		return transferMapper.toEntity(transferRequest);
+	}
+
+	@Benchmark
+	@Threads(4)
+	public Transfer toEntityFourThreads() {
+		return toEntity();
+	}
+
+	@Benchmark
+	public List<Object> toFingerprint() {
+		return transferMapper.toFingerprint(transfer);
+	}
+}
@@ -0,0 +1,45 @@
+package com.rtejada.bank.config;
+
+import com.rtejada.bank.engine.CommandExecutor;
+import com.rtejada.bank.engine.DirectCommandExecutor;
+import com.rtejada.bank.engine.DirectTransactionGateway;
+import com.rtejada.bank.engine.RingBufferPipeline;
+import com.rtejada.bank.engine.ShardedCommandEngine;
+import com.rtejada.bank.engine.TransactionGateway;
+import com.rtejada.bank.repository.AccountStore;
+import com.rtejada.bank.service.CreditAccountService;
+import com.rtejada.bank.service.SaveAccountService;
+import com.rtejada.bank.service.TransferService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class EngineConfiguration {
+
+	@Bean(destroyMethod = "close")
+	public CommandExecutor commandExecutor(final AccountStore accountStore,
+										   @Value("${bank.engine.shards:0}") final int shards,
+										   @Value("${bank.engine.queue-capacity:16384}") final int queueCapacity) {
+		if (shards <= 0) {
+			return new DirectCommandExecutor();
+		}
+
+		return new ShardedCommandEngine(accountStore, shards, queueCapacity);
+	}
+
+	@Bean(destroyMethod = "close")
+	public TransactionGateway transactionGateway(final CreditAccountService creditAccountService,
+												 final SaveAccountService saveAccountService,
+												 final TransferService transferService,
+												 final AccountStore accountStore,
+												 final CommandExecutor commandExecutor,
+												 @Value("${bank.engine.pipeline.enabled:false}") final boolean pipelineEnabled,
+												 @Value("${bank.engine.pipeline.ring-size:65536}") final int ringSize) {
+		if (pipelineEnabled) {
+			return new RingBufferPipeline(creditAccountService, saveAccountService, transferService, accountStore, ringSize);
+		}
+
+		return new DirectTransactionGateway(creditAccountService, saveAccountService, transferService, commandExecutor);
+	}
+}
@@ -0,0 +1,31 @@
+package com.rtejada.bank.config;
+
+import com.rtejada.bank.model.FeeSchedule;
+import com.rtejada.bank.service.FeeRulesEngine;
+import com.rtejada.bank.service.FeeScheduleReloader;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.nio.file.Paths;
+
+@Configuration
+public class FeeConfiguration {
+
+	@Bean
+	public FeeRulesEngine feeRulesEngine(final Environment environment) {
+		return new FeeRulesEngine(FeeSchedule.from(environment::getProperty));
+	}
+
+	@Bean(destroyMethod = "close")
+	@ConditionalOnProperty(name = "bank.fees.reload-file")
+	public FeeScheduleReloader feeScheduleReloader(final FeeRulesEngine feeRulesEngine, final Environment environment,
+												   @Value("${bank.fees.reload-file}") final String file,
+												   @Value("${bank.fees.reload-interval-seconds:30}") final long intervalSeconds) {
+		final FeeScheduleReloader reloader = new FeeScheduleReloader(feeRulesEngine, Paths.get(file), environment::getProperty);
+		reloader.start(intervalSeconds);
+		return reloader;
+	}
+}
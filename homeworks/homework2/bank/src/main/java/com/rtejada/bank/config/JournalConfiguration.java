@@ -0,0 +1,55 @@
+package com.rtejada.bank.config;
+
+import com.rtejada.bank.journal.Journal;
+import com.rtejada.bank.journal.MappedJournal;
+import com.rtejada.bank.journal.NoOpJournal;
+import com.rtejada.bank.journal.SnapshotStore;
+import com.rtejada.bank.journal.Snapshotter;
+import com.rtejada.bank.repository.AccountStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Paths;
+
+@Configuration
+public class JournalConfiguration {
+
+	@Value("${bank.journal.directory:data/journal}")
+	private String directory;
+
+	@Bean(destroyMethod = "close")
+	public Journal journal(@Value("${bank.journal.enabled:false}") final boolean enabled,
+						   @Value("${bank.journal.segment-size:" + MappedJournal.DEFAULT_SEGMENT_SIZE + "}") final int segmentSize,
+						   @Value("${bank.journal.group-commit:true}") final boolean groupCommit) {
+		if (!enabled) {
+			return new NoOpJournal();
+		}
+
+		return new MappedJournal(Paths.get(directory), segmentSize, groupCommit);
+	}
+
+	@Bean
+	public SnapshotStore snapshotStore() {
+		return new SnapshotStore(Paths.get(directory));
+	}
+
+	@Bean
+	public AccountStore accountStore(final Journal journal, final SnapshotStore snapshotStore) {
+		final AccountStore accountStore = new AccountStore(journal);
+		if (journal.isEnabled()) {
+			accountStore.replay(snapshotStore.load(accountStore));
+		}
+		return accountStore;
+	}
+
+	@Bean(destroyMethod = "close")
+	@ConditionalOnProperty(name = "bank.journal.enabled", havingValue = "true")
+	public Snapshotter snapshotter(final Journal journal, final AccountStore accountStore, final SnapshotStore snapshotStore,
+								   @Value("${bank.journal.snapshot-interval-seconds:300}") final long intervalSeconds) {
+		final Snapshotter snapshotter = new Snapshotter(journal, accountStore, snapshotStore);
+		snapshotter.start(intervalSeconds);
+		return snapshotter;
+	}
+}
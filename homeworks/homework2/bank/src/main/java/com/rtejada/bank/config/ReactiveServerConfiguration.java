@@ -0,0 +1,32 @@
+package com.rtejada.bank.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rtejada.bank.v2.handler.AccountHandler;
+import com.rtejada.bank.v2.handler.TransferHandler;
+import com.rtejada.bank.v2.router.BankRoutes;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+@Configuration
+@ConditionalOnProperty(name = "bank.v2.enabled", havingValue = "true", matchIfMissing = true)
+public class ReactiveServerConfiguration {
+
+	@Bean(destroyMethod = "disposeNow")
+	public DisposableServer reactiveServer(final AccountHandler accountHandler, final TransferHandler transferHandler,
+										   final ObjectMapper objectMapper,
+										   @Value("${bank.v2.port:8081}") final int port) {
+		final ReactorHttpHandlerAdapter adapter = new ReactorHttpHandlerAdapter(RouterFunctions.toHttpHandler(
+				BankRoutes.routes(accountHandler, transferHandler), BankRoutes.strategies(objectMapper)));
+
+		return HttpServer.create()
+				.port(port)
+				.handle(adapter)
+				.bindNow();
+	}
+}
@@ -0,0 +1,26 @@
+package com.rtejada.bank.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ExecutorService;
+
+@Configuration
+@ConditionalOnProperty(name = "bank.server.threads", havingValue = "virtual")
+public class VirtualThreadConfiguration {
+
+	private final ExecutorService requestExecutor = VirtualThreads.newExecutor();
+
+	@Bean
+	public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+		return protocolHandler -> protocolHandler.setExecutor(requestExecutor);
+	}
+
+	@PreDestroy
+	public void close() {
+		requestExecutor.shutdown();
+	}
+}
@@ -0,0 +1,37 @@
+package com.rtejada.bank.config;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public final class VirtualThreads {
+
+	private static final Method NEW_EXECUTOR = findExecutorFactory();
+
+	private VirtualThreads() {
+	}
+
+	public static boolean isSupported() {
+		return NEW_EXECUTOR != null;
+	}
+
+	public static ExecutorService newExecutor() {
+		if (NEW_EXECUTOR == null) {
+			throw new IllegalStateException("Virtual threads require Java 21 or later, running on " + System.getProperty("java.version"));
+		}
+
+		try {
+			return (ExecutorService) NEW_EXECUTOR.invoke(null);
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException("Cannot create virtual thread executor", e);
+		}
+	}
+
+	private static Method findExecutorFactory() {
+		try {
+			return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+		} catch (NoSuchMethodException e) {
+			return null;
+		}
+	}
+}
@@ -0,0 +1,16 @@
+package com.rtejada.bank.engine;
+
+import java.io.Closeable;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+public interface CommandExecutor extends Closeable {
+
+	<T> CompletableFuture<T> submit(final UUID accountId, final Supplier<T> command);
+
+	<T> CompletableFuture<T> submit(final UUID firstAccountId, final UUID secondAccountId, final Supplier<T> command);
+
+	@Override
+	void close();
+}
@@ -0,0 +1,29 @@
+package com.rtejada.bank.engine;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+public class DirectCommandExecutor implements CommandExecutor {
+
+	public <T> CompletableFuture<T> submit(final UUID accountId, final Supplier<T> command) {
+		return run(command);
+	}
+
+	public <T> CompletableFuture<T> submit(final UUID firstAccountId, final UUID secondAccountId, final Supplier<T> command) {
+		return run(command);
+	}
+
+	public void close() {
+	}
+
+	static <T> CompletableFuture<T> run(final Supplier<T> command) {
+		final CompletableFuture<T> result = new CompletableFuture<>();
+		try {
+			result.complete(command.get());
+		} catch (RuntimeException e) {
+			result.completeExceptionally(e);
+		}
+		return result;
+	}
+}
@@ -0,0 +1,49 @@
+package com.rtejada.bank.engine;
+
+import com.rtejada.bank.model.AccountType;
+import com.rtejada.bank.model.Transfer;
+import com.rtejada.bank.service.AccountService;
+import com.rtejada.bank.service.CreditAccountService;
+import com.rtejada.bank.service.SaveAccountService;
+import com.rtejada.bank.service.TransferService;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static com.rtejada.bank.model.AccountType.CREDIT;
+import static com.rtejada.bank.model.AccountType.SAVING;
+
+public class DirectTransactionGateway implements TransactionGateway {
+
+	private final Map<AccountType, AccountService> accountServiceMap = new HashMap<>();
+	private final TransferService transferService;
+	private final CommandExecutor commandExecutor;
+
+	public DirectTransactionGateway(final CreditAccountService creditAccountService, final SaveAccountService saveAccountService,
+									final TransferService transferService, final CommandExecutor commandExecutor) {
+		this.transferService = transferService;
+		this.commandExecutor = commandExecutor;
+		accountServiceMap.put(CREDIT, creditAccountService);
+		accountServiceMap.put(SAVING, saveAccountService);
+	}
+
+	public CompletableFuture<BigDecimal> deposit(final AccountType accountType, final UUID accountId, final BigDecimal amount) {
+		final AccountService accountService = accountServiceMap.get(accountType);
+		return commandExecutor.submit(accountId, () -> accountService.deposit(amount, accountId));
+	}
+
+	public CompletableFuture<BigDecimal> withdraw(final AccountType accountType, final UUID accountId, final BigDecimal amount) {
+		final AccountService accountService = accountServiceMap.get(accountType);
+		return commandExecutor.submit(accountId, () -> accountService.withdraw(amount, accountId));
+	}
+
+	public CompletableFuture<BigDecimal> transfer(final Transfer transfer) {
+		return commandExecutor.submit(transfer.getSourceId(), transfer.getTargetId(), () -> transferService.transfer(transfer));
+	}
+
+	public void close() {
+	}
+}
@@ -0,0 +1,343 @@
+package com.rtejada.bank.engine;
+
+import com.rtejada.bank.exception.InvalidAccountException;
+import com.rtejada.bank.exception.InvalidTransactionException;
+import com.rtejada.bank.model.AccountType;
+import com.rtejada.bank.model.Transfer;
+import com.rtejada.bank.repository.AccountStore;
+import com.rtejada.bank.service.AccountService;
+import com.rtejada.bank.service.CreditAccountService;
+import com.rtejada.bank.service.SaveAccountService;
+import com.rtejada.bank.service.TransferService;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.rtejada.bank.model.AccountType.CREDIT;
+import static com.rtejada.bank.model.AccountType.SAVING;
+
+public class RingBufferPipeline implements TransactionGateway {
+
+	private static final int MAX_BATCH = 1024;
+	private static final int SPIN_TRIES = 100;
+	private static final int YIELD_TRIES = 200;
+	private static final long PARK_NANOS = 10_000L;
+	private static final long CLOSED = 1L << 62;
+
+	private final Map<AccountType, AccountService> accountServiceMap = new HashMap<>();
+	private final TransferService transferService;
+	private final AccountStore accountStore;
+	private final TransactionEvent[] ring;
+	private final int mask;
+	private final AtomicLongArray published;
+	private final AtomicLong claimed = new AtomicLong(-1L);
+	private final AtomicLong decoded = new AtomicLong(-1L);
+	private final AtomicLong applied = new AtomicLong(-1L);
+	private final AtomicLong completed = new AtomicLong(-1L);
+	private final AtomicLong processed = new AtomicLong();
+	private final Runnable applyBatch = this::applyBatch;
+	private final Thread[] stages;
+
+	private volatile long shutdownSequence = Long.MAX_VALUE;
+	private long batchStart;
+	private long batchEnd;
+
+	public RingBufferPipeline(final CreditAccountService creditAccountService, final SaveAccountService saveAccountService,
+							  final TransferService transferService, final AccountStore accountStore, final int ringSize) {
+		if (ringSize <= 0 || Integer.bitCount(ringSize) != 1) {
+			throw new IllegalArgumentException("Ring size must be a power of two: " + ringSize);
+		}
+
+		this.transferService = transferService;
+		this.accountStore = accountStore;
+		this.ring = new TransactionEvent[ringSize];
+		this.mask = ringSize - 1;
+		this.published = new AtomicLongArray(ringSize);
+		accountServiceMap.put(CREDIT, creditAccountService);
+		accountServiceMap.put(SAVING, saveAccountService);
+
+		for (int i = 0; i < ringSize; i++) {
+			ring[i] = new TransactionEvent();
+			published.set(i, -1L);
+		}
+
+		this.stages = new Thread[]{
+				new Thread(this::decodeLoop, "pipeline-decode"),
+				new Thread(this::applyLoop, "pipeline-apply"),
+				new Thread(this::completeLoop, "pipeline-complete")
+		};
+		for (Thread stage : stages) {
+			stage.setDaemon(true);
+			stage.start();
+		}
+	}
+
+	public CompletableFuture<BigDecimal> deposit(final AccountType accountType, final UUID accountId, final BigDecimal amount) {
+		return publish(TransactionEvent.Kind.DEPOSIT, accountType, accountId, amount, null);
+	}
+
+	public CompletableFuture<BigDecimal> withdraw(final AccountType accountType, final UUID accountId, final BigDecimal amount) {
+		return publish(TransactionEvent.Kind.WITHDRAW, accountType, accountId, amount, null);
+	}
+
+	public CompletableFuture<BigDecimal> transfer(final Transfer transfer) {
+		return publish(TransactionEvent.Kind.TRANSFER, null, null, null, transfer);
+	}
+
+	public int getRingSize() {
+		return ring.length;
+	}
+
+	public long getBacklog() {
+		return Math.max(0L, Math.min(claimed.get(), shutdownSequence) - completed.get());
+	}
+
+	public long getProcessed() {
+		return processed.get();
+	}
+
+	public void close() {
+		final long last = claimed.getAndAdd(CLOSED);
+		if (last >= CLOSED) {
+			return;
+		}
+
+		shutdownSequence = last;
+		for (Thread stage : stages) {
+			LockSupport.unpark(stage);
+			try {
+				stage.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+		}
+	}
+
+	private CompletableFuture<BigDecimal> publish(final TransactionEvent.Kind kind, final AccountType accountType, final UUID accountId,
+												  final BigDecimal amount, final Transfer transfer) {
+		final long sequence = claimed.incrementAndGet();
+		if (sequence >= CLOSED) {
+			throw new RejectedExecutionException("Transaction pipeline is closed");
+		}
+
+		while (sequence - ring.length > completed.get()) {
+			LockSupport.parkNanos(PARK_NANOS);
+		}
+
+		final TransactionEvent event = ring[(int) sequence & mask];
+		final CompletableFuture<BigDecimal> future = new CompletableFuture<>();
+		event.kind = kind;
+		event.accountType = accountType;
+		event.accountId = accountId;
+		event.amount = amount;
+		event.future = future;
+		if (transfer != null) {
+			event.transfer.setSourceId(transfer.getSourceId());
+			event.transfer.setSourceType(transfer.getSourceType());
+			event.transfer.setTargetId(transfer.getTargetId());
+			event.transfer.setTargetType(transfer.getTargetType());
+			event.transfer.setAmount(transfer.getAmount());
+		}
+
+		published.lazySet((int) sequence & mask, sequence);
+		LockSupport.unpark(stages[0]);
+		return future;
+	}
+
+	private void decodeLoop() {
+		long next = 0L;
+		int idle = 0;
+
+		while (true) {
+			long last = next - 1;
+			while (last + 1 - next < MAX_BATCH && published.get((int) (last + 1) & mask) == last + 1) {
+				last++;
+			}
+
+			if (last < next) {
+				if (next > shutdownSequence) {
+					LockSupport.unpark(stages[1]);
+					return;
+				}
+				idle = idle(idle);
+				continue;
+			}
+
+			for (long sequence = next; sequence <= last; sequence++) {
+				decode(ring[(int) sequence & mask]);
+			}
+
+			decoded.lazySet(last);
+			LockSupport.unpark(stages[1]);
+			next = last + 1;
+			idle = 0;
+		}
+	}
+
+	private void applyLoop() {
+		long next = 0L;
+		int idle = 0;
+
+		while (true) {
+			final long last = Math.min(decoded.get(), next + MAX_BATCH - 1);
+
+			if (last < next) {
+				if (next > shutdownSequence) {
+					LockSupport.unpark(stages[2]);
+					return;
+				}
+				idle = idle(idle);
+				continue;
+			}
+
+			batchStart = next;
+			batchEnd = last;
+			final long journalSequence = accountStore.deferDurability(applyBatch);
+			for (long sequence = next; sequence <= last; sequence++) {
+				ring[(int) sequence & mask].journalSequence = journalSequence;
+			}
+
+			applied.lazySet(last);
+			LockSupport.unpark(stages[2]);
+			next = last + 1;
+			idle = 0;
+		}
+	}
+
+	private void completeLoop() {
+		long next = 0L;
+		int idle = 0;
+
+		while (true) {
+			final long last = Math.min(applied.get(), next + MAX_BATCH - 1);
+
+			if (last < next) {
+				if (next > shutdownSequence) {
+					return;
+				}
+				idle = idle(idle);
+				continue;
+			}
+
+			long journalSequence = 0L;
+			for (long sequence = next; sequence <= last; sequence++) {
+				journalSequence = Math.max(journalSequence, ring[(int) sequence & mask].journalSequence);
+			}
+
+			RuntimeException journalFailure = null;
+			try {
+				if (journalSequence > 0L) {
+					accountStore.awaitDurable(journalSequence);
+				}
+			} catch (RuntimeException e) {
+				journalFailure = e;
+			}
+
+			processed.set(last + 1);
+			for (long sequence = next; sequence <= last; sequence++) {
+				complete(ring[(int) sequence & mask], journalFailure);
+			}
+
+			completed.lazySet(last);
+			next = last + 1;
+			idle = 0;
+		}
+	}
+
+	private void decode(final TransactionEvent event) {
+		try {
+			if (event.kind == TransactionEvent.Kind.TRANSFER) {
+				final Transfer transfer = event.transfer;
+				if (transfer.getSourceId() == null) {
+					throw new InvalidAccountException(transfer.getSourceId());
+				}
+				if (transfer.getTargetId() == null) {
+					throw new InvalidAccountException(transfer.getTargetId());
+				}
+				resolve(transfer.getSourceType());
+				resolve(transfer.getTargetType());
+				checkAmount(transfer.getAmount());
+			} else {
+				if (event.accountId == null) {
+					throw new InvalidAccountException(event.accountId);
+				}
+				event.accountService = resolve(event.accountType);
+				checkAmount(event.amount);
+			}
+		} catch (RuntimeException e) {
+			event.error = e;
+		}
+	}
+
+	private void applyBatch() {
+		for (long sequence = batchStart; sequence <= batchEnd; sequence++) {
+			final TransactionEvent event = ring[(int) sequence & mask];
+			if (event.error != null) {
+				continue;
+			}
+
+			try {
+				switch (event.kind) {
+					case DEPOSIT:
+						event.result = event.accountService.deposit(event.amount, event.accountId);
+						break;
+					case WITHDRAW:
+						event.result = event.accountService.withdraw(event.amount, event.accountId);
+						break;
+					default:
+						event.result = transferService.transfer(event.transfer);
+				}
+			} catch (RuntimeException e) {
+				event.error = e;
+			}
+		}
+	}
+
+	private static void complete(final TransactionEvent event, final RuntimeException journalFailure) {
+		final CompletableFuture<BigDecimal> future = event.future;
+		final BigDecimal result = event.result;
+		final RuntimeException error = event.error != null ? event.error : journalFailure;
+		event.clear();
+
+		if (error != null) {
+			future.completeExceptionally(error);
+		} else {
+			future.complete(result);
+		}
+	}
+
+	private AccountService resolve(final AccountType accountType) {
+		final AccountService accountService = accountType == null ? null : accountServiceMap.get(accountType);
+		if (accountService == null) {
+			throw new InvalidTransactionException("Invalid account type", "Invalid account type: " + accountType);
+		}
+		return accountService;
+	}
+
+	private static void checkAmount(final BigDecimal amount) {
+		if (amount == null) {
+			throw new InvalidTransactionException("Invalid transaction amount", "Invalid transaction amount: " + amount);
+		}
+	}
+
+	private static int idle(final int counter) {
+		if (counter < SPIN_TRIES) {
+			return counter + 1;
+		}
+		if (counter < YIELD_TRIES) {
+			Thread.yield();
+			return counter + 1;
+		}
+
+		LockSupport.parkNanos(PARK_NANOS);
+		return counter;
+	}
+}
@@ -0,0 +1,143 @@
+package com.rtejada.bank.engine;
+
+import com.rtejada.bank.repository.AccountStore;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+class Shard implements Runnable {
+
+	private static final int MAX_BATCH = 256;
+	private static final Completion NO_COMPLETION = new Completion() {
+		public void complete() {
+		}
+
+		public void fail(final RuntimeException error) {
+		}
+	};
+	private static final Task STOP = () -> NO_COMPLETION;
+
+	private final int index;
+	private final AccountStore accountStore;
+	private final BlockingQueue<Task> queue;
+	private final LongAdder processed = new LongAdder();
+	private final Thread thread;
+	private volatile boolean stopped;
+
+	Shard(final int index, final int queueCapacity, final AccountStore accountStore) {
+		this.index = index;
+		this.accountStore = accountStore;
+		this.queue = new ArrayBlockingQueue<>(queueCapacity);
+		this.thread = new Thread(this, "account-shard-" + index);
+		this.thread.setDaemon(true);
+	}
+
+	void start() {
+		thread.start();
+	}
+
+	void enqueue(final Task task) {
+		if (stopped) {
+			throw new RejectedExecutionException("Shard " + index + " is stopped");
+		}
+
+		try {
+			queue.put(task);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RejectedExecutionException("Interrupted while submitting to shard " + index, e);
+		}
+	}
+
+	boolean isOwnerThread() {
+		return Thread.currentThread() == thread;
+	}
+
+	int getIndex() {
+		return index;
+	}
+
+	int getQueueDepth() {
+		return queue.size();
+	}
+
+	long getProcessed() {
+		return processed.sum();
+	}
+
+	void stop() {
+		stopped = true;
+		try {
+			queue.put(STOP);
+			thread.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	public void run() {
+		final List<Task> batch = new ArrayList<>(MAX_BATCH);
+		final List<Completion> completions = new ArrayList<>(MAX_BATCH);
+		boolean running = true;
+
+		while (running) {
+			try {
+				batch.add(queue.take());
+			} catch (InterruptedException e) {
+				return;
+			}
+			queue.drainTo(batch, MAX_BATCH - 1);
+
+			final boolean[] stop = new boolean[1];
+			final long sequence = accountStore.deferDurability(() -> {
+				for (Task task : batch) {
+					if (task == STOP) {
+						stop[0] = true;
+					} else {
+						completions.add(task.execute());
+					}
+				}
+			});
+
+			RuntimeException journalFailure = null;
+			try {
+				accountStore.awaitDurable(sequence);
+			} catch (RuntimeException e) {
+				journalFailure = e;
+			}
+
+			processed.add(completions.size());
+			for (Completion completion : completions) {
+				if (journalFailure == null) {
+					completion.complete();
+				} else {
+					completion.fail(journalFailure);
+				}
+			}
+
+			running = !stop[0];
+			batch.clear();
+			completions.clear();
+		}
+	}
+
+	interface Task {
+
+		Completion execute();
+	}
+
+	interface Completion {
+
+		void complete();
+
+		void fail(final RuntimeException error);
+	}
+
+	static Completion noCompletion() {
+		return NO_COMPLETION;
+	}
+}
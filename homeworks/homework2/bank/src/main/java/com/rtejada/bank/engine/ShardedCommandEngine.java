@@ -0,0 +1,154 @@
+package com.rtejada.bank.engine;
+
+import com.rtejada.bank.repository.AccountStore;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Supplier;
+
+public class ShardedCommandEngine implements CommandExecutor {
+
+	private final AccountStore accountStore;
+	private final Shard[] shards;
+
+	public ShardedCommandEngine(final AccountStore accountStore, final int shardCount, final int queueCapacity) {
+		if (shardCount <= 0 || shardCount > accountStore.getStripes()) {
+			throw new IllegalArgumentException("Shard count must be between 1 and " + accountStore.getStripes() + ": " + shardCount);
+		}
+
+		this.accountStore = accountStore;
+		this.shards = new Shard[shardCount];
+
+		for (int i = 0; i < shardCount; i++) {
+			shards[i] = new Shard(i, queueCapacity, accountStore);
+			shards[i].start();
+		}
+	}
+
+	public <T> CompletableFuture<T> submit(final UUID accountId, final Supplier<T> command) {
+		if (accountId == null) {
+			return DirectCommandExecutor.run(command);
+		}
+
+		final Shard shard = shardFor(accountId);
+		if (shard.isOwnerThread()) {
+			return DirectCommandExecutor.run(command);
+		}
+
+		final CompletableFuture<T> result = new CompletableFuture<>();
+		shard.enqueue(() -> execute(result, command));
+		return result;
+	}
+
+	public <T> CompletableFuture<T> submit(final UUID firstAccountId, final UUID secondAccountId, final Supplier<T> command) {
+		if (firstAccountId == null || secondAccountId == null) {
+			return DirectCommandExecutor.run(command);
+		}
+
+		final Shard firstShard = shardFor(firstAccountId);
+		final Shard secondShard = shardFor(secondAccountId);
+
+		if (firstShard == secondShard) {
+			return submit(firstAccountId, command);
+		}
+
+		final Shard coordinator = firstShard.getIndex() < secondShard.getIndex() ? firstShard : secondShard;
+		final Shard parked = coordinator == firstShard ? secondShard : firstShard;
+		final CompletableFuture<T> result = new CompletableFuture<>();
+
+		coordinator.enqueue(() -> {
+			final CountDownLatch ready = new CountDownLatch(1);
+			final CountDownLatch released = new CountDownLatch(1);
+
+			try {
+				parked.enqueue(() -> {
+					ready.countDown();
+					awaitUninterruptibly(released);
+					return Shard.noCompletion();
+				});
+			} catch (RuntimeException e) {
+				return new FutureCompletion<>(result, null, e);
+			}
+
+			awaitUninterruptibly(ready);
+			try {
+				return execute(result, command);
+			} finally {
+				released.countDown();
+			}
+		});
+
+		return result;
+	}
+
+	public int getShardCount() {
+		return shards.length;
+	}
+
+	public int getQueueDepth(final int shard) {
+		return shards[shard].getQueueDepth();
+	}
+
+	public long getProcessed(final int shard) {
+		return shards[shard].getProcessed();
+	}
+
+	public void close() {
+		for (Shard shard : shards) {
+			shard.stop();
+		}
+	}
+
+	private Shard shardFor(final UUID accountId) {
+		return shards[accountStore.stripeOf(accountId) % shards.length];
+	}
+
+	private static <T> Shard.Completion execute(final CompletableFuture<T> result, final Supplier<T> command) {
+		try {
+			return new FutureCompletion<>(result, command.get(), null);
+		} catch (RuntimeException e) {
+			return new FutureCompletion<>(result, null, e);
+		}
+	}
+
+	private static void awaitUninterruptibly(final CountDownLatch latch) {
+		boolean interrupted = false;
+		while (true) {
+			try {
+				latch.await();
+				break;
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static class FutureCompletion<T> implements Shard.Completion {
+
+		private final CompletableFuture<T> result;
+		private final T value;
+		private final RuntimeException error;
+
+		FutureCompletion(final CompletableFuture<T> result, final T value, final RuntimeException error) {
+			this.result = result;
+			this.value = value;
+			this.error = error;
+		}
+
+		public void complete() {
+			if (error != null) {
+				result.completeExceptionally(error);
+			} else {
+				result.complete(value);
+			}
+		}
+
+		public void fail(final RuntimeException journalFailure) {
+			result.completeExceptionally(error != null ? error : journalFailure);
+		}
+	}
+}
@@ -0,0 +1,45 @@
+package com.rtejada.bank.engine;
+
+import com.rtejada.bank.model.AccountType;
+import com.rtejada.bank.model.Transfer;
+import com.rtejada.bank.service.AccountService;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+class TransactionEvent {
+
+	enum Kind {
+		DEPOSIT, WITHDRAW, TRANSFER
+	}
+
+	final Transfer transfer = new Transfer();
+
+	Kind kind;
+	AccountType accountType;
+	UUID accountId;
+	BigDecimal amount;
+	AccountService accountService;
+	CompletableFuture<BigDecimal> future;
+	BigDecimal result;
+	RuntimeException error;
+	long journalSequence;
+
+	void clear() {
+		kind = null;
+		accountType = null;
+		accountId = null;
+		amount = null;
+		accountService = null;
+		future = null;
+		result = null;
+		error = null;
+		journalSequence = 0L;
+		transfer.setSourceId(null);
+		transfer.setSourceType(null);
+		transfer.setTargetId(null);
+		transfer.setTargetType(null);
+		transfer.setAmount(null);
+	}
+}
@@ -0,0 +1,21 @@
+package com.rtejada.bank.engine;
+
+import com.rtejada.bank.model.AccountType;
+import com.rtejada.bank.model.Transfer;
+
+import java.io.Closeable;
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+public interface TransactionGateway extends Closeable {
+
+	CompletableFuture<BigDecimal> deposit(final AccountType accountType, final UUID accountId, final BigDecimal amount);
+
+	CompletableFuture<BigDecimal> withdraw(final AccountType accountType, final UUID accountId, final BigDecimal amount);
+
+	CompletableFuture<BigDecimal> transfer(final Transfer transfer);
+
+	@Override
+	void close();
+}
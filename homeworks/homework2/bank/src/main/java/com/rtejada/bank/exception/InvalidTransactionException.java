@@ -1,7 +1,19 @@
 package com.rtejada.bank.exception;
 
 public class InvalidTransactionException extends RuntimeException {
+
+	private final String reason;
+
 	public InvalidTransactionException(String s) {
+		this(s, s);
+	}
+
+	public InvalidTransactionException(String reason, String s) {
 		super(s);
+		this.reason = reason;
+	}
+
+	public String getReason() {
+		return reason;
 	}
 }
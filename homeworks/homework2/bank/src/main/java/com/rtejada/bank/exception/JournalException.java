@@ -0,0 +1,11 @@
+package com.rtejada.bank.exception;
+
+public class JournalException extends RuntimeException {
+	public JournalException(String s) {
+		super(s);
+	}
+
+	public JournalException(String s, Throwable cause) {
+		super(s, cause);
+	}
+}
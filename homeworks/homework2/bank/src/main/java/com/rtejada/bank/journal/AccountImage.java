@@ -0,0 +1,140 @@
+package com.rtejada.bank.journal;
+
+import com.rtejada.bank.model.Account;
+import com.rtejada.bank.model.AccountType;
+import com.rtejada.bank.model.Ledger;
+import com.rtejada.bank.model.Owner;
+import com.rtejada.bank.model.Statement;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+public class AccountImage {
+
+	private final UUID id;
+	private final AccountType accountType;
+	private final Owner owner;
+	private final BigDecimal balance;
+	private final LocalDateTime lastTransaction;
+	private final LocalDate lastWithdraw;
+	private final Long withdrawCount;
+	private final LocalDate lastTransfer;
+	private final Long transferCount;
+	private final int firstStatement;
+	private final List<Statement> statements;
+	private final List<BigDecimal> adjustments;
+
+	public AccountImage(UUID id, AccountType accountType, Owner owner, BigDecimal balance, LocalDateTime lastTransaction,
+			LocalDate lastWithdraw, Long withdrawCount, LocalDate lastTransfer, Long transferCount,
+			int firstStatement, List<Statement> statements, List<BigDecimal> adjustments) {
+		if (adjustments.size() != statements.size()) {
+			throw new IllegalArgumentException("Expected " + statements.size() + " statement adjustments: " + adjustments.size());
+		}
+
+		this.id = id;
+		this.accountType = accountType;
+		this.owner = owner;
+		this.balance = balance;
+		this.lastTransaction = lastTransaction;
+		this.lastWithdraw = lastWithdraw;
+		this.withdrawCount = withdrawCount;
+		this.lastTransfer = lastTransfer;
+		this.transferCount = transferCount;
+		this.firstStatement = firstStatement;
+		this.statements = Collections.unmodifiableList(statements);
+		this.adjustments = Collections.unmodifiableList(adjustments);
+	}
+
+	public static AccountImage of(final Account account, final boolean withOwner, final int firstStatement) {
+		final Ledger ledger = account.getLedger();
+		final int from = Math.min(firstStatement, ledger.size());
+		final List<Statement> statements = new ArrayList<>(ledger.size() - from);
+		final List<BigDecimal> adjustments = new ArrayList<>(ledger.size() - from);
+
+		for (int i = from; i < ledger.size(); i++) {
+			final BigDecimal adjustment = ledger.getAdjustment(i);
+			statements.add(ledger.get(i));
+			adjustments.add(adjustment.signum() == 0 ? null : adjustment);
+		}
+
+		return new AccountImage(account.getId(), account.getAccountType(), withOwner ? account.getOwner() : null,
+				account.getBalance(), account.getLastTransaction(), account.getLastWithdraw(), account.getWithdrawCount(),
+				account.getLastTransfer(), account.getTransferCount(), from, statements, adjustments);
+	}
+
+	public Account toAccount() {
+		final Account account = new Account();
+		account.setId(id);
+		account.setAccountType(accountType);
+		account.setOwner(owner);
+		return account;
+	}
+
+	public void applyTo(final Account account) {
+		if (owner != null) {
+			account.setOwner(owner);
+		}
+
+		account.setBalance(balance, lastTransaction);
+		account.setLastWithdraw(lastWithdraw);
+		account.setWithdrawCount(withdrawCount);
+		account.setLastTransfer(lastTransfer);
+		account.setTransferCount(transferCount);
+
+		account.truncateStatements(firstStatement);
+		account.addStatements(statements, adjustments);
+	}
+
+	public UUID getId() {
+		return id;
+	}
+
+	public AccountType getAccountType() {
+		return accountType;
+	}
+
+	public Owner getOwner() {
+		return owner;
+	}
+
+	public BigDecimal getBalance() {
+		return balance;
+	}
+
+	public LocalDateTime getLastTransaction() {
+		return lastTransaction;
+	}
+
+	public LocalDate getLastWithdraw() {
+		return lastWithdraw;
+	}
+
+	public Long getWithdrawCount() {
+		return withdrawCount;
+	}
+
+	public LocalDate getLastTransfer() {
+		return lastTransfer;
+	}
+
+	public Long getTransferCount() {
+		return transferCount;
+	}
+
+	public int getFirstStatement() {
+		return firstStatement;
+	}
+
+	public List<Statement> getStatements() {
+		return statements;
+	}
+
+	public List<BigDecimal> getAdjustments() {
+		return adjustments;
+	}
+}
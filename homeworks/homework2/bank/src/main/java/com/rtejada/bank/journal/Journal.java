@@ -0,0 +1,24 @@
+package com.rtejada.bank.journal;
+
+import java.io.Closeable;
+import java.util.function.Consumer;
+
+public interface Journal extends Closeable {
+
+	boolean isEnabled();
+
+	void checkWritable();
+
+	long append(final JournalRecord record);
+
+	void awaitDurable(final long sequence);
+
+	void replay(final long fromPosition, final Consumer<JournalRecord> consumer);
+
+	long checkpoint();
+
+	void truncate(final long beforePosition);
+
+	@Override
+	void close();
+}
@@ -0,0 +1,183 @@
+package com.rtejada.bank.journal;
+
+import com.rtejada.bank.model.AccountType;
+import com.rtejada.bank.model.Owner;
+import com.rtejada.bank.model.Statement;
+import com.rtejada.bank.model.Transaction;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+public final class JournalCodec {
+
+	private static final AccountType[] ACCOUNT_TYPES = AccountType.values();
+	private static final Transaction[] TRANSACTIONS = Transaction.values();
+	private static final int ADJUSTED = 0x80;
+
+	private JournalCodec() {
+	}
+
+	public static byte[] encode(final JournalRecord record) {
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+
+		try (DataOutputStream output = new DataOutputStream(bytes)) {
+			output.writeInt(record.getAccounts().size());
+			for (AccountImage image : record.getAccounts()) {
+				writeImage(output, image);
+			}
+		} catch (IOException e) {
+			throw new IllegalStateException("Cannot encode journal record", e);
+		}
+
+		return bytes.toByteArray();
+	}
+
+	public static JournalRecord decode(final byte[] payload) throws IOException {
+		try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(payload))) {
+			final int count = input.readInt();
+			final List<AccountImage> images = new ArrayList<>(count);
+
+			for (int i = 0; i < count; i++) {
+				images.add(readImage(input));
+			}
+
+			return new JournalRecord(images);
+		}
+	}
+
+	static void writeImage(final DataOutputStream output, final AccountImage image) throws IOException {
+		output.writeLong(image.getId().getMostSignificantBits());
+		output.writeLong(image.getId().getLeastSignificantBits());
+		output.writeByte(image.getAccountType().ordinal());
+
+		output.writeBoolean(image.getOwner() != null);
+		if (image.getOwner() != null) {
+			output.writeUTF(image.getOwner().getCpf());
+			output.writeUTF(image.getOwner().getName());
+		}
+
+		writeDecimal(output, image.getBalance());
+		writeDateTime(output, image.getLastTransaction());
+		writeDate(output, image.getLastWithdraw());
+		writeLong(output, image.getWithdrawCount());
+		writeDate(output, image.getLastTransfer());
+		writeLong(output, image.getTransferCount());
+
+		output.writeInt(image.getFirstStatement());
+		output.writeInt(image.getStatements().size());
+		for (int i = 0; i < image.getStatements().size(); i++) {
+			final Statement statement = image.getStatements().get(i);
+			final BigDecimal adjustment = image.getAdjustments().get(i);
+			writeDateTime(output, statement.getDate());
+			writeDecimal(output, statement.getValue());
+			output.writeByte(statement.getTransaction().ordinal() | (adjustment == null ? 0 : ADJUSTED));
+			if (adjustment != null) {
+				writeDecimal(output, adjustment);
+			}
+		}
+	}
+
+	static AccountImage readImage(final DataInputStream input) throws IOException {
+		final UUID id = new UUID(input.readLong(), input.readLong());
+		final AccountType accountType = ACCOUNT_TYPES[input.readByte()];
+
+		Owner owner = null;
+		if (input.readBoolean()) {
+			owner = new Owner();
+			owner.setCpf(input.readUTF());
+			owner.setName(input.readUTF());
+		}
+
+		final BigDecimal balance = readDecimal(input);
+		final LocalDateTime lastTransaction = readDateTime(input);
+		final LocalDate lastWithdraw = readDate(input);
+		final Long withdrawCount = readLong(input);
+		final LocalDate lastTransfer = readDate(input);
+		final Long transferCount = readLong(input);
+
+		final int firstStatement = input.readInt();
+		final int statementCount = input.readInt();
+		final List<Statement> statements = new ArrayList<>(statementCount);
+		final List<BigDecimal> adjustments = new ArrayList<>(statementCount);
+		for (int i = 0; i < statementCount; i++) {
+			final LocalDateTime date = readDateTime(input);
+			final BigDecimal value = readDecimal(input);
+			final int transaction = input.readUnsignedByte();
+			statements.add(new Statement(date, value, TRANSACTIONS[transaction & ~ADJUSTED]));
+			adjustments.add((transaction & ADJUSTED) == 0 ? null : readDecimal(input));
+		}
+
+		return new AccountImage(id, accountType, owner, balance, lastTransaction, lastWithdraw, withdrawCount,
+				lastTransfer, transferCount, firstStatement, statements, adjustments);
+	}
+
+	static void writeDecimal(final DataOutputStream output, final BigDecimal value) throws IOException {
+		output.writeBoolean(value != null);
+		if (value != null) {
+			final byte[] unscaled = value.unscaledValue().toByteArray();
+			output.writeInt(value.scale());
+			output.writeShort(unscaled.length);
+			output.write(unscaled);
+		}
+	}
+
+	static BigDecimal readDecimal(final DataInputStream input) throws IOException {
+		if (!input.readBoolean()) {
+			return null;
+		}
+
+		final int scale = input.readInt();
+		final byte[] unscaled = new byte[input.readUnsignedShort()];
+		input.readFully(unscaled);
+		return new BigDecimal(new BigInteger(unscaled), scale);
+	}
+
+	static void writeDateTime(final DataOutputStream output, final LocalDateTime value) throws IOException {
+		output.writeBoolean(value != null);
+		if (value != null) {
+			output.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+			output.writeInt(value.getNano());
+		}
+	}
+
+	static LocalDateTime readDateTime(final DataInputStream input) throws IOException {
+		if (!input.readBoolean()) {
+			return null;
+		}
+
+		return LocalDateTime.ofEpochSecond(input.readLong(), input.readInt(), ZoneOffset.UTC);
+	}
+
+	static void writeDate(final DataOutputStream output, final LocalDate value) throws IOException {
+		output.writeBoolean(value != null);
+		if (value != null) {
+			output.writeLong(value.toEpochDay());
+		}
+	}
+
+	static LocalDate readDate(final DataInputStream input) throws IOException {
+		return input.readBoolean() ? LocalDate.ofEpochDay(input.readLong()) : null;
+	}
+
+	static void writeLong(final DataOutputStream output, final Long value) throws IOException {
+		output.writeBoolean(value != null);
+		if (value != null) {
+			output.writeLong(value);
+		}
+	}
+
+	static Long readLong(final DataInputStream input) throws IOException {
+		return input.readBoolean() ? input.readLong() : null;
+	}
+}
@@ -0,0 +1,17 @@
+package com.rtejada.bank.journal;
+
+import java.util.Collections;
+import java.util.List;
+
+public class JournalRecord {
+
+	private final List<AccountImage> accounts;
+
+	public JournalRecord(List<AccountImage> accounts) {
+		this.accounts = Collections.unmodifiableList(accounts);
+	}
+
+	public List<AccountImage> getAccounts() {
+		return accounts;
+	}
+}
@@ -0,0 +1,392 @@
+package com.rtejada.bank.journal;
+
+import com.rtejada.bank.exception.JournalException;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+public class MappedJournal implements Journal {
+
+	public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+	private static final String SEGMENT_PREFIX = "journal-";
+	private static final String SEGMENT_SUFFIX = ".log";
+	private static final int HEADER_SIZE = Integer.BYTES * 2;
+
+	private final Path directory;
+	private final int segmentSize;
+	private final boolean groupCommit;
+	private final Object appendLock = new Object();
+	private final ReentrantLock durableLock = new ReentrantLock();
+	private final Condition durable = durableLock.newCondition();
+	private final Thread flusher;
+
+	private MappedByteBuffer segment;
+	private long segmentIndex;
+	private int writePosition;
+	private long appendedSequence;
+	private long durableSequence;
+	private long syncCount;
+	private volatile boolean closed;
+	private volatile Throwable failure;
+
+	public MappedJournal(final Path directory, final int segmentSize, final boolean groupCommit) {
+		if (segmentSize <= HEADER_SIZE) {
+			throw new IllegalArgumentException("Invalid journal segment size: " + segmentSize);
+		}
+
+		this.directory = directory;
+		this.segmentSize = segmentSize;
+		this.groupCommit = groupCommit;
+
+		try {
+			Files.createDirectories(directory);
+			openTail(listSegments());
+		} catch (IOException e) {
+			throw new JournalException("Cannot open journal at " + directory, e);
+		}
+
+		if (groupCommit) {
+			this.flusher = new Thread(this::flushLoop, "journal-flusher");
+			this.flusher.setDaemon(true);
+			this.flusher.start();
+		} else {
+			this.flusher = null;
+		}
+	}
+
+	public boolean isEnabled() {
+		return true;
+	}
+
+	public void checkWritable() {
+		checkOpen();
+	}
+
+	public long append(final JournalRecord record) {
+		final byte[] payload = JournalCodec.encode(record);
+
+		if (payload.length + HEADER_SIZE > segmentSize) {
+			throw new JournalException("Journal record larger than segment: " + payload.length);
+		}
+
+		final CRC32 crc = new CRC32();
+		crc.update(payload, 0, payload.length);
+
+		synchronized (appendLock) {
+			checkOpen();
+
+			if (writePosition + HEADER_SIZE + payload.length > segmentSize) {
+				rollSegment();
+			}
+
+			segment.position(writePosition + HEADER_SIZE);
+			segment.put(payload);
+			segment.putInt(writePosition + Integer.BYTES, (int) crc.getValue());
+			segment.putInt(writePosition, payload.length);
+			writePosition += HEADER_SIZE + payload.length;
+
+			final long sequence = ++appendedSequence;
+
+			if (groupCommit) {
+				appendLock.notifyAll();
+			} else {
+				segment.force();
+				markDurable(sequence);
+			}
+
+			return sequence;
+		}
+	}
+
+	public void awaitDurable(final long sequence) {
+		durableLock.lock();
+		try {
+			while (durableSequence < sequence) {
+				if (failure != null) {
+					throw new JournalException("Journal flush failed", failure);
+				}
+				if (closed) {
+					throw new JournalException("Journal closed before record became durable");
+				}
+
+				try {
+					durable.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new JournalException("Interrupted while waiting for journal", e);
+				}
+			}
+		} finally {
+			durableLock.unlock();
+		}
+	}
+
+	public void replay(final long fromPosition, final Consumer<JournalRecord> consumer) {
+		final List<Path> segments;
+		try {
+			segments = listSegments();
+		} catch (IOException e) {
+			throw new JournalException("Cannot list journal at " + directory, e);
+		}
+
+		for (int i = 0; i < segments.size(); i++) {
+			final Path path = segments.get(i);
+			if (indexOf(path) < fromPosition) {
+				continue;
+			}
+
+			try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+				final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+				int position = 0;
+				byte[] payload;
+
+				while ((payload = readRecord(buffer, position)) != null) {
+					consumer.accept(JournalCodec.decode(payload));
+					position += HEADER_SIZE + payload.length;
+				}
+
+				if (i < segments.size() - 1 && !isEndOfRecords(buffer, position)) {
+					throw new JournalException("Corrupt journal record in segment " + path + " at offset " + position);
+				}
+			} catch (IOException e) {
+				throw new JournalException("Cannot replay journal segment " + path, e);
+			}
+		}
+	}
+
+	public long checkpoint() {
+		synchronized (appendLock) {
+			checkOpen();
+
+			if (writePosition > 0) {
+				rollSegment();
+			}
+
+			return segmentIndex;
+		}
+	}
+
+	public void truncate(final long beforePosition) {
+		final long limit;
+		synchronized (appendLock) {
+			limit = Math.min(beforePosition, segmentIndex);
+		}
+
+		try {
+			for (Path path : listSegments()) {
+				if (indexOf(path) < limit) {
+					Files.deleteIfExists(path);
+				}
+			}
+		} catch (IOException e) {
+			throw new JournalException("Cannot truncate journal at " + directory, e);
+		}
+	}
+
+	public long getSyncCount() {
+		durableLock.lock();
+		try {
+			return syncCount;
+		} finally {
+			durableLock.unlock();
+		}
+	}
+
+	public void close() {
+		synchronized (appendLock) {
+			if (closed) {
+				return;
+			}
+
+			if (failure == null) {
+				segment.force();
+				markDurable(appendedSequence);
+			}
+
+			closed = true;
+			appendLock.notifyAll();
+		}
+
+		signalDurable();
+
+		if (flusher != null) {
+			try {
+				flusher.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	private void flushLoop() {
+		while (true) {
+			final MappedByteBuffer buffer;
+			final long target;
+
+			synchronized (appendLock) {
+				while (!closed && appendedSequence == durableSequence()) {
+					try {
+						appendLock.wait();
+					} catch (InterruptedException e) {
+						return;
+					}
+				}
+
+				if (closed) {
+					return;
+				}
+
+				buffer = segment;
+				target = appendedSequence;
+			}
+
+			try {
+				buffer.force();
+				markDurable(target);
+			} catch (RuntimeException e) {
+				failure = e;
+				signalDurable();
+				return;
+			}
+		}
+	}
+
+	private long durableSequence() {
+		durableLock.lock();
+		try {
+			return durableSequence;
+		} finally {
+			durableLock.unlock();
+		}
+	}
+
+	private void markDurable(final long sequence) {
+		durableLock.lock();
+		try {
+			if (sequence > durableSequence) {
+				durableSequence = sequence;
+				syncCount++;
+				durable.signalAll();
+			}
+		} finally {
+			durableLock.unlock();
+		}
+	}
+
+	private void signalDurable() {
+		durableLock.lock();
+		try {
+			durable.signalAll();
+		} finally {
+			durableLock.unlock();
+		}
+	}
+
+	private void checkOpen() {
+		if (closed) {
+			throw new JournalException("Journal is closed");
+		}
+		if (failure != null) {
+			throw new JournalException("Journal flush failed", failure);
+		}
+	}
+
+	private List<Path> listSegments() throws IOException {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files
+					.filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX))
+					.filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+					.sorted()
+					.collect(Collectors.toList());
+		}
+	}
+
+	private void openTail(final List<Path> segments) throws IOException {
+		if (segments.isEmpty()) {
+			openSegment(1L);
+			return;
+		}
+
+		final Path tail = segments.get(segments.size() - 1);
+		segmentIndex = indexOf(tail);
+		segment = map(tail, Math.max(segmentSize, (int) Files.size(tail)));
+
+		int position = 0;
+		byte[] payload;
+		while ((payload = readRecord(segment, position)) != null) {
+			position += HEADER_SIZE + payload.length;
+		}
+
+		for (int i = position; i < segment.limit(); i++) {
+			segment.put(i, (byte) 0);
+		}
+		writePosition = position;
+	}
+
+	private void rollSegment() {
+		segment.force();
+		try {
+			openSegment(segmentIndex + 1);
+		} catch (IOException e) {
+			throw new JournalException("Cannot open journal segment " + (segmentIndex + 1), e);
+		}
+	}
+
+	private void openSegment(final long index) throws IOException {
+		segment = map(directory.resolve(String.format("%s%012d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX)), segmentSize);
+		segmentIndex = index;
+		writePosition = 0;
+	}
+
+	private static long indexOf(final Path segment) {
+		final String name = segment.getFileName().toString();
+		return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+	}
+
+	private static MappedByteBuffer map(final Path path, final int size) throws IOException {
+		try (FileChannel channel = FileChannel.open(path,
+				StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+		}
+	}
+
+	private static boolean isEndOfRecords(final MappedByteBuffer buffer, final int position) {
+		return position + HEADER_SIZE > buffer.limit() || buffer.getInt(position) == 0;
+	}
+
+	private static byte[] readRecord(final MappedByteBuffer buffer, final int position) {
+		if (position + HEADER_SIZE > buffer.limit()) {
+			return null;
+		}
+
+		final int length = buffer.getInt(position);
+		if (length <= 0 || position + HEADER_SIZE + length > buffer.limit()) {
+			return null;
+		}
+
+		final byte[] payload = new byte[length];
+		for (int i = 0; i < length; i++) {
+			payload[i] = buffer.get(position + HEADER_SIZE + i);
+		}
+
+		final CRC32 crc = new CRC32();
+		crc.update(payload, 0, payload.length);
+		if ((int) crc.getValue() != buffer.getInt(position + Integer.BYTES)) {
+			return null;
+		}
+
+		return payload;
+	}
+}
@@ -0,0 +1,33 @@
+package com.rtejada.bank.journal;
+
+import java.util.function.Consumer;
+
+public class NoOpJournal implements Journal {
+
+	public boolean isEnabled() {
+		return false;
+	}
+
+	public void checkWritable() {
+	}
+
+	public long append(final JournalRecord record) {
+		return 0L;
+	}
+
+	public void awaitDurable(final long sequence) {
+	}
+
+	public void replay(final long fromPosition, final Consumer<JournalRecord> consumer) {
+	}
+
+	public long checkpoint() {
+		return 0L;
+	}
+
+	public void truncate(final long beforePosition) {
+	}
+
+	public void close() {
+	}
+}
@@ -0,0 +1,144 @@
+package com.rtejada.bank.journal;
+
+import com.rtejada.bank.exception.JournalException;
+import com.rtejada.bank.repository.AccountStore;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+public class SnapshotStore {
+
+	private static final int MAGIC = 0x42414e4b;
+	private static final int VERSION = 1;
+	private static final String SNAPSHOT_PREFIX = "snapshot-";
+	private static final String SNAPSHOT_SUFFIX = ".bin";
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	private final Path directory;
+
+	public SnapshotStore(final Path directory) {
+		this.directory = directory;
+	}
+
+	public Path write(final long position, final AccountStore accountStore) {
+		final Path target = directory.resolve(String.format("%s%012d%s", SNAPSHOT_PREFIX, position, SNAPSHOT_SUFFIX));
+		final Path temporary = directory.resolve(target.getFileName() + ".tmp");
+
+		try {
+			Files.createDirectories(directory);
+
+			try (FileOutputStream file = new FileOutputStream(temporary.toFile())) {
+				final CheckedOutputStream checked = new CheckedOutputStream(new BufferedOutputStream(file, BUFFER_SIZE), new CRC32());
+				final DataOutputStream output = new DataOutputStream(checked);
+
+				output.writeInt(MAGIC);
+				output.writeInt(VERSION);
+				output.writeLong(position);
+
+				final IOException[] failure = new IOException[1];
+				accountStore.forEachImage(image -> {
+					if (failure[0] == null) {
+						try {
+							output.writeBoolean(true);
+							JournalCodec.writeImage(output, image);
+						} catch (IOException e) {
+							failure[0] = e;
+						}
+					}
+				});
+				if (failure[0] != null) {
+					throw failure[0];
+				}
+
+				output.writeBoolean(false);
+				output.flush();
+				output.writeLong(checked.getChecksum().getValue());
+				output.flush();
+				file.getFD().sync();
+			}
+
+			Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+			for (Path snapshot : listSnapshots()) {
+				if (positionOf(snapshot) < position) {
+					Files.deleteIfExists(snapshot);
+				}
+			}
+		} catch (IOException e) {
+			throw new JournalException("Cannot write snapshot " + target, e);
+		}
+
+		return target;
+	}
+
+	public long load(final AccountStore accountStore) {
+		final Optional<Path> latest;
+		try {
+			latest = listSnapshots().stream().reduce((first, second) -> second);
+		} catch (IOException e) {
+			throw new JournalException("Cannot list snapshots at " + directory, e);
+		}
+
+		if (!latest.isPresent()) {
+			return 0L;
+		}
+
+		try (InputStream file = Files.newInputStream(latest.get())) {
+			final CheckedInputStream checked = new CheckedInputStream(new BufferedInputStream(file, BUFFER_SIZE), new CRC32());
+			final DataInputStream input = new DataInputStream(checked);
+
+			if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+				throw new JournalException("Unsupported snapshot format: " + latest.get());
+			}
+
+			final long position = input.readLong();
+			while (input.readBoolean()) {
+				accountStore.apply(JournalCodec.readImage(input));
+			}
+
+			final long checksum = checked.getChecksum().getValue();
+			if (input.readLong() != checksum) {
+				throw new JournalException("Corrupt snapshot: " + latest.get());
+			}
+
+			return position;
+		} catch (IOException e) {
+			throw new JournalException("Cannot read snapshot " + latest.get(), e);
+		}
+	}
+
+	private List<Path> listSnapshots() throws IOException {
+		if (!Files.isDirectory(directory)) {
+			return Collections.emptyList();
+		}
+
+		try (Stream<Path> files = Files.list(directory)) {
+			return files
+					.filter(path -> path.getFileName().toString().startsWith(SNAPSHOT_PREFIX))
+					.filter(path -> path.getFileName().toString().endsWith(SNAPSHOT_SUFFIX))
+					.sorted()
+					.collect(Collectors.toList());
+		}
+	}
+
+	private static long positionOf(final Path snapshot) {
+		final String name = snapshot.getFileName().toString();
+		return Long.parseLong(name.substring(SNAPSHOT_PREFIX.length(), name.length() - SNAPSHOT_SUFFIX.length()));
+	}
+}
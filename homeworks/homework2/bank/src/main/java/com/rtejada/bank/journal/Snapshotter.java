@@ -0,0 +1,62 @@
+package com.rtejada.bank.journal;
+
+import com.rtejada.bank.repository.AccountStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class Snapshotter implements Closeable {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(Snapshotter.class);
+
+	private final Journal journal;
+	private final AccountStore accountStore;
+	private final SnapshotStore snapshotStore;
+	private final ScheduledExecutorService executor;
+
+	public Snapshotter(final Journal journal, final AccountStore accountStore, final SnapshotStore snapshotStore) {
+		this.journal = journal;
+		this.accountStore = accountStore;
+		this.snapshotStore = snapshotStore;
+		this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			final Thread thread = new Thread(runnable, "journal-snapshotter");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	public void start(final long intervalSeconds) {
+		executor.scheduleWithFixedDelay(this::snapshotQuietly, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+	}
+
+	public synchronized long snapshot() {
+		final long position = journal.checkpoint();
+		snapshotStore.write(position, accountStore);
+		journal.truncate(position);
+		return position;
+	}
+
+	public void close() {
+		executor.shutdownNow();
+		try {
+			executor.awaitTermination(1, TimeUnit.MINUTES);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void snapshotQuietly() {
+		try {
+			final long start = System.nanoTime();
+			final long position = snapshot();
+			LOGGER.info("Snapshot at journal segment {} written in {} ms", position,
+					TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+		} catch (RuntimeException e) {
+			LOGGER.error("Snapshot failed", e);
+		}
+	}
+}
@@ -0,0 +1,63 @@
+package com.rtejada.bank.metrics;
+
+import com.rtejada.bank.engine.CommandExecutor;
+import com.rtejada.bank.engine.RingBufferPipeline;
+import com.rtejada.bank.engine.ShardedCommandEngine;
+import com.rtejada.bank.engine.TransactionGateway;
+import com.rtejada.bank.repository.AccountStore;
+import com.rtejada.bank.service.IdempotencyService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+@Component
+public class BankMeterBinder implements MeterBinder {
+
+	private final AccountStore accountStore;
+	private final IdempotencyService idempotencyService;
+	private final CommandExecutor commandExecutor;
+	private final TransactionGateway transactionGateway;
+
+	public BankMeterBinder(final AccountStore accountStore, final IdempotencyService idempotencyService,
+						   final CommandExecutor commandExecutor, final TransactionGateway transactionGateway) {
+		this.accountStore = accountStore;
+		this.idempotencyService = idempotencyService;
+		this.commandExecutor = commandExecutor;
+		this.transactionGateway = transactionGateway;
+	}
+
+	public void bindTo(final MeterRegistry meterRegistry) {
+		Gauge.builder("bank.accounts", accountStore, AccountStore::size)
+				.register(meterRegistry);
+		Gauge.builder("bank.statements", accountStore, AccountStore::countStatements)
+				.register(meterRegistry);
+
+		Gauge.builder("bank.idempotency.entries", idempotencyService, IdempotencyService::size)
+				.register(meterRegistry);
+		FunctionCounter.builder("bank.idempotency.requests", idempotencyService, IdempotencyService::getHits)
+				.tag("result", "hit")
+				.register(meterRegistry);
+		FunctionCounter.builder("bank.idempotency.requests", idempotencyService, IdempotencyService::getMisses)
+				.tag("result", "miss")
+				.register(meterRegistry);
+		FunctionCounter.builder("bank.idempotency.evictions", idempotencyService, IdempotencyService::getEvictions)
+				.register(meterRegistry);
+
+		if (commandExecutor instanceof ShardedCommandEngine) {
+			final ShardedCommandEngine engine = (ShardedCommandEngine) commandExecutor;
+			for (int shard = 0; shard < engine.getShardCount(); shard++) {
+				final int index = shard;
+				Gauge.builder("bank.engine.queue.depth", engine, e -> e.getQueueDepth(index))
+						.tag("shard", String.valueOf(index))
+						.register(meterRegistry);
+			}
+		}
+
+		if (transactionGateway instanceof RingBufferPipeline) {
+			Gauge.builder("bank.pipeline.backlog", (RingBufferPipeline) transactionGateway, RingBufferPipeline::getBacklog)
+					.register(meterRegistry);
+		}
+	}
+}
@@ -0,0 +1,46 @@
+package com.rtejada.bank.metrics;
+
+import com.rtejada.bank.model.AccountType;
+import com.rtejada.bank.model.Transaction;
+import com.rtejada.bank.service.TransactionListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+
+@Component
+public class MeterTransactionListener implements TransactionListener {
+
+	private final Counter[][] transactions;
+	private final Counter[][] fees;
+
+	public MeterTransactionListener(final MeterRegistry meterRegistry) {
+		this.transactions = new Counter[AccountType.values().length][Transaction.values().length];
+		this.fees = new Counter[AccountType.values().length][Transaction.values().length];
+
+		for (AccountType accountType : AccountType.values()) {
+			for (Transaction transaction : Transaction.values()) {
+				transactions[accountType.ordinal()][transaction.ordinal()] = Counter.builder("bank.transactions")
+						.tag("account.type", accountType.name())
+						.tag("type", transaction.name())
+						.register(meterRegistry);
+				fees[accountType.ordinal()][transaction.ordinal()] = Counter.builder("bank.fees.revenue")
+						.tag("account.type", accountType.name())
+						.tag("type", transaction.name())
+						.register(meterRegistry);
+			}
+		}
+	}
+
+	public void onTransaction(final AccountType accountType, final Transaction transaction, final BigDecimal amount, final BigDecimal fee) {
+		if (accountType == null || transaction == null) {
+			return;
+		}
+
+		transactions[accountType.ordinal()][transaction.ordinal()].increment();
+		if (fee != null && fee.signum() > 0) {
+			fees[accountType.ordinal()][transaction.ordinal()].increment(fee.doubleValue());
+		}
+	}
+}
@@ -0,0 +1,74 @@
+package com.rtejada.bank.metrics;
+
+import com.rtejada.bank.exception.InvalidTransactionException;
+import com.rtejada.bank.model.AccountType;
+import com.rtejada.bank.model.Transfer;
+import com.rtejada.bank.service.SaveAccountService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+@Aspect
+@Component
+public class ServiceMetricsAspect {
+
+	private static final String NONE = "none";
+
+	private final MeterRegistry meterRegistry;
+	private final ThreadLocal<int[]> depth = ThreadLocal.withInitial(() -> new int[1]);
+
+	public ServiceMetricsAspect(final MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
+
+	@Around("execution(public * com.rtejada.bank.service.AccountService+.*(..))")
+	public Object timeAccountOperation(final ProceedingJoinPoint joinPoint) throws Throwable {
+		final String accountType = joinPoint.getTarget() instanceof SaveAccountService ? AccountType.SAVING.name() : AccountType.CREDIT.name();
+
+		return record(joinPoint, "bank.account.operation", Tags.of("account.type", accountType));
+	}
+
+	@Around("execution(public * com.rtejada.bank.service.TransferService.*(..))")
+	public Object timeTransferOperation(final ProceedingJoinPoint joinPoint) throws Throwable {
+		final Object[] args = joinPoint.getArgs();
+		final Transfer transfer = args.length > 0 && args[0] instanceof Transfer ? (Transfer) args[0] : null;
+
+		return record(joinPoint, "bank.transfer.operation", Tags.of(
+				"source.type", transfer == null ? NONE : String.valueOf(transfer.getSourceType()),
+				"target.type", transfer == null ? NONE : String.valueOf(transfer.getTargetType())));
+	}
+
+	private Object record(final ProceedingJoinPoint joinPoint, final String name, final Tags tags) throws Throwable {
+		final String operation = joinPoint.getSignature().getName();
+		final int[] calls = depth.get();
+		final Timer.Sample sample = Timer.start(meterRegistry);
+		String exception = NONE;
+
+		calls[0]++;
+		try {
+			return joinPoint.proceed();
+		} catch (Throwable e) {
+			exception = e.getClass().getSimpleName();
+			if (calls[0] == 1 && e instanceof InvalidTransactionException) {
+				Counter.builder("bank.rejections")
+						.tag("operation", operation)
+						.tag("reason", String.valueOf(((InvalidTransactionException) e).getReason()))
+						.register(meterRegistry)
+						.increment();
+			}
+			throw e;
+		} finally {
+			calls[0]--;
+			sample.stop(Timer.builder(name)
+					.tags(tags)
+					.tag("operation", operation)
+					.tag("exception", exception)
+					.register(meterRegistry));
+		}
+	}
+}
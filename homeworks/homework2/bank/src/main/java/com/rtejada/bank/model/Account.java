@@ -3,25 +3,27 @@ package com.rtejada.bank.model;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.Collections;
+import java.util.ConcurrentModificationException;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
 
 public class Account {
 	private UUID id;
-	private BigDecimal balance;
 	private AccountType accountType;
-	private List<Statement> statementList;
+	private Ledger ledger;
 	private Owner owner;
-	private LocalDateTime lastTransaction;
-	private LocalDate lastWithdraw;
-	private Long withdrawCount;
-	private LocalDate lastTransfer;
-	private Long transferCount;
+	private final AtomicReference<AccountSnapshot> snapshot;
+	private Thread writer;
+	private AccountSnapshot origin;
+	private AccountSnapshot draft;
+	private int writeDepth;
+	private int writeStart;
 
 	public Account() {
-		this.statementList = new ArrayList<>();
+		this.ledger = new Ledger();
+		this.snapshot = new AtomicReference<>(AccountSnapshot.EMPTY.withStatements(ledger.snapshot()));
 	}
 
 	public UUID getId() {
@@ -33,11 +35,15 @@ public class Account {
 	}
 
 	public BigDecimal getBalance() {
-		return balance;
+		return getSnapshot().getBalance();
 	}
 
 	public void setBalance(BigDecimal balance) {
-		this.balance = balance;
+		update(current -> current.withBalance(balance, current.getLastTransaction()));
+	}
+
+	public void setBalance(BigDecimal balance, LocalDateTime lastTransaction) {
+		update(current -> current.withBalance(balance, lastTransaction));
 	}
 
 	public AccountType getAccountType() {
@@ -49,15 +55,38 @@ public class Account {
 	}
 
 	public List<Statement> getStatementList() {
-		return Collections.unmodifiableList(statementList);
+		return getSnapshot().getStatements();
+	}
+
+	public Ledger getLedger() {
+		return ledger;
 	}
 
 	public void addStatements(final List<Statement> statements) {
-		this.statementList.addAll(statements);
+		if (!statements.isEmpty()) {
+			statements.forEach(ledger::append);
+			update(current -> current.withStatements(ledger.snapshot()));
+		}
+	}
+
+	public void addStatements(final List<Statement> statements, final List<BigDecimal> adjustments) {
+		if (!statements.isEmpty()) {
+			for (int i = 0; i < statements.size(); i++) {
+				ledger.append(statements.get(i), adjustments.get(i));
+			}
+			update(current -> current.withStatements(ledger.snapshot()));
+		}
 	}
 
 	public void addStatement(final Statement statement) {
-		this.statementList.add(statement);
+		ledger.append(statement);
+		update(current -> current.withStatements(ledger.snapshot()));
+	}
+
+	public void truncateStatements(final int size) {
+		ledger.truncate(Math.min(size, ledger.size()));
+		writeStart = Math.min(writeStart, ledger.size());
+		update(current -> current.withStatements(ledger.snapshot()));
 	}
 
 	public Owner getOwner() {
@@ -69,46 +98,90 @@ public class Account {
 	}
 
 	public LocalDateTime getLastTransaction() {
-		return lastTransaction;
+		return getSnapshot().getLastTransaction();
 	}
 
 	public void setLastTransaction(LocalDateTime lastTransaction) {
-		this.lastTransaction = lastTransaction;
+		update(current -> current.withBalance(current.getBalance(), lastTransaction));
 	}
 
 	public void setStatementList(List<Statement> statementList) {
-		this.statementList = statementList;
+		this.ledger = new Ledger();
+		this.writeStart = 0;
+		statementList.forEach(ledger::append);
+		update(current -> current.withStatements(ledger.snapshot()));
 	}
 
 	public LocalDate getLastWithdraw() {
-		return lastWithdraw;
+		return getSnapshot().getLastWithdraw();
 	}
 
 	public void setLastWithdraw(LocalDate lastWithdraw) {
-		this.lastWithdraw = lastWithdraw;
+		update(current -> current.withWithdraw(lastWithdraw, current.getWithdrawCount()));
 	}
 
 	public Long getWithdrawCount() {
-		return withdrawCount;
+		return getSnapshot().getWithdrawCount();
 	}
 
 	public void setWithdrawCount(Long withdrawCount) {
-		this.withdrawCount = withdrawCount;
+		update(current -> current.withWithdraw(current.getLastWithdraw(), withdrawCount));
 	}
 
 	public LocalDate getLastTransfer() {
-		return lastTransfer;
+		return getSnapshot().getLastTransfer();
 	}
 
 	public void setLastTransfer(LocalDate lastTransfer) {
-		this.lastTransfer = lastTransfer;
+		update(current -> current.withTransfer(lastTransfer, current.getTransferCount()));
 	}
 
 	public Long getTransferCount() {
-		return transferCount;
+		return getSnapshot().getTransferCount();
 	}
 
 	public void setTransferCount(Long transferCount) {
-		this.transferCount = transferCount;
+		update(current -> current.withTransfer(current.getLastTransfer(), transferCount));
+	}
+
+	public AccountSnapshot getSnapshot() {
+		return writer == Thread.currentThread() ? draft : snapshot.get();
+	}
+
+	public void beginWrite() {
+		if (writeDepth++ == 0) {
+			origin = snapshot.get();
+			draft = origin;
+			writer = Thread.currentThread();
+			writeStart = ledger.size();
+		}
+	}
+
+	public void endWrite() {
+		if (--writeDepth > 0) {
+			return;
+		}
+
+		if (ledger.size() > writeStart) {
+			ledger.reconcile(draft.getBalance());
+		}
+
+		final AccountSnapshot base = origin;
+		final AccountSnapshot changed = draft.withStatements(ledger.snapshot());
+		writer = null;
+		origin = null;
+		draft = null;
+
+		if (changed != base && !snapshot.compareAndSet(base, changed.next())) {
+			throw new ConcurrentModificationException("Account " + id + " changed outside of its write");
+		}
+	}
+
+	private void update(final UnaryOperator<AccountSnapshot> change) {
+		if (writer == Thread.currentThread()) {
+			draft = change.apply(draft);
+		} else {
+			snapshot.updateAndGet(current -> change.apply(current).next());
+		}
 	}
 }
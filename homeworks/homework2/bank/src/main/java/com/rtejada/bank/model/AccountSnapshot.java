@@ -0,0 +1,84 @@
+package com.rtejada.bank.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public final class AccountSnapshot {
+
+	public static final AccountSnapshot EMPTY = new AccountSnapshot(0L, null, null, null, null, null, null, new Ledger().snapshot());
+
+	private final long version;
+	private final BigDecimal balance;
+	private final LocalDateTime lastTransaction;
+	private final LocalDate lastWithdraw;
+	private final Long withdrawCount;
+	private final LocalDate lastTransfer;
+	private final Long transferCount;
+	private final Ledger.View statements;
+
+	private AccountSnapshot(final long version, final BigDecimal balance, final LocalDateTime lastTransaction, final LocalDate lastWithdraw,
+							final Long withdrawCount, final LocalDate lastTransfer, final Long transferCount, final Ledger.View statements) {
+		this.version = version;
+		this.balance = balance;
+		this.lastTransaction = lastTransaction;
+		this.lastWithdraw = lastWithdraw;
+		this.withdrawCount = withdrawCount;
+		this.lastTransfer = lastTransfer;
+		this.transferCount = transferCount;
+		this.statements = statements;
+	}
+
+	public long getVersion() {
+		return version;
+	}
+
+	public BigDecimal getBalance() {
+		return balance;
+	}
+
+	public LocalDateTime getLastTransaction() {
+		return lastTransaction;
+	}
+
+	public LocalDate getLastWithdraw() {
+		return lastWithdraw;
+	}
+
+	public Long getWithdrawCount() {
+		return withdrawCount;
+	}
+
+	public LocalDate getLastTransfer() {
+		return lastTransfer;
+	}
+
+	public Long getTransferCount() {
+		return transferCount;
+	}
+
+	public Ledger.View getStatements() {
+		return statements;
+	}
+
+	AccountSnapshot next() {
+		return new AccountSnapshot(version + 1, balance, lastTransaction, lastWithdraw, withdrawCount, lastTransfer, transferCount, statements);
+	}
+
+	AccountSnapshot withBalance(final BigDecimal balance, final LocalDateTime lastTransaction) {
+		return new AccountSnapshot(version, balance, lastTransaction, lastWithdraw, withdrawCount, lastTransfer, transferCount, statements);
+	}
+
+	AccountSnapshot withWithdraw(final LocalDate lastWithdraw, final Long withdrawCount) {
+		return new AccountSnapshot(version, balance, lastTransaction, lastWithdraw, withdrawCount, lastTransfer, transferCount, statements);
+	}
+
+	AccountSnapshot withTransfer(final LocalDate lastTransfer, final Long transferCount) {
+		return new AccountSnapshot(version, balance, lastTransaction, lastWithdraw, withdrawCount, lastTransfer, transferCount, statements);
+	}
+
+	AccountSnapshot withStatements(final Ledger.View statements) {
+		return statements == this.statements ? this
+				: new AccountSnapshot(version, balance, lastTransaction, lastWithdraw, withdrawCount, lastTransfer, transferCount, statements);
+	}
+}
@@ -0,0 +1,23 @@
+package com.rtejada.bank.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public class BalancePoint {
+
+	private final LocalDateTime date;
+	private final BigDecimal balance;
+
+	public BalancePoint(LocalDateTime date, BigDecimal balance) {
+		this.date = date;
+		this.balance = balance;
+	}
+
+	public LocalDateTime getDate() {
+		return date;
+	}
+
+	public BigDecimal getBalance() {
+		return balance;
+	}
+}
@@ -0,0 +1,99 @@
+package com.rtejada.bank.model;
+
+import java.math.BigDecimal;
+import java.util.function.Function;
+
+public final class FeeSchedule {
+
+	public static final String PREFIX = "bank.fees.";
+
+	private static final Rate[] FREE_FOR_THREE = {Rate.ONE, Rate.ONE, Rate.ONE, Rate.of(new BigDecimal("1.02"))};
+	private static final Rate[] NO_TIERS = {};
+
+	private final Rate[][] tiers;
+	private final Rate[] overflow;
+
+	private FeeSchedule(final Rate[][] tiers, final Rate[] overflow) {
+		this.tiers = tiers;
+		this.overflow = overflow;
+	}
+
+	public static FeeSchedule defaults() {
+		return from(key -> null);
+	}
+
+	public static FeeSchedule from(final Function<String, String> properties) {
+		final FeeType[] types = FeeType.values();
+		final Rate[][] tiers = new Rate[types.length][];
+		final Rate[] overflow = new Rate[types.length];
+
+		for (FeeType type : types) {
+			final String tierKey = PREFIX + type.getKey() + ".tiers";
+			final String overflowKey = PREFIX + type.getKey() + ".default";
+			final String configuredTiers = properties.apply(tierKey);
+			final String configuredOverflow = properties.apply(overflowKey);
+
+			tiers[type.ordinal()] = configuredTiers == null ? defaultTiers(type) : parseTiers(tierKey, configuredTiers);
+			overflow[type.ordinal()] = configuredOverflow == null ? defaultOverflow(type) : parseRate(overflowKey, configuredOverflow);
+		}
+
+		return new FeeSchedule(tiers, overflow);
+	}
+
+	public Rate rate(final FeeType type, final long dailyCount) {
+		final Rate[] table = tiers[type.ordinal()];
+		return dailyCount >= 0 && dailyCount < table.length ? table[(int) dailyCount] : overflow[type.ordinal()];
+	}
+
+	public int getTierCount(final FeeType type) {
+		return tiers[type.ordinal()].length;
+	}
+
+	private static Rate[] defaultTiers(final FeeType type) {
+		switch (type) {
+			case CREDIT_WITHDRAW:
+			case SAVING_TO_CREDIT_TRANSFER:
+				return FREE_FOR_THREE;
+			default:
+				return NO_TIERS;
+		}
+	}
+
+	private static Rate defaultOverflow(final FeeType type) {
+		switch (type) {
+			case SAVING_WITHDRAW:
+				return Rate.of(new BigDecimal("1.02"));
+			case CREDIT_WITHDRAW:
+			case CREDIT_TO_CREDIT_TRANSFER:
+			case SAVING_TO_CREDIT_TRANSFER:
+				return Rate.of(new BigDecimal("1.05"));
+			default:
+				return Rate.ONE;
+		}
+	}
+
+	private static Rate[] parseTiers(final String key, final String value) {
+		if (value.trim().isEmpty()) {
+			return NO_TIERS;
+		}
+
+		final String[] parts = value.split(",");
+		final Rate[] rates = new Rate[parts.length];
+		for (int i = 0; i < parts.length; i++) {
+			rates[i] = parseRate(key, parts[i]);
+		}
+		return rates;
+	}
+
+	private static Rate parseRate(final String key, final String value) {
+		try {
+			final Rate rate = Rate.of(new BigDecimal(value.trim()));
+			if (rate.toBigDecimal().compareTo(BigDecimal.ONE) < 0) {
+				throw new IllegalArgumentException("Fee rate below 1 for " + key + ": " + value);
+			}
+			return rate;
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Invalid fee rate for " + key + ": " + value, e);
+		}
+	}
+}
@@ -0,0 +1,33 @@
+package com.rtejada.bank.model;
+
+public enum FeeType {
+	CREDIT_WITHDRAW("credit-withdraw"),
+	SAVING_WITHDRAW("saving-withdraw"),
+	CREDIT_TO_CREDIT_TRANSFER("credit-to-credit-transfer"),
+	CREDIT_TO_SAVING_TRANSFER("credit-to-saving-transfer"),
+	SAVING_TO_CREDIT_TRANSFER("saving-to-credit-transfer"),
+	SAVING_TO_SAVING_TRANSFER("saving-to-saving-transfer");
+
+	private static final FeeType[][] TRANSFERS = {
+			{CREDIT_TO_CREDIT_TRANSFER, CREDIT_TO_SAVING_TRANSFER},
+			{SAVING_TO_CREDIT_TRANSFER, SAVING_TO_SAVING_TRANSFER}
+	};
+
+	private final String key;
+
+	FeeType(final String key) {
+		this.key = key;
+	}
+
+	public String getKey() {
+		return key;
+	}
+
+	public static FeeType withdraw(final AccountType accountType) {
+		return AccountType.SAVING.equals(accountType) ? SAVING_WITHDRAW : CREDIT_WITHDRAW;
+	}
+
+	public static FeeType transfer(final AccountType sourceType, final AccountType targetType) {
+		return TRANSFERS[sourceType.ordinal()][targetType.ordinal()];
+	}
+}
@@ -0,0 +1,42 @@
+package com.rtejada.bank.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public enum Granularity {
+	DAY {
+		@Override
+		long bucketOf(final LocalDateTime date) {
+			return date.toLocalDate().toEpochDay();
+		}
+
+		@Override
+		LocalDate startOf(final long bucket) {
+			return LocalDate.ofEpochDay(bucket);
+		}
+	},
+	MONTH {
+		@Override
+		long bucketOf(final LocalDateTime date) {
+			return date.getYear() * 12L + date.getMonthValue() - 1;
+		}
+
+		@Override
+		LocalDate startOf(final long bucket) {
+			return LocalDate.of(Math.toIntExact(Math.floorDiv(bucket, 12L)), (int) Math.floorMod(bucket, 12L) + 1, 1);
+		}
+	};
+
+	public static Granularity of(final String value) {
+		for (Granularity granularity : values()) {
+			if (granularity.name().equalsIgnoreCase(value == null ? null : value.trim())) {
+				return granularity;
+			}
+		}
+		throw new IllegalArgumentException("Invalid granularity: " + value);
+	}
+
+	abstract long bucketOf(final LocalDateTime date);
+
+	abstract LocalDate startOf(final long bucket);
+}
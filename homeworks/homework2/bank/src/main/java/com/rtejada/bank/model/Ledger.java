@@ -0,0 +1,769 @@
+package com.rtejada.bank.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+public class Ledger {
+
+	private static final int INITIAL_CAPACITY = 4;
+	private static final long[] EMPTY_LONGS = new long[0];
+	private static final byte[] EMPTY_BYTES = new byte[0];
+	private static final byte OVERFLOW_SCALE = Byte.MIN_VALUE;
+	private static final Transaction[] TRANSACTIONS = Transaction.values();
+	private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+	private static final Granularity[] GRANULARITIES = Granularity.values();
+	private static final int CHECKPOINT_SHIFT = 6;
+	private static final int CHECKPOINT_INTERVAL = 1 << CHECKPOINT_SHIFT;
+	private static final int INDEXED_CAPACITY = 64;
+
+	private Columns columns = Columns.EMPTY;
+	private int size;
+	private int unorderedFrom = Integer.MAX_VALUE;
+	private Buckets[] buckets;
+	private volatile boolean summarized;
+	private BigDecimal total;
+	private View snapshot;
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public void append(final Statement statement) {
+		append(statement.getDate(), statement.getValue(), statement.getTransaction());
+	}
+
+	public void append(final Statement statement, final BigDecimal adjustment) {
+		append(statement.getDate(), statement.getValue(), statement.getTransaction(), adjustment);
+	}
+
+	public void append(final LocalDateTime date, final BigDecimal value, final Transaction transaction) {
+		append(date, value, transaction, null);
+	}
+
+	public void append(final LocalDateTime date, final BigDecimal value, final Transaction transaction, final BigDecimal adjustment) {
+		if (date == null || value == null || transaction == null) {
+			throw new IllegalArgumentException("Cannot append incomplete statement");
+		}
+
+		if (buckets == null && summarized) {
+			buckets = summarize(columns, size);
+		}
+		if (size == columns.capacity()) {
+			columns = columns.copy(Math.max(INITIAL_CAPACITY, size + (size >> 1)), size);
+		}
+
+		final long epochNanos = toEpochNanos(date);
+		if (size > 0 && unorderedFrom == Integer.MAX_VALUE && epochNanos < columns.timestamps[size - 1]) {
+			unorderedFrom = size;
+		}
+
+		columns.set(size, epochNanos, value, transaction);
+		if (adjustment != null && adjustment.signum() != 0) {
+			columns.adjust(size, adjustment);
+		}
+		if (buckets != null) {
+			for (Buckets bucket : buckets) {
+				bucket.add(date, value, transaction);
+			}
+		}
+		size++;
+
+		if (total != null) {
+			total = total.add(columns.change(size - 1));
+		}
+		if ((size & (CHECKPOINT_INTERVAL - 1)) == 0) {
+			columns.checkpoint(size);
+		}
+		snapshot = null;
+	}
+
+	public void reconcile(final BigDecimal balance) {
+		if (balance == null || size == 0) {
+			return;
+		}
+
+		if (total == null) {
+			total = columns.prefix(size);
+		}
+
+		final BigDecimal difference = balance.subtract(total);
+		if (difference.signum() != 0) {
+			columns.adjust(size - 1, difference);
+			if ((size & (CHECKPOINT_INTERVAL - 1)) == 0) {
+				columns.checkpoint(size);
+			}
+			total = balance;
+			snapshot = null;
+		}
+	}
+
+	public LocalDateTime getDate(final int index) {
+		checkIndex(index, size);
+		return columns.getDate(index);
+	}
+
+	public BigDecimal getValue(final int index) {
+		checkIndex(index, size);
+		return columns.getValue(index);
+	}
+
+	public Transaction getTransaction(final int index) {
+		checkIndex(index, size);
+		return columns.getTransaction(index);
+	}
+
+	public Statement get(final int index) {
+		checkIndex(index, size);
+		return columns.get(index);
+	}
+
+	public BigDecimal getAdjustment(final int index) {
+		checkIndex(index, size);
+		final BigDecimal adjustment = columns.adjustment(index);
+		return adjustment == null ? BigDecimal.ZERO : adjustment;
+	}
+
+	public void truncate(final int newSize) {
+		if (newSize < 0 || newSize > size) {
+			throw new IllegalArgumentException("Invalid ledger size: " + newSize);
+		}
+
+		if (newSize < size) {
+			columns = columns.copy(columns.capacity(), newSize);
+			size = newSize;
+			total = null;
+			snapshot = null;
+			if (newSize <= unorderedFrom) {
+				unorderedFrom = Integer.MAX_VALUE;
+			}
+
+			if (buckets != null) {
+				buckets = summarize(columns, size);
+			}
+		}
+	}
+
+	public List<Statement> asList() {
+		return new StatementView();
+	}
+
+	public View snapshot() {
+		if (snapshot == null) {
+			snapshot = new View(this, columns, size, size <= unorderedFrom, buckets == null ? null : freeze(buckets));
+		}
+		return snapshot;
+	}
+
+	private static Buckets[] summarize(final Columns columns, final int size) {
+		final Buckets[] buckets = new Buckets[GRANULARITIES.length];
+		for (Granularity granularity : GRANULARITIES) {
+			buckets[granularity.ordinal()] = new Buckets(granularity);
+		}
+		for (int i = 0; i < size; i++) {
+			for (Buckets bucket : buckets) {
+				bucket.add(columns.getDate(i), columns.getValue(i), columns.getTransaction(i));
+			}
+		}
+		return buckets;
+	}
+
+	private static Summary[] freeze(final Buckets[] buckets) {
+		final Summary[] summaries = new Summary[buckets.length];
+		for (int i = 0; i < buckets.length; i++) {
+			summaries[i] = buckets[i].freeze();
+		}
+		return summaries;
+	}
+
+	private static void checkIndex(final int index, final int size) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		}
+	}
+
+	private static long boundNanos(final LocalDateTime date, final long unbounded) {
+		if (date == null) {
+			return unbounded;
+		}
+
+		try {
+			return toEpochNanos(date);
+		} catch (IllegalArgumentException e) {
+			return date.getYear() < 1970 ? Long.MIN_VALUE : Long.MAX_VALUE;
+		}
+	}
+
+	private static long toEpochNanos(final LocalDateTime date) {
+		try {
+			return Math.addExact(Math.multiplyExact(date.toEpochSecond(ZoneOffset.UTC), NANOS_PER_SECOND), date.getNano());
+		} catch (ArithmeticException e) {
+			throw new IllegalArgumentException("Statement date out of range: " + date);
+		}
+	}
+
+	private static final class Columns {
+
+		static final Columns EMPTY = new Columns(EMPTY_LONGS, EMPTY_LONGS, EMPTY_BYTES, EMPTY_BYTES, null, null, null, null);
+
+		private final long[] timestamps;
+		private final long[] amounts;
+		private final byte[] scales;
+		private final byte[] transactions;
+		private final long[][] positions;
+		private Map<Integer, BigDecimal> overflowAmounts;
+		private Map<Integer, BigDecimal> adjustments;
+		private BigDecimal[] checkpoints;
+
+		private Columns(final long[] timestamps, final long[] amounts, final byte[] scales, final byte[] transactions,
+						final long[][] positions, final Map<Integer, BigDecimal> overflowAmounts,
+						final Map<Integer, BigDecimal> adjustments, final BigDecimal[] checkpoints) {
+			this.timestamps = timestamps;
+			this.amounts = amounts;
+			this.scales = scales;
+			this.transactions = transactions;
+			this.positions = positions;
+			this.overflowAmounts = overflowAmounts;
+			this.adjustments = adjustments;
+			this.checkpoints = checkpoints;
+		}
+
+		int capacity() {
+			return timestamps.length;
+		}
+
+		Columns copy(final int capacity, final int size) {
+			BigDecimal[] copiedCheckpoints = null;
+			if (checkpoints != null) {
+				copiedCheckpoints = Arrays.copyOf(checkpoints, (capacity >>> CHECKPOINT_SHIFT) + 1);
+				Arrays.fill(copiedCheckpoints, (size >>> CHECKPOINT_SHIFT) + 1, copiedCheckpoints.length, null);
+			}
+
+			final int words = (capacity + Long.SIZE - 1) / Long.SIZE;
+			long[][] copiedPositions = null;
+			if (positions != null) {
+				copiedPositions = new long[positions.length][];
+				for (int type = 0; type < positions.length; type++) {
+					copiedPositions[type] = positions[type].length == 0 ? EMPTY_LONGS : Arrays.copyOf(positions[type], words);
+					clearFrom(copiedPositions[type], size);
+				}
+			} else if (capacity > INDEXED_CAPACITY) {
+				copiedPositions = new long[TRANSACTIONS.length][];
+				Arrays.fill(copiedPositions, EMPTY_LONGS);
+				for (int i = 0; i < size; i++) {
+					index(copiedPositions, i, transactions[i], words);
+				}
+			}
+
+			return new Columns(Arrays.copyOf(timestamps, capacity), Arrays.copyOf(amounts, capacity),
+					Arrays.copyOf(scales, capacity), Arrays.copyOf(transactions, capacity), copiedPositions,
+					head(overflowAmounts, size), head(adjustments, size), copiedCheckpoints);
+		}
+
+		void set(final int index, final long epochNanos, final BigDecimal value, final Transaction transaction) {
+			timestamps[index] = epochNanos;
+			transactions[index] = (byte) transaction.ordinal();
+			if (positions != null) {
+				index(positions, index, transactions[index], (capacity() + Long.SIZE - 1) / Long.SIZE);
+			}
+
+			if (value.scale() > OVERFLOW_SCALE && value.scale() <= Byte.MAX_VALUE && value.unscaledValue().bitLength() < Long.SIZE) {
+				amounts[index] = value.unscaledValue().longValue();
+				scales[index] = (byte) value.scale();
+			} else {
+				scales[index] = OVERFLOW_SCALE;
+				if (overflowAmounts == null) {
+					overflowAmounts = new ConcurrentHashMap<>();
+				}
+				overflowAmounts.put(index, value);
+			}
+		}
+
+		LocalDateTime getDate(final int index) {
+			final long epochNanos = timestamps[index];
+			return LocalDateTime.ofEpochSecond(
+					Math.floorDiv(epochNanos, NANOS_PER_SECOND), (int) Math.floorMod(epochNanos, NANOS_PER_SECOND), ZoneOffset.UTC);
+		}
+
+		BigDecimal getValue(final int index) {
+			if (scales[index] == OVERFLOW_SCALE) {
+				return overflowAmounts.get(index);
+			}
+			return BigDecimal.valueOf(amounts[index], scales[index]);
+		}
+
+		Transaction getTransaction(final int index) {
+			return TRANSACTIONS[transactions[index]];
+		}
+
+		Statement get(final int index) {
+			return new Statement(getDate(index), getValue(index), getTransaction(index));
+		}
+
+		BigDecimal adjustment(final int index) {
+			return adjustments == null ? null : adjustments.get(index);
+		}
+
+		void adjust(final int index, final BigDecimal adjustment) {
+			if (adjustments == null) {
+				adjustments = new ConcurrentHashMap<>();
+			}
+			adjustments.merge(index, adjustment, BigDecimal::add);
+		}
+
+		BigDecimal change(final int index) {
+			final BigDecimal adjustment = adjustment(index);
+			return adjustment == null ? getValue(index) : getValue(index).add(adjustment);
+		}
+
+		void checkpoint(final int count) {
+			if (checkpoints == null) {
+				checkpoints = new BigDecimal[(capacity() >>> CHECKPOINT_SHIFT) + 1];
+			}
+
+			final int block = count >>> CHECKPOINT_SHIFT;
+			BigDecimal balance = block == 1 ? BigDecimal.ZERO : checkpoints[block - 1];
+			for (int i = count - CHECKPOINT_INTERVAL; i < count; i++) {
+				balance = balance.add(change(i));
+			}
+			checkpoints[block] = balance;
+		}
+
+		BigDecimal prefix(final int count) {
+			final int block = count >>> CHECKPOINT_SHIFT;
+			BigDecimal balance = block == 0 ? BigDecimal.ZERO : checkpoints[block];
+			for (int i = block << CHECKPOINT_SHIFT; i < count; i++) {
+				balance = balance.add(change(i));
+			}
+			return balance;
+		}
+
+		int lowerBound(final long epochNanos, final int size) {
+			int low = 0;
+			int high = size;
+			while (low < high) {
+				final int middle = (low + high) >>> 1;
+				if (timestamps[middle] < epochNanos) {
+					low = middle + 1;
+				} else {
+					high = middle;
+				}
+			}
+			return low;
+		}
+
+		private static Map<Integer, BigDecimal> head(final Map<Integer, BigDecimal> values, final int size) {
+			if (values == null) {
+				return null;
+			}
+
+			final Map<Integer, BigDecimal> copied = new ConcurrentHashMap<>();
+			for (Map.Entry<Integer, BigDecimal> entry : values.entrySet()) {
+				if (entry.getKey() < size) {
+					copied.put(entry.getKey(), entry.getValue());
+				}
+			}
+			return copied;
+		}
+
+		private static void index(final long[][] positions, final int index, final byte transaction, final int words) {
+			if (positions[transaction].length == 0) {
+				positions[transaction] = new long[words];
+			}
+			positions[transaction][index >>> 6] |= 1L << index;
+		}
+
+		private static void clearFrom(final long[] bits, final int index) {
+			final int word = index >>> 6;
+			if (word < bits.length) {
+				bits[word] &= (1L << index) - 1;
+				Arrays.fill(bits, word + 1, bits.length, 0L);
+			}
+		}
+	}
+
+	private static final class Buckets {
+
+		private static final int STRIDE = 1 + 2 * TRANSACTIONS.length;
+
+		private final Granularity granularity;
+		private long[] records = EMPTY_LONGS;
+		private BigDecimal[] overflow;
+		private int size;
+		private boolean shared;
+
+		private Buckets(final Granularity granularity) {
+			this.granularity = granularity;
+		}
+
+		void add(final LocalDateTime date, final BigDecimal value, final Transaction transaction) {
+			final long key = granularity.bucketOf(date);
+			int bucket = size - 1;
+
+			if (size == 0 || records[bucket * STRIDE] < key) {
+				if (size * STRIDE == records.length) {
+					resize(size + (size >> 1) + 1);
+				}
+				bucket = size++;
+				records[bucket * STRIDE] = key;
+			} else if (records[bucket * STRIDE] != key) {
+				bucket = search(key);
+				if (bucket >= 0 || size * STRIDE < records.length) {
+					unshare();
+				} else {
+					resize(size + (size >> 1) + 1);
+				}
+				if (bucket < 0) {
+					bucket = insert(-bucket - 1, key);
+				}
+			}
+
+			final int count = bucket * STRIDE + 1 + transaction.ordinal();
+			final int cents = count + TRANSACTIONS.length;
+			records[count]++;
+
+			if (addCents(cents, value)) {
+				return;
+			}
+
+			final int slot = bucket * TRANSACTIONS.length + transaction.ordinal();
+			if (overflow == null) {
+				overflow = new BigDecimal[records.length / STRIDE * TRANSACTIONS.length];
+			}
+			overflow[slot] = overflow[slot] == null ? value : overflow[slot].add(value);
+		}
+
+		Summary freeze() {
+			final long[] last = size == 0 ? EMPTY_LONGS : Arrays.copyOfRange(records, (size - 1) * STRIDE, size * STRIDE);
+			final BigDecimal[] lastOverflow = size == 0 || overflow == null
+					? null
+					: Arrays.copyOfRange(overflow, (size - 1) * TRANSACTIONS.length, size * TRANSACTIONS.length);
+			shared = true;
+			return new Summary(granularity, records, overflow, size, last, lastOverflow);
+		}
+
+		private void unshare() {
+			if (shared) {
+				records = records.clone();
+				if (overflow != null) {
+					overflow = overflow.clone();
+				}
+				shared = false;
+			}
+		}
+
+		private boolean addCents(final int index, final BigDecimal value) {
+			if (!Cents.fits(value)) {
+				return false;
+			}
+
+			try {
+				records[index] = Math.addExact(records[index], Cents.of(value));
+				return true;
+			} catch (ArithmeticException e) {
+				return false;
+			}
+		}
+
+		private int search(final long key) {
+			int low = 0;
+			int high = size - 1;
+			while (low <= high) {
+				final int middle = (low + high) >>> 1;
+				final long current = records[middle * STRIDE];
+				if (current < key) {
+					low = middle + 1;
+				} else if (current > key) {
+					high = middle - 1;
+				} else {
+					return middle;
+				}
+			}
+			return -(low + 1);
+		}
+
+		private void resize(final int capacity) {
+			records = Arrays.copyOf(records, capacity * STRIDE);
+			if (overflow != null) {
+				overflow = Arrays.copyOf(overflow, capacity * TRANSACTIONS.length);
+			}
+			shared = false;
+		}
+
+		private int insert(final int bucket, final long key) {
+			System.arraycopy(records, bucket * STRIDE, records, (bucket + 1) * STRIDE, (size - bucket) * STRIDE);
+			Arrays.fill(records, bucket * STRIDE, (bucket + 1) * STRIDE, 0L);
+			records[bucket * STRIDE] = key;
+
+			if (overflow != null) {
+				final int types = TRANSACTIONS.length;
+				System.arraycopy(overflow, bucket * types, overflow, (bucket + 1) * types, (size - bucket) * types);
+				Arrays.fill(overflow, bucket * types, (bucket + 1) * types, null);
+			}
+
+			size++;
+			return bucket;
+		}
+	}
+
+	private static final class Cents {
+
+		private static final int SCALE = 2;
+		private static final BigDecimal MAX_VALUE = BigDecimal.valueOf(Long.MAX_VALUE, SCALE);
+		private static final BigDecimal MIN_VALUE = BigDecimal.valueOf(Long.MIN_VALUE, SCALE);
+
+		private Cents() {
+		}
+
+		static boolean fits(final BigDecimal value) {
+			return value.scale() <= SCALE && value.compareTo(MAX_VALUE) <= 0 && value.compareTo(MIN_VALUE) >= 0;
+		}
+
+		static long of(final BigDecimal value) {
+			return value.setScale(SCALE).unscaledValue().longValue();
+		}
+	}
+
+	private static final class Summary {
+
+		private final Granularity granularity;
+		private final long[] records;
+		private final BigDecimal[] overflow;
+		private final int size;
+		private final long[] last;
+		private final BigDecimal[] lastOverflow;
+
+		private Summary(final Granularity granularity, final long[] records, final BigDecimal[] overflow, final int size, final long[] last,
+				final BigDecimal[] lastOverflow) {
+			this.granularity = granularity;
+			this.records = records;
+			this.overflow = overflow;
+			this.size = size;
+			this.last = last;
+			this.lastOverflow = lastOverflow;
+		}
+
+		List<StatementSummary> toList() {
+			final List<StatementSummary> summaries = new ArrayList<>();
+			for (int bucket = 0; bucket < size; bucket++) {
+				final boolean tail = bucket == size - 1;
+				final long[] source = tail ? last : records;
+				final int base = tail ? 0 : bucket * Buckets.STRIDE;
+				final BigDecimal[] extra = tail ? lastOverflow : overflow;
+				final int extraBase = tail ? 0 : bucket * TRANSACTIONS.length;
+				final LocalDate period = granularity.startOf(source[base]);
+
+				for (int type = 0; type < TRANSACTIONS.length; type++) {
+					final long count = source[base + 1 + type];
+					if (count == 0L) {
+						continue;
+					}
+
+					BigDecimal total = BigDecimal.valueOf(source[base + 1 + TRANSACTIONS.length + type], Cents.SCALE);
+					if (extra != null && extra[extraBase + type] != null) {
+						total = total.add(extra[extraBase + type]);
+					}
+					summaries.add(new StatementSummary(period, TRANSACTIONS[type], count, total));
+				}
+			}
+			return Collections.unmodifiableList(summaries);
+		}
+	}
+
+	public static final class View extends AbstractList<Statement> implements RandomAccess {
+
+		private final Ledger ledger;
+		private final Columns columns;
+		private final int size;
+		private final boolean ordered;
+		private volatile Summary[] summaries;
+
+		private View(final Ledger ledger, final Columns columns, final int size, final boolean ordered, final Summary[] summaries) {
+			this.ledger = ledger;
+			this.columns = columns;
+			this.size = size;
+			this.ordered = ordered;
+			this.summaries = summaries;
+		}
+
+		@Override
+		public Statement get(final int index) {
+			checkIndex(index, size);
+			return columns.get(index);
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		public List<Statement> query(final LocalDateTime from, final LocalDateTime to, final Collection<Transaction> types) {
+			final long fromNanos = boundNanos(from, Long.MIN_VALUE);
+			final long toNanos = boundNanos(to, Long.MAX_VALUE);
+			final boolean allTypes = types == null || types.isEmpty() || types.containsAll(Arrays.asList(TRANSACTIONS));
+
+			if (!ordered || (!allTypes && columns.positions == null)) {
+				final int start = ordered ? columns.lowerBound(fromNanos, size) : 0;
+				final int end = ordered ? Math.max(start, columns.lowerBound(toNanos, size)) : size;
+				final List<Statement> statements = new ArrayList<>();
+				for (int i = start; i < end; i++) {
+					final long timestamp = columns.timestamps[i];
+					if (timestamp >= fromNanos && timestamp < toNanos && (allTypes || types.contains(columns.getTransaction(i)))) {
+						statements.add(columns.get(i));
+					}
+				}
+				return Collections.unmodifiableList(statements);
+			}
+
+			final int start = columns.lowerBound(fromNanos, size);
+			final int end = Math.max(start, columns.lowerBound(toNanos, size));
+
+			if (allTypes) {
+				return Collections.unmodifiableList(new ArrayList<>(subList(start, end)));
+			}
+
+			final long[][] selected = types.stream()
+					.distinct()
+					.map(type -> columns.positions[type.ordinal()])
+					.toArray(long[][]::new);
+			final List<Statement> statements = new ArrayList<>();
+
+			for (int word = start >>> 6; word << 6 < end; word++) {
+				long bits = 0L;
+				for (long[] positions : selected) {
+					if (word < positions.length) {
+						bits |= positions[word];
+					}
+				}
+				if (word == start >>> 6) {
+					bits &= -1L << start;
+				}
+				while (bits != 0L) {
+					final int index = (word << 6) + Long.numberOfTrailingZeros(bits);
+					if (index >= end) {
+						break;
+					}
+					statements.add(columns.get(index));
+					bits &= bits - 1;
+				}
+			}
+
+			return Collections.unmodifiableList(statements);
+		}
+
+		public List<StatementSummary> summary(final Granularity granularity) {
+			Summary[] current = summaries;
+			if (current == null) {
+				ledger.summarized = true;
+				current = freeze(summarize(columns, size));
+				summaries = current;
+			}
+			return current[granularity.ordinal()].toList();
+		}
+
+		public BalancePoint balanceAt(final LocalDateTime at) {
+			final long atNanos = boundNanos(at, Long.MAX_VALUE);
+
+			if (!ordered) {
+				BigDecimal balance = BigDecimal.ZERO;
+				int last = -1;
+				for (int i = 0; i < size; i++) {
+					if (columns.timestamps[i] <= atNanos) {
+						balance = balance.add(columns.change(i));
+						if (last < 0 || columns.timestamps[i] >= columns.timestamps[last]) {
+							last = i;
+						}
+					}
+				}
+				return new BalancePoint(last < 0 ? null : columns.getDate(last), balance);
+			}
+
+			final int count = atNanos == Long.MAX_VALUE ? size : columns.lowerBound(atNanos + 1, size);
+			return new BalancePoint(count == 0 ? null : columns.getDate(count - 1), columns.prefix(count));
+		}
+
+		public Iterator<BalancePoint> balances(final LocalDateTime from, final LocalDateTime to) {
+			final long fromNanos = boundNanos(from, Long.MIN_VALUE);
+			final long toNanos = boundNanos(to, Long.MAX_VALUE);
+			final int start = ordered ? columns.lowerBound(fromNanos, size) : 0;
+			final int end = ordered ? Math.max(start, columns.lowerBound(toNanos, size)) : size;
+
+			return new BalanceIterator(columns, start, end, fromNanos, toNanos);
+		}
+	}
+
+	private static final class BalanceIterator implements Iterator<BalancePoint> {
+
+		private final Columns columns;
+		private final int end;
+		private final long fromNanos;
+		private final long toNanos;
+		private int next;
+		private BigDecimal balance;
+
+		private BalanceIterator(final Columns columns, final int start, final int end, final long fromNanos, final long toNanos) {
+			this.columns = columns;
+			this.end = end;
+			this.fromNanos = fromNanos;
+			this.toNanos = toNanos;
+			this.next = start;
+			this.balance = columns.prefix(start);
+			skipOutOfRange();
+		}
+
+		@Override
+		public boolean hasNext() {
+			return next < end;
+		}
+
+		@Override
+		public BalancePoint next() {
+			if (next >= end) {
+				throw new NoSuchElementException();
+			}
+
+			balance = balance.add(columns.change(next));
+			final BalancePoint point = new BalancePoint(columns.getDate(next), balance);
+			next++;
+			skipOutOfRange();
+			return point;
+		}
+
+		private void skipOutOfRange() {
+			while (next < end && (columns.timestamps[next] < fromNanos || columns.timestamps[next] >= toNanos)) {
+				balance = balance.add(columns.change(next));
+				next++;
+			}
+		}
+	}
+
+	private class StatementView extends AbstractList<Statement> implements RandomAccess {
+
+		@Override
+		public Statement get(final int index) {
+			return Ledger.this.get(index);
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+	}
+}
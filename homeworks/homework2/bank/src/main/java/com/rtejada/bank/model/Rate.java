@@ -0,0 +1,50 @@
+package com.rtejada.bank.model;
+
+import java.math.BigDecimal;
+
+public final class Rate {
+
+	public static final Rate ONE = Rate.of(BigDecimal.ONE);
+
+	private final BigDecimal value;
+
+	private Rate(final BigDecimal value) {
+		this.value = value;
+	}
+
+	public static Rate of(final BigDecimal value) {
+		if (value == null || value.signum() < 0) {
+			throw new IllegalArgumentException("Invalid rate: " + value);
+		}
+
+		BigDecimal normalized = value.stripTrailingZeros();
+		if (normalized.scale() < 0) {
+			normalized = normalized.setScale(0);
+		}
+
+		return new Rate(normalized);
+	}
+
+	public BigDecimal toBigDecimal() {
+		return value;
+	}
+
+	public BigDecimal apply(final BigDecimal amount) {
+		return amount.multiply(value);
+	}
+
+	@Override
+	public boolean equals(final Object other) {
+		return other instanceof Rate && ((Rate) other).value.equals(value);
+	}
+
+	@Override
+	public int hashCode() {
+		return value.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return value.toPlainString();
+	}
+}
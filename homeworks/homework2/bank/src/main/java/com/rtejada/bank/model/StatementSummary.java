@@ -0,0 +1,35 @@
+package com.rtejada.bank.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public class StatementSummary {
+
+	private final LocalDate period;
+	private final Transaction transaction;
+	private final long count;
+	private final BigDecimal total;
+
+	public StatementSummary(LocalDate period, Transaction transaction, long count, BigDecimal total) {
+		this.period = period;
+		this.transaction = transaction;
+		this.count = count;
+		this.total = total;
+	}
+
+	public LocalDate getPeriod() {
+		return period;
+	}
+
+	public Transaction getTransaction() {
+		return transaction;
+	}
+
+	public long getCount() {
+		return count;
+	}
+
+	public BigDecimal getTotal() {
+		return total;
+	}
+}
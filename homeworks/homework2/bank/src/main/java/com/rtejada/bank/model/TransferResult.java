@@ -0,0 +1,40 @@
+package com.rtejada.bank.model;
+
+import java.math.BigDecimal;
+
+public class TransferResult {
+
+	private final int index;
+	private final BigDecimal balance;
+	private final String error;
+
+	private TransferResult(int index, BigDecimal balance, String error) {
+		this.index = index;
+		this.balance = balance;
+		this.error = error;
+	}
+
+	public static TransferResult success(final int index, final BigDecimal balance) {
+		return new TransferResult(index, balance, null);
+	}
+
+	public static TransferResult failure(final int index, final String error) {
+		return new TransferResult(index, null, error);
+	}
+
+	public boolean isSuccess() {
+		return error == null;
+	}
+
+	public int getIndex() {
+		return index;
+	}
+
+	public BigDecimal getBalance() {
+		return balance;
+	}
+
+	public String getError() {
+		return error;
+	}
+}
@@ -0,0 +1,408 @@
+package com.rtejada.bank.repository;
+
+import com.rtejada.bank.journal.AccountImage;
+import com.rtejada.bank.journal.Journal;
+import com.rtejada.bank.journal.JournalRecord;
+import com.rtejada.bank.journal.NoOpJournal;
+import com.rtejada.bank.model.Account;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+public class AccountStore {
+
+	private static final int DEFAULT_STRIPES = 1024;
+
+	private final ConcurrentMap<UUID, Account> accounts;
+	private final ConcurrentMap<String, UUID[]> accountsByOwner;
+	private final ReentrantLock[] locks;
+	private final int mask;
+	private final Journal journal;
+	private final ThreadLocal<MutationUnit> currentUnit = new ThreadLocal<>();
+	private final ThreadLocal<long[]> deferredSequence = new ThreadLocal<>();
+
+	public AccountStore() {
+		this(DEFAULT_STRIPES);
+	}
+
+	public AccountStore(final int stripes) {
+		this(stripes, new NoOpJournal());
+	}
+
+	public AccountStore(final Journal journal) {
+		this(DEFAULT_STRIPES, journal);
+	}
+
+	public AccountStore(final int stripes, final Journal journal) {
+		if (stripes <= 0 || Integer.bitCount(stripes) != 1) {
+			throw new IllegalArgumentException("Stripes must be a positive power of two: " + stripes);
+		}
+
+		this.accounts = new ConcurrentHashMap<>();
+		this.accountsByOwner = new ConcurrentHashMap<>();
+		this.locks = new ReentrantLock[stripes];
+		this.mask = stripes - 1;
+		this.journal = journal;
+
+		for (int i = 0; i < stripes; i++) {
+			locks[i] = new ReentrantLock();
+		}
+	}
+
+	public Account save(final Account account) {
+		if (account == null || account.getId() == null) {
+			throw new IllegalArgumentException("Cannot store account without id");
+		}
+
+		journal.checkWritable();
+
+		if (accounts.putIfAbsent(account.getId(), account) != null) {
+			throw new IllegalArgumentException("Account already exists: " + account.getId());
+		}
+
+		long sequence = 0L;
+		if (journal.isEnabled()) {
+			try {
+				sequence = withLock(account.getId(), () -> journal.append(
+						new JournalRecord(Collections.singletonList(AccountImage.of(account, true, 0)))));
+			} catch (RuntimeException e) {
+				accounts.remove(account.getId(), account);
+				throw e;
+			}
+		}
+
+		indexOwner(account);
+
+		if (sequence > 0L) {
+			awaitDurable(sequence);
+		}
+
+		return account;
+	}
+
+	public void apply(final AccountImage image) {
+		final Account account = accounts.computeIfAbsent(image.getId(), id -> {
+			final Account created = image.toAccount();
+			indexOwner(created);
+			return created;
+		});
+		withLock(image.getId(), () -> {
+			image.applyTo(account);
+			return null;
+		});
+	}
+
+	public void replay(final long fromPosition) {
+		journal.replay(fromPosition, record -> record.getAccounts().forEach(this::apply));
+	}
+
+	public void forEachImage(final Consumer<AccountImage> consumer) {
+		for (Account account : accounts.values()) {
+			consumer.accept(withLock(account.getId(), () -> AccountImage.of(account, true, 0)));
+		}
+	}
+
+	public Optional<Account> find(final UUID accountId) {
+		if (accountId == null) {
+			return Optional.empty();
+		}
+
+		return Optional.ofNullable(accounts.get(accountId));
+	}
+
+	public List<UUID> findByOwner(final String cpf) {
+		final String key = ownerKey(cpf);
+		if (key == null) {
+			return Collections.emptyList();
+		}
+
+		final UUID[] accountIds = accountsByOwner.get(key);
+		return accountIds == null ? Collections.emptyList() : Collections.unmodifiableList(Arrays.asList(accountIds));
+	}
+
+	public static boolean sameOwner(final String cpf, final String otherCpf) {
+		final String key = ownerKey(cpf);
+		return key != null && key.equals(ownerKey(otherCpf));
+	}
+
+	public int size() {
+		return accounts.size();
+	}
+
+	public long countStatements() {
+		long statements = 0L;
+		for (Account account : accounts.values()) {
+			statements += account.getLedger().size();
+		}
+		return statements;
+	}
+
+	public <T> T withLock(final UUID accountId, final Supplier<T> action) {
+		final ReentrantLock lock = lockFor(accountId);
+		lock.lock();
+		try {
+			return writing(action, accountId);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public <T> T withLocks(final UUID firstAccountId, final UUID secondAccountId, final Supplier<T> action) {
+		final int firstStripe = stripeFor(firstAccountId);
+		final int secondStripe = stripeFor(secondAccountId);
+
+		if (firstStripe == secondStripe) {
+			return withLock(firstAccountId, () -> writing(action, secondAccountId));
+		}
+
+		final ReentrantLock outer = locks[Math.min(firstStripe, secondStripe)];
+		final ReentrantLock inner = locks[Math.max(firstStripe, secondStripe)];
+
+		outer.lock();
+		try {
+			inner.lock();
+			try {
+				return writing(action, firstAccountId, secondAccountId);
+			} finally {
+				inner.unlock();
+			}
+		} finally {
+			outer.unlock();
+		}
+	}
+
+	public <T> T withAllLocks(final Collection<UUID> accountIds, final Supplier<T> action) {
+		final int[] stripes = accountIds.stream()
+				.mapToInt(this::stripeFor)
+				.distinct()
+				.sorted()
+				.toArray();
+
+		int locked = 0;
+		try {
+			for (int stripe : stripes) {
+				locks[stripe].lock();
+				locked++;
+			}
+			return writing(action, accountIds.toArray(new UUID[0]));
+		} finally {
+			for (int i = locked - 1; i >= 0; i--) {
+				locks[stripes[i]].unlock();
+			}
+		}
+	}
+
+	public <T> T mutate(final UUID accountId, final Supplier<T> action) {
+		if (!journal.isEnabled()) {
+			return withLock(accountId, action);
+		}
+
+		final MutationUnit outer = currentUnit.get();
+		if (outer != null) {
+			return withLock(accountId, () -> outer.join(action, accountId));
+		}
+
+		final MutationUnit unit = new MutationUnit();
+		final T result = withLock(accountId, () -> unit.run(action, accountId));
+		awaitDurable(unit.sequence);
+		return result;
+	}
+
+	public <T> T mutateBoth(final UUID firstAccountId, final UUID secondAccountId, final Supplier<T> action) {
+		if (!journal.isEnabled()) {
+			return withLocks(firstAccountId, secondAccountId, action);
+		}
+
+		final MutationUnit outer = currentUnit.get();
+		if (outer != null) {
+			return withLocks(firstAccountId, secondAccountId, () -> outer.join(action, firstAccountId, secondAccountId));
+		}
+
+		final MutationUnit unit = new MutationUnit();
+		final T result = withLocks(firstAccountId, secondAccountId, () -> unit.run(action, firstAccountId, secondAccountId));
+		awaitDurable(unit.sequence);
+		return result;
+	}
+
+	public <T> T mutateAll(final Collection<UUID> accountIds, final Supplier<T> action) {
+		if (!journal.isEnabled()) {
+			return withAllLocks(accountIds, action);
+		}
+
+		final UUID[] ids = accountIds.toArray(new UUID[0]);
+		final MutationUnit outer = currentUnit.get();
+		if (outer != null) {
+			return withAllLocks(accountIds, () -> outer.join(action, ids));
+		}
+
+		final MutationUnit unit = new MutationUnit();
+		final T result = withAllLocks(accountIds, () -> unit.run(action, ids));
+		awaitDurable(unit.sequence);
+		return result;
+	}
+
+	private <T> T writing(final Supplier<T> action, final UUID... accountIds) {
+		final Account[] writing = new Account[accountIds.length];
+		int begun = 0;
+		try {
+			for (UUID accountId : accountIds) {
+				final Account account = accountId == null ? null : accounts.get(accountId);
+				if (account != null) {
+					account.beginWrite();
+					writing[begun++] = account;
+				}
+			}
+			return action.get();
+		} finally {
+			for (int i = begun - 1; i >= 0; i--) {
+				writing[i].endWrite();
+			}
+		}
+	}
+
+	private void indexOwner(final Account account) {
+		final String key = account.getOwner() == null ? null : ownerKey(account.getOwner().getCpf());
+		if (key == null) {
+			return;
+		}
+
+		accountsByOwner.merge(key, new UUID[]{account.getId()}, (current, added) -> {
+			final UUID[] merged = Arrays.copyOf(current, current.length + 1);
+			merged[current.length] = added[0];
+			return merged;
+		});
+	}
+
+	private static String ownerKey(final String cpf) {
+		if (cpf == null) {
+			return null;
+		}
+
+		final StringBuilder digits = new StringBuilder(11);
+		for (int i = 0; i < cpf.length(); i++) {
+			final char character = cpf.charAt(i);
+			if (character >= '0' && character <= '9') {
+				digits.append(character);
+			}
+		}
+		return digits.length() == 0 ? null : digits.toString();
+	}
+
+	public long deferDurability(final Runnable action) {
+		final long[] sequence = new long[1];
+		deferredSequence.set(sequence);
+		try {
+			action.run();
+		} finally {
+			deferredSequence.remove();
+		}
+		return sequence[0];
+	}
+
+	public void awaitDurable(final long sequence) {
+		final long[] deferred = deferredSequence.get();
+		if (deferred != null) {
+			deferred[0] = Math.max(deferred[0], sequence);
+		} else {
+			journal.awaitDurable(sequence);
+		}
+	}
+
+	public int getStripes() {
+		return locks.length;
+	}
+
+	public int stripeOf(final UUID accountId) {
+		return stripeFor(accountId);
+	}
+
+	private ReentrantLock lockFor(final UUID accountId) {
+		return locks[stripeFor(accountId)];
+	}
+
+	private int stripeFor(final UUID accountId) {
+		return spread(accountId.hashCode()) & mask;
+	}
+
+	private static int spread(final int hash) {
+		return hash ^ (hash >>> 16);
+	}
+
+	private class MutationUnit {
+
+		private final Map<UUID, AccountImage> before = new LinkedHashMap<>();
+		private long sequence;
+
+		<T> T run(final Supplier<T> action, final UUID... accountIds) {
+			journal.checkWritable();
+			currentUnit.set(this);
+			try {
+				return join(action, accountIds);
+			} finally {
+				currentUnit.remove();
+				try {
+					sequence = commit();
+				} catch (RuntimeException e) {
+					rollback();
+					throw e;
+				}
+			}
+		}
+
+		<T> T join(final Supplier<T> action, final UUID... accountIds) {
+			for (UUID accountId : accountIds) {
+				if (!before.containsKey(accountId)) {
+					find(accountId).ifPresent(account -> before.put(accountId,
+							AccountImage.of(account, false, account.getLedger().size())));
+				}
+			}
+
+			return action.get();
+		}
+
+		private long commit() {
+			final List<AccountImage> changed = new ArrayList<>(before.size());
+
+			for (AccountImage image : before.values()) {
+				final Account account = accounts.get(image.getId());
+				final AccountImage after = AccountImage.of(account, false, image.getFirstStatement());
+
+				if (!after.getStatements().isEmpty()
+						|| account.getLedger().size() != image.getFirstStatement()
+						|| !sameState(image, after)) {
+					changed.add(after);
+				}
+			}
+
+			return changed.isEmpty() ? 0L : journal.append(new JournalRecord(changed));
+		}
+
+		private void rollback() {
+			for (AccountImage image : before.values()) {
+				image.applyTo(accounts.get(image.getId()));
+			}
+		}
+	}
+
+	private static boolean sameState(final AccountImage first, final AccountImage second) {
+		return Objects.equals(first.getBalance(), second.getBalance())
+				&& Objects.equals(first.getLastTransaction(), second.getLastTransaction())
+				&& Objects.equals(first.getLastWithdraw(), second.getLastWithdraw())
+				&& Objects.equals(first.getWithdrawCount(), second.getWithdrawCount())
+				&& Objects.equals(first.getLastTransfer(), second.getLastTransfer())
+				&& Objects.equals(first.getTransferCount(), second.getTransferCount());
+	}
+}
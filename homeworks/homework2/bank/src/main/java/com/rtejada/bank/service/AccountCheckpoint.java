@@ -0,0 +1,37 @@
+package com.rtejada.bank.service;
+
+import com.rtejada.bank.model.Account;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+class AccountCheckpoint {
+
+	private final Account account;
+	private final BigDecimal balance;
+	private final LocalDateTime lastTransaction;
+	private final LocalDate lastTransfer;
+	private final Long transferCount;
+	private final int statementCount;
+
+	private AccountCheckpoint(final Account account) {
+		this.account = account;
+		this.balance = account.getBalance();
+		this.lastTransaction = account.getLastTransaction();
+		this.lastTransfer = account.getLastTransfer();
+		this.transferCount = account.getTransferCount();
+		this.statementCount = account.getLedger().size();
+	}
+
+	static AccountCheckpoint of(final Account account) {
+		return new AccountCheckpoint(account);
+	}
+
+	void restore() {
+		account.setBalance(balance, lastTransaction);
+		account.setLastTransfer(lastTransfer);
+		account.setTransferCount(transferCount);
+		account.truncateStatements(statementCount);
+	}
+}
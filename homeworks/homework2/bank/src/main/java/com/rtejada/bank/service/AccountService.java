@@ -1,12 +1,18 @@
 package com.rtejada.bank.service;
 
 import com.rtejada.bank.model.Account;
+import com.rtejada.bank.model.BalancePoint;
+import com.rtejada.bank.model.Granularity;
 import com.rtejada.bank.model.Statement;
+import com.rtejada.bank.model.StatementSummary;
+import com.rtejada.bank.model.Transaction;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 public interface AccountService {
@@ -26,4 +32,14 @@ public interface AccountService {
 	BigDecimal withdrawForTransfer(final BigDecimal amount, final UUID accountId, final LocalDateTime transferTime);
 
 	List<Statement> getStatement(final UUID accountId);
+
+	List<Statement> getStatement(final UUID accountId, final int offset, final int limit);
+
+	List<Statement> getStatement(final UUID accountId, final LocalDateTime from, final LocalDateTime to, final Set<Transaction> types);
+
+	List<StatementSummary> getStatementSummary(final UUID accountId, final Granularity granularity);
+
+	BalancePoint getBalanceAt(final UUID accountId, final LocalDateTime at);
+
+	Iterator<BalancePoint> getBalanceHistory(final UUID accountId, final LocalDateTime from, final LocalDateTime to);
 }
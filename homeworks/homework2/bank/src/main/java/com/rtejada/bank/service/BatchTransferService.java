@@ -0,0 +1,164 @@
+package com.rtejada.bank.service;
+
+import com.rtejada.bank.model.Transfer;
+import com.rtejada.bank.model.TransferResult;
+import com.rtejada.bank.repository.AccountStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Service
+public class BatchTransferService {
+
+	private static final int MAX_GROUP_SIZE = 512;
+	private static final String INVALID_TRANSFER = "Invalid transfer request";
+
+	private final TransferService transferService;
+	private final AccountStore accountStore;
+	private final ExecutorService executor;
+
+	@Autowired
+	public BatchTransferService(TransferService transferService, AccountStore accountStore) {
+		this(transferService, accountStore, Runtime.getRuntime().availableProcessors());
+	}
+
+	public BatchTransferService(TransferService transferService, AccountStore accountStore, int parallelism) {
+		final AtomicInteger threadCount = new AtomicInteger();
+		this.transferService = transferService;
+		this.accountStore = accountStore;
+		this.executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+			final Thread thread = new Thread(runnable, "batch-transfer-" + threadCount.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	public List<TransferResult> transfer(final List<Transfer> transfers) {
+		final TransferResult[] results = new TransferResult[transfers.size()];
+		final List<List<Integer>> groups = group(transfers, results);
+
+		if (groups.size() <= 1) {
+			groups.forEach(group -> execute(group, transfers, results));
+			return Arrays.asList(results);
+		}
+
+		final List<Future<?>> futures = new ArrayList<>(groups.size());
+		for (List<Integer> group : groups) {
+			futures.add(executor.submit(() -> execute(group, transfers, results)));
+		}
+
+		for (Future<?> future : futures) {
+			await(future);
+		}
+
+		return Arrays.asList(results);
+	}
+
+	@PreDestroy
+	public void close() {
+		executor.shutdown();
+	}
+
+	private void execute(final List<Integer> group, final List<Transfer> transfers, final TransferResult[] results) {
+		for (int from = 0; from < group.size(); from += MAX_GROUP_SIZE) {
+			final List<Integer> chunk = group.subList(from, Math.min(from + MAX_GROUP_SIZE, group.size()));
+			final Set<UUID> accountIds = new LinkedHashSet<>();
+
+			for (Integer index : chunk) {
+				accountIds.add(transfers.get(index).getSourceId());
+				accountIds.add(transfers.get(index).getTargetId());
+			}
+
+			accountStore.mutateAll(accountIds, () -> {
+				for (Integer index : chunk) {
+					results[index] = execute(index, transfers.get(index));
+				}
+				return null;
+			});
+		}
+	}
+
+	private TransferResult execute(final int index, final Transfer transfer) {
+		try {
+			return TransferResult.success(index, transferService.transfer(transfer));
+		} catch (RuntimeException e) {
+			return TransferResult.failure(index, e.getMessage());
+		}
+	}
+
+	private static List<List<Integer>> group(final List<Transfer> transfers, final TransferResult[] results) {
+		final Map<UUID, Integer> accounts = new HashMap<>();
+		final int[] parent = new int[transfers.size() * 2];
+		final int[] accountOf = new int[transfers.size()];
+
+		for (int i = 0; i < transfers.size(); i++) {
+			final Transfer transfer = transfers.get(i);
+
+			if (transfer == null || transfer.getSourceId() == null || transfer.getTargetId() == null) {
+				results[i] = TransferResult.failure(i, INVALID_TRANSFER);
+				accountOf[i] = -1;
+				continue;
+			}
+
+			final int source = indexOf(accounts, parent, transfer.getSourceId());
+			final int target = indexOf(accounts, parent, transfer.getTargetId());
+			parent[find(parent, source)] = find(parent, target);
+			accountOf[i] = source;
+		}
+
+		final Map<Integer, List<Integer>> groups = new LinkedHashMap<>();
+		for (int i = 0; i < transfers.size(); i++) {
+			if (accountOf[i] >= 0) {
+				groups.computeIfAbsent(find(parent, accountOf[i]), root -> new ArrayList<>()).add(i);
+			}
+		}
+
+		return new ArrayList<>(groups.values());
+	}
+
+	private static int indexOf(final Map<UUID, Integer> accounts, final int[] parent, final UUID accountId) {
+		return accounts.computeIfAbsent(accountId, id -> {
+			final int index = accounts.size();
+			parent[index] = index;
+			return index;
+		});
+	}
+
+	private static int find(final int[] parent, final int index) {
+		int root = index;
+		while (parent[root] != root) {
+			parent[root] = parent[parent[root]];
+			root = parent[root];
+		}
+		return root;
+	}
+
+	private static void await(final Future<?> future) {
+		try {
+			future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while executing transfer batch", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+}
@@ -3,6 +3,8 @@ package com.rtejada.bank.service;
 import com.rtejada.bank.exception.InvalidAccountException;
 import com.rtejada.bank.exception.InvalidTransactionException;
 import com.rtejada.bank.model.*;
+import com.rtejada.bank.repository.AccountStore;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
@@ -15,13 +17,27 @@ import static com.rtejada.bank.model.Transaction.WITHDRAW;
 @Service
 public class CreditAccountService implements AccountService {
 
-	private static final BigDecimal INITIAL_WITHDRAW_FEE = BigDecimal.valueOf(1.02);
-	private static final BigDecimal FINAL_WITHDRAW_FEE = BigDecimal.valueOf(1.05);
-	private static final Map<Long, BigDecimal> WITHDRAW_RULES = buildWithdrawRules();
-	private final Map<UUID, Account> accounts;
+	private final AccountStore accountStore;
+	private final TransactionListener transactionListener;
+	private final FeeRulesEngine feeRulesEngine;
 
 	public CreditAccountService() {
-		this.accounts = new HashMap<>();
+		this(new AccountStore());
+	}
+
+	public CreditAccountService(AccountStore accountStore) {
+		this(accountStore, TransactionListener.NONE);
+	}
+
+	public CreditAccountService(AccountStore accountStore, TransactionListener transactionListener) {
+		this(accountStore, transactionListener, new FeeRulesEngine());
+	}
+
+	@Autowired
+	public CreditAccountService(AccountStore accountStore, TransactionListener transactionListener, FeeRulesEngine feeRulesEngine) {
+		this.accountStore = accountStore;
+		this.transactionListener = transactionListener;
+		this.feeRulesEngine = feeRulesEngine;
 	}
 
 	public Account createAccount(final Account account) {
@@ -43,16 +59,17 @@ public class CreditAccountService implements AccountService {
 
 		account.setId(UUID.randomUUID());
 		account.setBalance(BigDecimal.ZERO);
-		accounts.put(account.getId(), account);
-		return account;
+		return accountStore.save(account);
 	}
 
 	public Optional<Account> getAccount(final UUID accountId) {
-		return Optional.ofNullable(accounts.get(accountId));
+		return accountStore.find(accountId)
+				.filter(account -> AccountType.CREDIT.equals(account.getAccountType()));
 	}
 
 	public Optional<BigDecimal> getBalance(final UUID accountId) {
-		return getAccount(accountId).map(Account::getBalance);
+		return getAccount(accountId)
+				.map(Account::getBalance);
 	}
 
 	public BigDecimal deposit(final BigDecimal amount, final UUID accountId) {
@@ -63,10 +80,13 @@ public class CreditAccountService implements AccountService {
 		final Account account = getAccount(accountId)
 				.orElseThrow(() -> new InvalidAccountException(accountId));
 
-		account.setBalance(account.getBalance().add(amount));
-		account.addStatement(new Statement(LocalDateTime.now(), amount, Transaction.DEPOSIT));
+		return accountStore.mutate(accountId, () -> {
+			account.setBalance(account.getBalance().add(amount));
+			account.addStatement(new Statement(LocalDateTime.now(), amount, Transaction.DEPOSIT));
+			transactionListener.onTransaction(AccountType.CREDIT, Transaction.DEPOSIT, amount, BigDecimal.ZERO);
 
-		return account.getBalance();
+			return account.getBalance();
+		});
 	}
 
 	public BigDecimal depositForTransfer(final BigDecimal amount, final UUID accountId, final LocalDateTime transferTime) {
@@ -77,10 +97,12 @@ public class CreditAccountService implements AccountService {
 		final Account account = getAccount(accountId)
 				.orElseThrow(() -> new InvalidAccountException(accountId));
 
-		account.setBalance(account.getBalance().add(amount));
-		account.addStatement(new Statement(transferTime, amount, Transaction.TRANSFER));
+		return accountStore.mutate(accountId, () -> {
+			account.setBalance(account.getBalance().add(amount));
+			account.addStatement(new Statement(transferTime, amount, Transaction.TRANSFER));
 
-		return account.getBalance();
+			return account.getBalance();
+		});
 	}
 
 	public BigDecimal withdraw(final BigDecimal amount, final UUID accountId) {
@@ -91,66 +113,117 @@ public class CreditAccountService implements AccountService {
 		final Account account = getAccount(accountId)
 				.orElseThrow(() -> new InvalidAccountException(accountId));
 
-		BigDecimal finalBalance;
+		return accountStore.mutate(accountId, () -> {
+			final BigDecimal previousBalance = account.getBalance();
+			final LocalDateTime now = LocalDateTime.now();
+			final LocalDate today = now.toLocalDate();
+			final BigDecimal finalBalance = account.getBalance().subtract(feeRulesEngine.withdrawAmount(AccountType.CREDIT,
+					account.getLastWithdraw(), account.getWithdrawCount(), today, amount));
+
+			if (today.equals(account.getLastWithdraw()) && account.getWithdrawCount() != null) {
+				account.setWithdrawCount(account.getWithdrawCount() + 1);
+			} else {
+				account.setWithdrawCount(1L);
+			}
+
+			if (finalBalance.compareTo(BigDecimal.ZERO) < 0) {
+				throw new InvalidTransactionException("Cannot withdraw more than current balance");
+			}
+
+			account.setBalance(finalBalance);
+			account.setLastWithdraw(today);
+			account.addStatement(new Statement(now, amount.negate(), WITHDRAW));
+			transactionListener.onTransaction(AccountType.CREDIT, WITHDRAW, amount, previousBalance.subtract(finalBalance).subtract(amount));
+
+			return account.getBalance();
+		});
+	}
 
-		final LocalDateTime now = LocalDateTime.now();
+	public BigDecimal withdrawForTransfer(final BigDecimal amount, final UUID accountId, final LocalDateTime transferTime) {
+		if (amount.compareTo(BigDecimal.ZERO) <= 0) {
+			throw new InvalidTransactionException("Cannot deposit negative value");
+		}
 
-		if (account.getLastWithdraw() != null && account.getLastWithdraw().atStartOfDay().equals(now.toLocalDate().atStartOfDay())) {
-			finalBalance = account.getBalance().subtract(amount.multiply(WITHDRAW_RULES.getOrDefault(account.getWithdrawCount(), FINAL_WITHDRAW_FEE)));
-			account.setWithdrawCount(account.getWithdrawCount() + 1);
+		final Account account = getAccount(accountId)
+				.orElseThrow(() -> new InvalidAccountException(accountId));
 
-		} else {
-			account.setWithdrawCount(1L);
-			finalBalance = account.getBalance().subtract(amount);
-		}
+		return accountStore.mutate(accountId, () -> {
+			final BigDecimal finalBalance = account.getBalance().subtract(amount);
+
+			if (finalBalance.compareTo(BigDecimal.ZERO) < 0) {
+				throw new InvalidTransactionException("Cannot withdraw more than current balance");
+			}
+
+			account.setBalance(finalBalance);
+			account.setLastTransaction(transferTime);
+			account.setLastTransfer(transferTime.toLocalDate());
+			account.setTransferCount(account.getTransferCount() == null ? 1L : account.getTransferCount() + 1);
+			account.addStatement(new Statement(transferTime, amount.negate(), Transaction.TRANSFER));
+
+			return account.getBalance();
+		});
+	}
+
+	public List<Statement> getStatement(final UUID accountId) {
+		return getStatement(accountId, 0, Integer.MAX_VALUE);
+	}
 
-		if (finalBalance.compareTo(BigDecimal.ZERO) < 0) {
-			throw new InvalidTransactionException("Cannot withdraw more than current balance");
+	public List<Statement> getStatement(final UUID accountId, final int offset, final int limit) {
+		if (offset < 0 || limit < 0) {
+			throw new IllegalArgumentException("Invalid statement range: offset=" + offset + ", limit=" + limit);
 		}
 
-		account.setBalance(finalBalance);
-		account.setLastWithdraw(now.toLocalDate());
-		account.addStatement(new Statement(now, amount.negate(), WITHDRAW));
+		final Account account = getAccount(accountId)
+				.orElseThrow(() -> new InvalidAccountException(accountId));
+
+		final List<Statement> statements = account.getSnapshot().getStatements();
+		final int from = Math.min(offset, statements.size());
+		final int to = (int) Math.min((long) from + limit, statements.size());
 
-		return account.getBalance();
+		return Collections.unmodifiableList(new ArrayList<>(statements.subList(from, to)));
 	}
 
-	public BigDecimal withdrawForTransfer(final BigDecimal amount, final UUID accountId, final LocalDateTime transferTime) {
-		if (amount.compareTo(BigDecimal.ZERO) <= 0) {
-			throw new InvalidTransactionException("Cannot deposit negative value");
+	public List<Statement> getStatement(final UUID accountId, final LocalDateTime from, final LocalDateTime to, final Set<Transaction> types) {
+		if (from != null && to != null && from.isAfter(to)) {
+			throw new IllegalArgumentException("Invalid statement range: from=" + from + ", to=" + to);
 		}
 
 		final Account account = getAccount(accountId)
 				.orElseThrow(() -> new InvalidAccountException(accountId));
 
-		final BigDecimal finalBalance = account.getBalance().subtract(amount);
+		return account.getSnapshot().getStatements().query(from, to, types);
+	}
 
-		if (finalBalance.compareTo(BigDecimal.ZERO) < 0) {
-			throw new InvalidTransactionException("Cannot withdraw more than current balance");
+	public List<StatementSummary> getStatementSummary(final UUID accountId, final Granularity granularity) {
+		if (granularity == null) {
+			throw new IllegalArgumentException("Statement summary granularity is required");
 		}
 
-		account.setBalance(finalBalance);
-		account.setLastTransaction(transferTime);
-		account.setLastTransfer(transferTime.toLocalDate());
-		account.setTransferCount(account.getTransferCount() == null ? 1L : account.getTransferCount() + 1);
-		account.addStatement(new Statement(transferTime, amount.negate(), Transaction.TRANSFER));
+		final Account account = getAccount(accountId)
+				.orElseThrow(() -> new InvalidAccountException(accountId));
 
-		return account.getBalance();
+		return account.getSnapshot().getStatements().summary(granularity);
 	}
 
-	public List<Statement> getStatement(final UUID accountId) {
-		return getAccount(accountId)
-				.orElseThrow(() -> new InvalidAccountException(accountId))
-				.getStatementList();
+	public BalancePoint getBalanceAt(final UUID accountId, final LocalDateTime at) {
+		if (at == null) {
+			throw new IllegalArgumentException("Balance history requires a point in time");
+		}
+
+		final Account account = getAccount(accountId)
+				.orElseThrow(() -> new InvalidAccountException(accountId));
+
+		return new BalancePoint(at, account.getSnapshot().getStatements().balanceAt(at).getBalance());
 	}
 
-	private static Map<Long, BigDecimal> buildWithdrawRules() {
-		Map<Long, BigDecimal> withdrawRules = new HashMap<>();
-		withdrawRules.put(0L, BigDecimal.ONE);
-		withdrawRules.put(1L, BigDecimal.ONE);
-		withdrawRules.put(2L, BigDecimal.ONE);
-		withdrawRules.put(3L, INITIAL_WITHDRAW_FEE);
+	public Iterator<BalancePoint> getBalanceHistory(final UUID accountId, final LocalDateTime from, final LocalDateTime to) {
+		if (from != null && to != null && from.isAfter(to)) {
+			throw new IllegalArgumentException("Invalid balance history range: from=" + from + ", to=" + to);
+		}
+
+		final Account account = getAccount(accountId)
+				.orElseThrow(() -> new InvalidAccountException(accountId));
 
-		return withdrawRules;
+		return account.getSnapshot().getStatements().balances(from, to);
 	}
 }
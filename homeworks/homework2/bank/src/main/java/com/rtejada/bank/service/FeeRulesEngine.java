@@ -0,0 +1,60 @@
+package com.rtejada.bank.service;
+
+import com.rtejada.bank.model.AccountType;
+import com.rtejada.bank.model.FeeSchedule;
+import com.rtejada.bank.model.FeeType;
+import com.rtejada.bank.model.Rate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public class FeeRulesEngine {
+
+	private volatile FeeSchedule schedule;
+
+	public FeeRulesEngine() {
+		this(FeeSchedule.defaults());
+	}
+
+	public FeeRulesEngine(final FeeSchedule schedule) {
+		this.schedule = schedule;
+	}
+
+	public Rate withdrawRate(final AccountType accountType, final LocalDate lastWithdraw, final Long withdrawCount, final LocalDate today) {
+		return schedule.rate(FeeType.withdraw(accountType), dailyCount(lastWithdraw, withdrawCount, today));
+	}
+
+	public Rate transferRate(final AccountType sourceType, final AccountType targetType, final LocalDate lastTransfer,
+							 final Long transferCount, final LocalDate today) {
+		return schedule.rate(FeeType.transfer(sourceType, targetType), dailyCount(lastTransfer, transferCount, today));
+	}
+
+	public BigDecimal withdrawAmount(final AccountType accountType, final LocalDate lastWithdraw, final Long withdrawCount,
+									 final LocalDate today, final BigDecimal amount) {
+		return charge(withdrawRate(accountType, lastWithdraw, withdrawCount, today), amount);
+	}
+
+	public BigDecimal transferAmount(final AccountType sourceType, final AccountType targetType, final LocalDate lastTransfer,
+									 final Long transferCount, final LocalDate today, final BigDecimal amount) {
+		return charge(transferRate(sourceType, targetType, lastTransfer, transferCount, today), amount);
+	}
+
+	public FeeSchedule getSchedule() {
+		return schedule;
+	}
+
+	public void reload(final FeeSchedule schedule) {
+		if (schedule == null) {
+			throw new IllegalArgumentException("Cannot load empty fee schedule");
+		}
+		this.schedule = schedule;
+	}
+
+	private static BigDecimal charge(final Rate rate, final BigDecimal amount) {
+		return Rate.ONE.equals(rate) ? amount : rate.apply(amount);
+	}
+
+	private static long dailyCount(final LocalDate lastOperation, final Long count, final LocalDate today) {
+		return lastOperation != null && count != null && lastOperation.equals(today) ? count : 0L;
+	}
+}
@@ -0,0 +1,87 @@
+package com.rtejada.bank.service;
+
+import com.rtejada.bank.model.FeeSchedule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+public class FeeScheduleReloader implements Closeable {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(FeeScheduleReloader.class);
+
+	private final FeeRulesEngine feeRulesEngine;
+	private final Path file;
+	private final Function<String, String> defaults;
+	private final ScheduledExecutorService executor;
+
+	private long lastModified = Long.MIN_VALUE;
+
+	public FeeScheduleReloader(final FeeRulesEngine feeRulesEngine, final Path file, final Function<String, String> defaults) {
+		this.feeRulesEngine = feeRulesEngine;
+		this.file = file;
+		this.defaults = defaults;
+		this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			final Thread thread = new Thread(runnable, "fee-schedule-reloader");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	public void start(final long intervalSeconds) {
+		executor.scheduleWithFixedDelay(this::reloadQuietly, 0, intervalSeconds, TimeUnit.SECONDS);
+	}
+
+	public synchronized boolean reload() {
+		try {
+			if (!Files.exists(file)) {
+				return false;
+			}
+
+			final long modified = Files.getLastModifiedTime(file).toMillis();
+			if (modified == lastModified) {
+				return false;
+			}
+
+			final Properties properties = new Properties();
+			try (InputStream input = Files.newInputStream(file)) {
+				properties.load(input);
+			}
+
+			feeRulesEngine.reload(FeeSchedule.from(key -> properties.getProperty(key, defaults.apply(key))));
+			lastModified = modified;
+			return true;
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	public void close() {
+		executor.shutdownNow();
+		try {
+			executor.awaitTermination(1, TimeUnit.MINUTES);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void reloadQuietly() {
+		try {
+			if (reload()) {
+				LOGGER.info("Fee schedule reloaded from {}", file);
+			}
+		} catch (RuntimeException e) {
+			LOGGER.error("Fee schedule reload from {} failed, keeping previous schedule", file, e);
+		}
+	}
+}
@@ -0,0 +1,198 @@
+package com.rtejada.bank.service;
+
+import com.rtejada.bank.exception.InvalidTransactionException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+@Service
+public class IdempotencyService {
+
+	public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+	private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+	private final ConcurrentLinkedQueue<Entry> insertionOrder = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger queued = new AtomicInteger();
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+	private final int maxEntries;
+	private final long ttlNanos;
+	private final LongSupplier clock;
+
+	@Autowired
+	public IdempotencyService(@Value("${bank.idempotency.max-entries:100000}") int maxEntries,
+							  @Value("${bank.idempotency.ttl-seconds:86400}") long ttlSeconds) {
+		this(maxEntries, TimeUnit.SECONDS.toNanos(ttlSeconds), System::nanoTime);
+	}
+
+	public IdempotencyService(int maxEntries, long ttlNanos, LongSupplier clock) {
+		if (maxEntries <= 0 || ttlNanos <= 0) {
+			throw new IllegalArgumentException("Invalid idempotency cache bounds");
+		}
+
+		this.maxEntries = maxEntries;
+		this.ttlNanos = ttlNanos;
+		this.clock = clock;
+	}
+
+	@SuppressWarnings("unchecked")
+	public <T> T execute(final String scope, final String idempotencyKey, final Object fingerprint, final Supplier<T> action) {
+		if (idempotencyKey == null) {
+			return action.get();
+		}
+
+		final String key = scope + ':' + idempotencyKey;
+
+		while (true) {
+			final long now = clock.getAsLong();
+			final Entry existing = entries.get(key);
+
+			if (existing != null && existing.isExpired(now)) {
+				if (entries.remove(key, existing)) {
+					evictions.increment();
+				}
+				continue;
+			}
+
+			if (existing != null) {
+				hits.increment();
+				return (T) existing.await(fingerprint);
+			}
+
+			final Entry entry = new Entry(key, fingerprint, now + ttlNanos);
+			if (entries.putIfAbsent(key, entry) != null) {
+				continue;
+			}
+
+			misses.increment();
+			insertionOrder.add(entry);
+			queued.incrementAndGet();
+			evict(now);
+
+			try {
+				final T result = action.get();
+				entry.result.complete(result);
+				return result;
+			} catch (RuntimeException e) {
+				entries.remove(key, entry);
+				entry.result.completeExceptionally(e);
+				throw e;
+			}
+		}
+	}
+
+	public <T> CompletableFuture<T> executeAsync(final String scope, final String idempotencyKey, final Object fingerprint,
+												  final Supplier<CompletableFuture<T>> action) {
+		if (idempotencyKey == null) {
+			return action.get();
+		}
+
+		final String key = scope + ':' + idempotencyKey;
+		final CompletableFuture<T> pending = new CompletableFuture<>();
+		final CompletableFuture<T> result = execute(scope, idempotencyKey, fingerprint, () -> {
+			action.get().whenComplete((value, error) -> {
+				if (error != null) {
+					pending.completeExceptionally(error);
+				} else {
+					pending.complete(value);
+				}
+			});
+			return pending;
+		});
+
+		if (result == pending) {
+			pending.whenComplete((value, error) -> {
+				if (error != null) {
+					final Entry entry = entries.get(key);
+					if (entry != null && entry.result.getNow(null) == pending) {
+						entries.remove(key, entry);
+					}
+				}
+			});
+		}
+
+		return result;
+	}
+
+	public long getHits() {
+		return hits.sum();
+	}
+
+	public long getMisses() {
+		return misses.sum();
+	}
+
+	public long getEvictions() {
+		return evictions.sum();
+	}
+
+	public double getHitRate() {
+		final long hitCount = hits.sum();
+		final long total = hitCount + misses.sum();
+		return total == 0 ? 0.0 : (double) hitCount / total;
+	}
+
+	public int size() {
+		return entries.size();
+	}
+
+	int getQueueSize() {
+		return queued.get();
+	}
+
+	private void evict(final long now) {
+		Entry head;
+		while ((queued.get() > maxEntries || ((head = insertionOrder.peek()) != null && head.isExpired(now)))
+				&& (head = insertionOrder.poll()) != null) {
+			queued.decrementAndGet();
+			if (entries.remove(head.key, head)) {
+				evictions.increment();
+			}
+		}
+	}
+
+	private static final class Entry {
+
+		private final String key;
+		private final Object fingerprint;
+		private final long expiresAt;
+		private final CompletableFuture<Object> result = new CompletableFuture<>();
+
+		private Entry(String key, Object fingerprint, long expiresAt) {
+			this.key = key;
+			this.fingerprint = fingerprint;
+			this.expiresAt = expiresAt;
+		}
+
+		private boolean isExpired(final long now) {
+			return now - expiresAt >= 0;
+		}
+
+		private Object await(final Object requestFingerprint) {
+			if (fingerprint == null ? requestFingerprint != null : !fingerprint.equals(requestFingerprint)) {
+				throw new InvalidTransactionException("Idempotency key already used for a different request");
+			}
+
+			try {
+				return result.join();
+			} catch (CompletionException e) {
+				if (e.getCause() instanceof RuntimeException) {
+					throw (RuntimeException) e.getCause();
+				}
+				throw e;
+			}
+		}
+	}
+}
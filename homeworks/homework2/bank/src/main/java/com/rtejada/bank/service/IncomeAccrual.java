@@ -0,0 +1,68 @@
+package com.rtejada.bank.service;
+
+import com.rtejada.bank.model.Saving;
+import com.rtejada.bank.model.Statement;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static com.rtejada.bank.model.Transaction.INCOME;
+
+public class IncomeAccrual {
+
+	public static final MathContext MATH_CONTEXT = new MathContext(34, RoundingMode.HALF_EVEN);
+	private static final int MAX_EXPONENT = 999_999_999;
+
+	private final BigDecimal growthFactor;
+
+	public IncomeAccrual(final BigDecimal ratePerMinute) {
+		if (ratePerMinute == null || ratePerMinute.compareTo(BigDecimal.ZERO) < 0) {
+			throw new IllegalArgumentException("Invalid income rate: " + ratePerMinute);
+		}
+
+		this.growthFactor = BigDecimal.ONE.add(ratePerMinute);
+	}
+
+	public BigDecimal growthFactor(final long minutes) {
+		if (minutes < 0) {
+			throw new IllegalArgumentException("Cannot accrue negative minutes: " + minutes);
+		}
+
+		BigDecimal factor = BigDecimal.ONE;
+		long remaining = minutes;
+
+		while (remaining > 0) {
+			final int exponent = (int) Math.min(remaining, MAX_EXPONENT);
+			factor = factor.multiply(growthFactor.pow(exponent, MATH_CONTEXT), MATH_CONTEXT);
+			remaining -= exponent;
+		}
+
+		return factor;
+	}
+
+	public Saving accrue(final BigDecimal principal, final LocalDateTime from, final LocalDateTime until) {
+		final long minutes = Math.max(0, Duration.between(from, until).toMinutes());
+
+		if (minutes == 0) {
+			return new Saving(principal, from, Collections.emptyList());
+		}
+
+		final LocalDateTime accruedUntil = from.plusMinutes(minutes);
+
+		if (principal.signum() == 0) {
+			return new Saving(principal, accruedUntil, Collections.emptyList());
+		}
+
+		final BigDecimal total = principal.multiply(growthFactor(minutes), MATH_CONTEXT);
+		final List<Statement> statements = new ArrayList<>(1);
+		statements.add(new Statement(accruedUntil, total.subtract(principal), INCOME));
+
+		return new Saving(total, accruedUntil, statements);
+	}
+}
@@ -0,0 +1,38 @@
+package com.rtejada.bank.service;
+
+import com.rtejada.bank.model.Account;
+import com.rtejada.bank.repository.AccountStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+@Service
+public class OwnerService {
+
+	private final AccountStore accountStore;
+
+	public OwnerService() {
+		this(new AccountStore());
+	}
+
+	@Autowired
+	public OwnerService(AccountStore accountStore) {
+		this.accountStore = accountStore;
+	}
+
+	public List<Account> getAccounts(final String cpf) {
+		if (cpf == null || cpf.trim().isEmpty()) {
+			throw new IllegalArgumentException("Cannot search accounts without owner cpf");
+		}
+
+		return accountStore.findByOwner(cpf)
+				.stream()
+				.map(accountStore::find)
+				.filter(Optional::isPresent)
+				.map(Optional::get)
+				.collect(Collectors.toList());
+	}
+}
@@ -3,25 +3,42 @@ package com.rtejada.bank.service;
 import com.rtejada.bank.exception.InvalidAccountException;
 import com.rtejada.bank.exception.InvalidTransactionException;
 import com.rtejada.bank.model.*;
+import com.rtejada.bank.repository.AccountStore;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
-import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
 
-import static com.rtejada.bank.model.Transaction.INCOME;
-
 @Service
 public class SaveAccountService implements AccountService {
 
-	private final Map<UUID, Account> accounts;
-	private static final BigDecimal WITHDRAW_FEE = BigDecimal.valueOf(1.02);
+	private final AccountStore accountStore;
 	private static final BigDecimal INCOME_FEE = BigDecimal.valueOf(0.22);
+	private final IncomeAccrual incomeAccrual;
+	private final TransactionListener transactionListener;
+	private final FeeRulesEngine feeRulesEngine;
 
 	public SaveAccountService() {
-		this.accounts = new HashMap<>();
+		this(new AccountStore());
+	}
+
+	public SaveAccountService(AccountStore accountStore) {
+		this(accountStore, TransactionListener.NONE);
+	}
+
+	public SaveAccountService(AccountStore accountStore, TransactionListener transactionListener) {
+		this(accountStore, transactionListener, new FeeRulesEngine());
+	}
+
+	@Autowired
+	public SaveAccountService(AccountStore accountStore, TransactionListener transactionListener, FeeRulesEngine feeRulesEngine) {
+		this.accountStore = accountStore;
+		this.incomeAccrual = new IncomeAccrual(INCOME_FEE);
+		this.transactionListener = transactionListener;
+		this.feeRulesEngine = feeRulesEngine;
 	}
 
 	public Account createAccount(final Account account) {
@@ -44,25 +61,32 @@ public class SaveAccountService implements AccountService {
 		account.setBalance(BigDecimal.ZERO);
 		account.setId(UUID.randomUUID());
 		account.setLastTransaction(LocalDateTime.now());
-		accounts.put(account.getId(), account);
 
-		return account;
+		return accountStore.save(account);
 	}
 
 	public Optional<Account> getAccount(final UUID accountId) {
-		return Optional.ofNullable(accounts.get(accountId));
+		return accountStore.find(accountId)
+				.filter(account -> AccountType.SAVING.equals(account.getAccountType()));
 	}
 
 	public Optional<BigDecimal> getBalance(final UUID accountId) {
 		final Account account = getAccount(accountId)
 				.orElseThrow(() -> new InvalidAccountException(accountId));
 
-		final Saving savingResult = calculateIncome(account);
-		account.setBalance(savingResult.getTotal());
-		account.addStatements(savingResult.getSavingsStatements());
-		account.setLastTransaction(savingResult.getLastTransaction());
+		return Optional.ofNullable(calculateIncome(account.getSnapshot(), LocalDateTime.now()).getTotal());
+	}
+
+	public Optional<BigDecimal> getBalance(final UUID accountId, final LocalDateTime at) {
+		final Account account = getAccount(accountId)
+				.orElseThrow(() -> new InvalidAccountException(accountId));
+		final AccountSnapshot snapshot = account.getSnapshot();
+
+		if (at == null || at.isBefore(snapshot.getLastTransaction())) {
+			throw new IllegalArgumentException("Cannot project balance before last transaction " + snapshot.getLastTransaction() + ": " + at);
+		}
 
-		return Optional.ofNullable(account.getBalance());
+		return Optional.ofNullable(calculateIncome(snapshot, at).getTotal());
 	}
 
 	public BigDecimal deposit(final BigDecimal amount, final UUID accountId) {
@@ -73,13 +97,17 @@ public class SaveAccountService implements AccountService {
 		final Account account = getAccount(accountId)
 				.orElseThrow(() -> new InvalidAccountException(accountId));
 
-		final LocalDateTime now = LocalDateTime.now();
+		return accountStore.mutate(accountId, () -> {
+			final LocalDateTime now = LocalDateTime.now();
+			final Saving saving = calculateIncome(account.getSnapshot(), now);
 
-		account.setBalance(getBalance(accountId).orElseThrow(() -> new InvalidAccountException(accountId)).add(amount));
-		account.setLastTransaction(now);
-		account.addStatement(new Statement(now, amount, Transaction.DEPOSIT));
+			materialize(account, saving);
+			account.setBalance(saving.getTotal().add(amount), now);
+			account.addStatement(new Statement(now, amount, Transaction.DEPOSIT));
+			transactionListener.onTransaction(AccountType.SAVING, Transaction.DEPOSIT, amount, BigDecimal.ZERO);
 
-		return account.getBalance();
+			return account.getBalance();
+		});
 	}
 
 	public BigDecimal depositForTransfer(final BigDecimal amount, final UUID accountId, final LocalDateTime transferTime) {
@@ -90,10 +118,15 @@ public class SaveAccountService implements AccountService {
 		final Account account = getAccount(accountId)
 				.orElseThrow(() -> new InvalidAccountException(accountId));
 
-		account.setBalance(account.getBalance().add(amount));
-		account.addStatement(new Statement(transferTime, amount, Transaction.TRANSFER));
+		return accountStore.mutate(accountId, () -> {
+			final Saving saving = calculateIncome(account.getSnapshot(), transferTime);
 
-		return account.getBalance();
+			materialize(account, saving);
+			account.setBalance(saving.getTotal().add(amount), transferTime);
+			account.addStatement(new Statement(transferTime, amount, Transaction.TRANSFER));
+
+			return account.getBalance();
+		});
 	}
 
 
@@ -105,70 +138,134 @@ public class SaveAccountService implements AccountService {
 		final Account account = getAccount(accountId)
 				.orElseThrow(() -> new InvalidAccountException(accountId));
 
-		final BigDecimal finalBalance =
-				getBalance(accountId)
-						.orElseThrow(() -> new InvalidAccountException(accountId))
-						.subtract(amount.multiply(WITHDRAW_FEE));
+		return accountStore.mutate(accountId, () -> {
+			final LocalDateTime now = LocalDateTime.now();
+			final LocalDate today = now.toLocalDate();
+			final BigDecimal amountWithFee = feeRulesEngine.withdrawAmount(AccountType.SAVING,
+					account.getLastWithdraw(), account.getWithdrawCount(), today, amount);
+			final Saving saving = calculateIncome(account.getSnapshot(), now);
+			final BigDecimal finalBalance = saving.getTotal().subtract(amountWithFee);
+
+			if (finalBalance.compareTo(BigDecimal.ZERO) < 0) {
+				throw new InvalidTransactionException("Cannot withdraw more than current balance");
+			}
+
+			materialize(account, saving);
+			account.setWithdrawCount(today.equals(account.getLastWithdraw()) && account.getWithdrawCount() != null
+					? account.getWithdrawCount() + 1 : 1L);
+			account.setLastWithdraw(today);
+			account.setBalance(finalBalance, now);
+			account.addStatement(new Statement(now, amount.negate(), Transaction.WITHDRAW));
+			transactionListener.onTransaction(AccountType.SAVING, Transaction.WITHDRAW, amount, amountWithFee.subtract(amount));
+
+			return account.getBalance();
+		});
+	}
 
-		if (finalBalance.compareTo(BigDecimal.ZERO) < 0) {
-			throw new InvalidTransactionException("Cannot withdraw more than current balance");
+	public BigDecimal withdrawForTransfer(final BigDecimal amount, final UUID accountId, final LocalDateTime transferTime) {
+		if (amount.compareTo(BigDecimal.ZERO) <= 0) {
+			throw new InvalidTransactionException("Cannot deposit negative value");
 		}
 
-		final LocalDateTime now = LocalDateTime.now();
+		final Account account = getAccount(accountId)
+				.orElseThrow(() -> new InvalidAccountException(accountId));
 
-		account.setBalance(finalBalance);
-		account.setLastTransaction(now);
-		account.addStatement(new Statement(now, amount.negate(), Transaction.WITHDRAW));
+		return accountStore.mutate(accountId, () -> {
+			final Saving saving = calculateIncome(account.getSnapshot(), transferTime);
+			final BigDecimal finalBalance = saving.getTotal().subtract(amount);
 
-		return account.getBalance();
+			if (finalBalance.compareTo(BigDecimal.ZERO) < 0) {
+				throw new InvalidTransactionException("Cannot withdraw more than current balance");
+			}
+
+			materialize(account, saving);
+			account.setBalance(finalBalance, transferTime);
+			account.setLastTransfer(transferTime.toLocalDate());
+			account.setTransferCount(account.getTransferCount() == null ? 1L : account.getTransferCount() + 1);
+			account.addStatement(new Statement(transferTime, amount.negate(), Transaction.TRANSFER));
+
+			return account.getBalance();
+		});
 	}
 
-	public BigDecimal withdrawForTransfer(final BigDecimal amount, final UUID accountId, final LocalDateTime transferTime) {
-		if (amount.compareTo(BigDecimal.ZERO) <= 0) {
-			throw new InvalidTransactionException("Cannot deposit negative value");
+	public List<Statement> getStatement(final UUID accountId) {
+		return getStatement(accountId, 0, Integer.MAX_VALUE);
+	}
+
+	public List<Statement> getStatement(final UUID accountId, final int offset, final int limit) {
+		if (offset < 0 || limit < 0) {
+			throw new IllegalArgumentException("Invalid statement range: offset=" + offset + ", limit=" + limit);
 		}
 
 		final Account account = getAccount(accountId)
 				.orElseThrow(() -> new InvalidAccountException(accountId));
 
-		final BigDecimal finalBalance = getBalance(accountId)
-				.orElseThrow(() -> new InvalidAccountException(accountId))
-				.subtract(amount);
+		final List<Statement> statements = account.getSnapshot().getStatements();
+		final int from = Math.min(offset, statements.size());
+		final int to = (int) Math.min((long) from + limit, statements.size());
+
+		return Collections.unmodifiableList(new ArrayList<>(statements.subList(from, to)));
+	}
 
-		if (finalBalance.compareTo(BigDecimal.ZERO) < 0) {
-			throw new InvalidTransactionException("Cannot withdraw more than current balance");
+	public List<Statement> getStatement(final UUID accountId, final LocalDateTime from, final LocalDateTime to, final Set<Transaction> types) {
+		if (from != null && to != null && from.isAfter(to)) {
+			throw new IllegalArgumentException("Invalid statement range: from=" + from + ", to=" + to);
 		}
 
-		account.setBalance(finalBalance);
-		account.setLastTransaction(transferTime);
-		account.setLastTransfer(transferTime.toLocalDate());
-		account.setTransferCount(account.getTransferCount() == null ? 1L : account.getTransferCount() + 1);
-		account.addStatement(new Statement(transferTime, amount.negate(), Transaction.TRANSFER));
+		final Account account = getAccount(accountId)
+				.orElseThrow(() -> new InvalidAccountException(accountId));
 
-		return account.getBalance();
+		return account.getSnapshot().getStatements().query(from, to, types);
 	}
 
-	public List<Statement> getStatement(final UUID accountId) {
-		return getAccount(accountId)
-				.orElseThrow(() -> new InvalidAccountException(accountId))
-				.getStatementList();
+	public List<StatementSummary> getStatementSummary(final UUID accountId, final Granularity granularity) {
+		if (granularity == null) {
+			throw new IllegalArgumentException("Statement summary granularity is required");
+		}
+
+		final Account account = getAccount(accountId)
+				.orElseThrow(() -> new InvalidAccountException(accountId));
+
+		return account.getSnapshot().getStatements().summary(granularity);
 	}
 
-	private Saving calculateIncome(final Account account) {
-		LocalDateTime lastTransaction = account.getLastTransaction();
-		final long minutes = Duration.between(lastTransaction, LocalDateTime.now()).toMinutes();
+	public BalancePoint getBalanceAt(final UUID accountId, final LocalDateTime at) {
+		if (at == null) {
+			throw new IllegalArgumentException("Balance history requires a point in time");
+		}
+
+		final Account account = getAccount(accountId)
+				.orElseThrow(() -> new InvalidAccountException(accountId));
+		final AccountSnapshot snapshot = account.getSnapshot();
 
-		final List<Statement> statement = new ArrayList<>();
-		BigDecimal currentAmount = account.getBalance();
+		if (!at.isBefore(snapshot.getLastTransaction())) {
+			return new BalancePoint(at, calculateIncome(snapshot, at).getTotal());
+		}
 
-		for (int i = 0; i < minutes; i++) {
-			BigDecimal incomeAmount = currentAmount.multiply(INCOME_FEE);
-			currentAmount = currentAmount.add(incomeAmount);
-			lastTransaction = lastTransaction.plusMinutes(1);
-			Statement income = new Statement(lastTransaction, incomeAmount, INCOME);
-			statement.add(income);
+		final BalancePoint settled = snapshot.getStatements().balanceAt(at);
+		return new BalancePoint(at, settled.getDate() == null
+				? settled.getBalance()
+				: incomeAccrual.accrue(settled.getBalance(), settled.getDate(), at).getTotal());
+	}
+
+	public Iterator<BalancePoint> getBalanceHistory(final UUID accountId, final LocalDateTime from, final LocalDateTime to) {
+		if (from != null && to != null && from.isAfter(to)) {
+			throw new IllegalArgumentException("Invalid balance history range: from=" + from + ", to=" + to);
 		}
 
-		return new Saving(currentAmount, lastTransaction, statement);
+		final Account account = getAccount(accountId)
+				.orElseThrow(() -> new InvalidAccountException(accountId));
+
+		return account.getSnapshot().getStatements().balances(from, to);
+	}
+
+	private Saving calculateIncome(final AccountSnapshot snapshot, final LocalDateTime until) {
+		return incomeAccrual.accrue(snapshot.getBalance(), snapshot.getLastTransaction(), until);
+	}
+
+	private void materialize(final Account account, final Saving saving) {
+		account.addStatements(saving.getSavingsStatements());
+		saving.getSavingsStatements().forEach(statement ->
+				transactionListener.onTransaction(AccountType.SAVING, Transaction.INCOME, statement.getValue(), BigDecimal.ZERO));
 	}
 }
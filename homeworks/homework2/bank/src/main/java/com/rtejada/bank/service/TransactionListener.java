@@ -0,0 +1,14 @@
+package com.rtejada.bank.service;
+
+import com.rtejada.bank.model.AccountType;
+import com.rtejada.bank.model.Transaction;
+
+import java.math.BigDecimal;
+
+public interface TransactionListener {
+
+	TransactionListener NONE = (accountType, transaction, amount, fee) -> {
+	};
+
+	void onTransaction(final AccountType accountType, final Transaction transaction, final BigDecimal amount, final BigDecimal fee);
+}
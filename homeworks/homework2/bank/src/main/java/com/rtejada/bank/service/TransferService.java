@@ -4,7 +4,10 @@ import com.rtejada.bank.exception.InvalidAccountException;
 import com.rtejada.bank.exception.InvalidTransactionException;
 import com.rtejada.bank.model.Account;
 import com.rtejada.bank.model.AccountType;
+import com.rtejada.bank.model.Transaction;
 import com.rtejada.bank.model.Transfer;
+import com.rtejada.bank.repository.AccountStore;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
@@ -12,6 +15,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
 import static com.rtejada.bank.model.AccountType.CREDIT;
 import static com.rtejada.bank.model.AccountType.SAVING;
@@ -20,70 +24,91 @@ import static com.rtejada.bank.model.AccountType.SAVING;
 public class TransferService {
 
 	private final Map<AccountType, AccountService> accountServiceMap;
-	private static final BigDecimal INITIAL_TRANSFER_FEE = BigDecimal.valueOf(1.02);
-	private static final BigDecimal TRANSFER_FEE = BigDecimal.valueOf(1.05);
-	private static final Map<Long, BigDecimal> TRANSFER_RULES = buildTransferRules();
+	private final AccountStore accountStore;
+	private final TransactionListener transactionListener;
+	private final FeeRulesEngine feeRulesEngine;
 
 	public TransferService(CreditAccountService creditAccountService, SaveAccountService saveAccountService) {
+		this(creditAccountService, saveAccountService, new AccountStore());
+	}
+
+	public TransferService(CreditAccountService creditAccountService, SaveAccountService saveAccountService, AccountStore accountStore) {
+		this(creditAccountService, saveAccountService, accountStore, TransactionListener.NONE);
+	}
+
+	public TransferService(CreditAccountService creditAccountService, SaveAccountService saveAccountService, AccountStore accountStore,
+						   TransactionListener transactionListener) {
+		this(creditAccountService, saveAccountService, accountStore, transactionListener, new FeeRulesEngine());
+	}
+
+	@Autowired
+	public TransferService(CreditAccountService creditAccountService, SaveAccountService saveAccountService, AccountStore accountStore,
+						   TransactionListener transactionListener, FeeRulesEngine feeRulesEngine) {
 		this.accountServiceMap = new HashMap<>();
+		this.accountStore = accountStore;
+		this.transactionListener = transactionListener;
+		this.feeRulesEngine = feeRulesEngine;
 		accountServiceMap.put(CREDIT, creditAccountService);
 		accountServiceMap.put(SAVING, saveAccountService);
 	}
 
 	public BigDecimal transfer(Transfer transfer) {
-		BigDecimal amountWithFee;
+		if (transfer.getSourceId() == null) {
+			throw new InvalidAccountException(transfer.getSourceId());
+		}
 
-		if (SAVING.equals(transfer.getSourceType()) || SAVING.equals(transfer.getTargetType())) {
+		if (transfer.getTargetId() == null) {
+			throw new InvalidAccountException(transfer.getTargetId());
+		}
 
-			final Account sourceAccount = accountServiceMap.get(transfer.getSourceType())
-					.getAccount(transfer.getSourceId())
-					.orElseThrow(() -> new InvalidAccountException(transfer.getSourceId()));
+		return accountStore.mutateBoth(transfer.getSourceId(), transfer.getTargetId(), () -> executeTransfer(transfer));
+	}
+
+	private BigDecimal executeTransfer(Transfer transfer) {
+		final Optional<Account> sourceAccount = accountServiceMap.get(transfer.getSourceType())
+				.getAccount(transfer.getSourceId());
 
-			String sourceCpf = sourceAccount.getOwner().getCpf();
+		if (SAVING.equals(transfer.getSourceType()) || SAVING.equals(transfer.getTargetType())) {
+			String sourceCpf = sourceAccount
+					.orElseThrow(() -> new InvalidAccountException(transfer.getSourceId()))
+					.getOwner()
+					.getCpf();
 			String targetCpf = accountServiceMap.get(transfer.getTargetType())
 					.getAccount(transfer.getTargetId())
 					.orElseThrow(() -> new InvalidAccountException(transfer.getTargetId()))
 					.getOwner()
 					.getCpf();
 
-			if (!sourceCpf.equals(targetCpf)) {
+			if (!AccountStore.sameOwner(sourceCpf, targetCpf)) {
 				throw new InvalidTransactionException("Cannot do transfer from/to saving account for different owners");
 			}
+		}
 
-			if (sourceAccount.getLastTransfer() != null
-					&& sourceAccount.getLastTransfer().atStartOfDay().equals(LocalDate.now().atStartOfDay())
-					&& (SAVING.equals(transfer.getSourceType()) && CREDIT.equals(transfer.getTargetType()))) {
-				amountWithFee = transfer.getAmount().multiply(TRANSFER_RULES.getOrDefault(sourceAccount.getTransferCount(), TRANSFER_FEE));
+		final BigDecimal amountWithFee = feeRulesEngine.transferAmount(transfer.getSourceType(), transfer.getTargetType(),
+				sourceAccount.map(Account::getLastTransfer).orElse(null), sourceAccount.map(Account::getTransferCount).orElse(null),
+				LocalDate.now(), transfer.getAmount());
 
-			} else {
-				amountWithFee = transfer.getAmount();
+		final LocalDateTime now = LocalDateTime.now();
+		final AccountService sourceService = accountServiceMap.get(transfer.getSourceType());
+		final AccountCheckpoint sourceCheckpoint = sourceService.getAccount(transfer.getSourceId())
+				.map(AccountCheckpoint::of)
+				.orElse(null);
+
+		final BigDecimal finalSourceBalance = sourceService.withdrawForTransfer(amountWithFee, transfer.getSourceId(), now);
+
+		try {
+			accountServiceMap
+					.get(transfer.getTargetType())
+					.depositForTransfer(transfer.getAmount(), transfer.getTargetId(), now);
+		} catch (RuntimeException e) {
+			if (sourceCheckpoint != null) {
+				sourceCheckpoint.restore();
 			}
-
-		} else {
-			amountWithFee = transfer.getAmount().multiply(TRANSFER_FEE);
+			throw e;
 		}
 
-		final LocalDateTime now = LocalDateTime.now();
-
-		final BigDecimal finalSourceBalance = accountServiceMap
-				.get(transfer.getSourceType())
-				.withdrawForTransfer(amountWithFee, transfer.getSourceId(), now);
-
-		accountServiceMap
-				.get(transfer.getTargetType())
-				.depositForTransfer(transfer.getAmount(), transfer.getTargetId(), now);
+		transactionListener.onTransaction(transfer.getSourceType(), Transaction.TRANSFER, transfer.getAmount(), amountWithFee.subtract(transfer.getAmount()));
 
 		return finalSourceBalance;
 	}
-
-
-	private static Map<Long, BigDecimal> buildTransferRules() {
-		Map<Long, BigDecimal> transferRules = new HashMap<>();
-		transferRules.put(0L, BigDecimal.ONE);
-		transferRules.put(1L, BigDecimal.ONE);
-		transferRules.put(2L, BigDecimal.ONE);
-		transferRules.put(3L, INITIAL_TRANSFER_FEE);
-
-		return transferRules;
-	}
 }
@@ -1,20 +1,36 @@
 package com.rtejada.bank.v1.controller;
 
+import com.rtejada.bank.engine.TransactionGateway;
 import com.rtejada.bank.exception.InvalidAccountException;
 import com.rtejada.bank.model.AccountType;
+import com.rtejada.bank.model.Granularity;
+import com.rtejada.bank.model.Statement;
+import com.rtejada.bank.model.Transaction;
 import com.rtejada.bank.service.CreditAccountService;
+import com.rtejada.bank.service.IdempotencyService;
 import com.rtejada.bank.v1.dto.AccountRequest;
 import com.rtejada.bank.v1.dto.AccountResponse;
+import com.rtejada.bank.v1.dto.BalancePointResponse;
+import com.rtejada.bank.v1.dto.StatementPageResponse;
 import com.rtejada.bank.v1.dto.StatementResponse;
+import com.rtejada.bank.v1.dto.StatementSummaryResponse;
 import com.rtejada.bank.v1.dto.TransactionRequest;
 import com.rtejada.bank.v1.mapper.AccountFactory;
 import com.rtejada.bank.v1.mapper.AccountMapper;
+import com.rtejada.bank.v1.mapper.StatementPageMapper;
+import com.rtejada.bank.v1.mapper.StatementStreamWriter;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @RestController
@@ -24,11 +40,21 @@ public class CreditAccountController {
 	private final CreditAccountService creditAccountService;
 	private final AccountMapper accountMapper;
 	private final AccountFactory accountFactory;
+	private final StatementPageMapper statementPageMapper;
+	private final StatementStreamWriter statementStreamWriter;
+	private final IdempotencyService idempotencyService;
+	private final TransactionGateway transactionGateway;
 
-	public CreditAccountController(CreditAccountService creditAccountService, AccountMapper accountMapper, AccountFactory accountFactory) {
+	public CreditAccountController(CreditAccountService creditAccountService, AccountMapper accountMapper, AccountFactory accountFactory,
+			StatementPageMapper statementPageMapper, StatementStreamWriter statementStreamWriter, IdempotencyService idempotencyService,
+			TransactionGateway transactionGateway) {
 		this.creditAccountService = creditAccountService;
 		this.accountMapper = accountMapper;
 		this.accountFactory = accountFactory;
+		this.statementPageMapper = statementPageMapper;
+		this.statementStreamWriter = statementStreamWriter;
+		this.idempotencyService = idempotencyService;
+		this.transactionGateway = transactionGateway;
 	}
 
 	@PostMapping
@@ -43,21 +69,68 @@ public class CreditAccountController {
 				.orElseThrow(() -> new InvalidAccountException(accountId));
 	}
 
+	@GetMapping(value = "/{accountId}/balance/history", params = "at")
+	public BalancePointResponse getBalanceHistoryAt(@PathVariable UUID accountId,
+			@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+		return accountMapper.toResponse(creditAccountService.getBalanceAt(accountId, at));
+	}
+
+	@GetMapping(value = "/{accountId}/balance/history", produces = StatementStreamWriter.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> getBalanceHistory(@PathVariable UUID accountId,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+		return statementStreamWriter.streamBalances(creditAccountService.getBalanceHistory(accountId, from, to));
+	}
+
 	@PostMapping("/{accountId}/deposit")
-	public BigDecimal deposit(@PathVariable UUID accountId, @Valid @RequestBody TransactionRequest transactionRequest) {
-		return creditAccountService.deposit(transactionRequest.getValue(), accountId);
+	public CompletableFuture<BigDecimal> deposit(@PathVariable UUID accountId, @Valid @RequestBody TransactionRequest transactionRequest,
+			@RequestHeader(value = IdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+		return idempotencyService.executeAsync("credit-deposit:" + accountId, idempotencyKey, transactionRequest.getValue().stripTrailingZeros(),
+				() -> transactionGateway.deposit(AccountType.CREDIT, accountId, transactionRequest.getValue()));
 	}
 
 	@PostMapping("/{accountId}/withdraw")
-	public BigDecimal withdraw(@PathVariable UUID accountId, @Valid @RequestBody TransactionRequest transactionRequest) {
-		return creditAccountService.withdraw(transactionRequest.getValue(), accountId);
+	public CompletableFuture<BigDecimal> withdraw(@PathVariable UUID accountId, @Valid @RequestBody TransactionRequest transactionRequest,
+			@RequestHeader(value = IdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+		return idempotencyService.executeAsync("credit-withdraw:" + accountId, idempotencyKey, transactionRequest.getValue().stripTrailingZeros(),
+				() -> transactionGateway.withdraw(AccountType.CREDIT, accountId, transactionRequest.getValue()));
 	}
 
 	@GetMapping("/{accountId}/statement")
-	public List<StatementResponse> getStatement(@PathVariable UUID accountId) {
-		return creditAccountService.getStatement(accountId)
+	public List<StatementResponse> getStatement(@PathVariable UUID accountId,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+			@RequestParam(required = false) Set<Transaction> type) {
+		final List<Statement> statements = from == null && to == null && type == null
+				? creditAccountService.getStatement(accountId)
+				: creditAccountService.getStatement(accountId, from, to, type);
+
+		return statements
+				.stream()
+				.map(accountMapper::toResponse)
+				.collect(Collectors.toList());
+	}
+
+	@GetMapping(value = "/{accountId}/statement", params = "limit")
+	public StatementPageResponse getStatementPage(@PathVariable UUID accountId, @RequestParam int limit, @RequestParam(required = false) String cursor) {
+		final int offset = statementPageMapper.toOffset(cursor);
+		final int pageLimit = statementPageMapper.toLimit(limit);
+
+		return statementPageMapper.toResponse(creditAccountService.getStatement(accountId, offset, pageLimit + 1), offset, pageLimit);
+	}
+
+	@GetMapping("/{accountId}/statement/summary")
+	public List<StatementSummaryResponse> getStatementSummary(@PathVariable UUID accountId,
+			@RequestParam(defaultValue = "day") Granularity granularity) {
+		return creditAccountService
+				.getStatementSummary(accountId, granularity)
 				.stream()
 				.map(accountMapper::toResponse)
 				.collect(Collectors.toList());
 	}
+
+	@GetMapping(value = "/{accountId}/statement/stream", produces = StatementStreamWriter.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> streamStatement(@PathVariable UUID accountId) {
+		return statementStreamWriter.stream(creditAccountService, accountId);
+	}
 }
@@ -0,0 +1,30 @@
+package com.rtejada.bank.v1.controller;
+
+import com.rtejada.bank.service.OwnerService;
+import com.rtejada.bank.v1.dto.AccountResponse;
+import com.rtejada.bank.v1.mapper.AccountMapper;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping("/v1/owners")
+public class OwnerController {
+
+	private final OwnerService ownerService;
+	private final AccountMapper accountMapper;
+
+	public OwnerController(OwnerService ownerService, AccountMapper accountMapper) {
+		this.ownerService = ownerService;
+		this.accountMapper = accountMapper;
+	}
+
+	@GetMapping("/{cpf}/accounts")
+	public List<AccountResponse> getAccounts(@PathVariable String cpf) {
+		return ownerService.getAccounts(cpf)
+				.stream()
+				.map(accountMapper::toResponse)
+				.collect(Collectors.toList());
+	}
+}
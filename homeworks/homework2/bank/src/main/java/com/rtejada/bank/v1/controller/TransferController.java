@@ -1,27 +1,58 @@
 package com.rtejada.bank.v1.controller;
 
-import com.rtejada.bank.service.TransferService;
+import com.rtejada.bank.engine.TransactionGateway;
+import com.rtejada.bank.model.Transfer;
+import com.rtejada.bank.service.BatchTransferService;
+import com.rtejada.bank.service.IdempotencyService;
 import com.rtejada.bank.v1.dto.TransferRequest;
+import com.rtejada.bank.v1.dto.TransferResultResponse;
+import com.rtejada.bank.v1.mapper.StatementStreamWriter;
+import com.rtejada.bank.v1.mapper.TransferBatchMapper;
 import com.rtejada.bank.v1.mapper.TransferMapper;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/v1/transfers")
 public class TransferController {
 
-	private final TransferService transferService;
+	private final BatchTransferService batchTransferService;
 	private final TransferMapper mapper;
+	private final TransferBatchMapper batchMapper;
+	private final IdempotencyService idempotencyService;
+	private final TransactionGateway transactionGateway;
 
-	public TransferController(TransferService transferService, TransferMapper mapper) {
-		this.transferService = transferService;
+	public TransferController(BatchTransferService batchTransferService, TransferMapper mapper,
+			TransferBatchMapper batchMapper, IdempotencyService idempotencyService, TransactionGateway transactionGateway) {
+		this.batchTransferService = batchTransferService;
 		this.mapper = mapper;
+		this.batchMapper = batchMapper;
+		this.idempotencyService = idempotencyService;
+		this.transactionGateway = transactionGateway;
 	}
 
 	@PostMapping()
-	public BigDecimal transfer(@Valid @RequestBody TransferRequest transferRequest) {
-		return transferService.transfer(mapper.toEntity(transferRequest));
+	public CompletableFuture<BigDecimal> transfer(@Valid @RequestBody TransferRequest transferRequest,
+			@RequestHeader(value = IdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+		final Transfer transfer = mapper.toEntity(transferRequest);
+		return idempotencyService.executeAsync("transfer", idempotencyKey, mapper.toFingerprint(transfer),
+				() -> transactionGateway.transfer(transfer));
+	}
+
+	@PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+	public List<TransferResultResponse> transferBatch(@RequestBody List<TransferRequest> transferRequests) {
+		return batchMapper.execute(batchTransferService, transferRequests);
+	}
+
+	@PostMapping(value = "/batch", consumes = StatementStreamWriter.APPLICATION_NDJSON_VALUE)
+	public List<TransferResultResponse> transferBatchStream(HttpServletRequest request) throws IOException {
+		return batchMapper.execute(batchTransferService, batchMapper.readNdjson(request.getInputStream()));
 	}
 }
@@ -0,0 +1,26 @@
+package com.rtejada.bank.v1.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public class BalancePointResponse {
+
+	private LocalDateTime date;
+	private BigDecimal balance;
+
+	public LocalDateTime getDate() {
+		return date;
+	}
+
+	public void setDate(LocalDateTime date) {
+		this.date = date;
+	}
+
+	public BigDecimal getBalance() {
+		return balance;
+	}
+
+	public void setBalance(BigDecimal balance) {
+		this.balance = balance;
+	}
+}
@@ -0,0 +1,25 @@
+package com.rtejada.bank.v1.dto;
+
+import java.util.List;
+
+public class StatementPageResponse {
+
+	private List<StatementResponse> statements;
+	private String nextCursor;
+
+	public List<StatementResponse> getStatements() {
+		return statements;
+	}
+
+	public void setStatements(List<StatementResponse> statements) {
+		this.statements = statements;
+	}
+
+	public String getNextCursor() {
+		return nextCursor;
+	}
+
+	public void setNextCursor(String nextCursor) {
+		this.nextCursor = nextCursor;
+	}
+}
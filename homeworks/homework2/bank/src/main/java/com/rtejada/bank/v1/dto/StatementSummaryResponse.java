@@ -0,0 +1,46 @@
+package com.rtejada.bank.v1.dto;
+
+import com.rtejada.bank.model.Transaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public class StatementSummaryResponse {
+
+	private LocalDate period;
+	private Transaction transaction;
+	private long count;
+	private BigDecimal total;
+
+	public LocalDate getPeriod() {
+		return period;
+	}
+
+	public void setPeriod(LocalDate period) {
+		this.period = period;
+	}
+
+	public Transaction getTransaction() {
+		return transaction;
+	}
+
+	public void setTransaction(Transaction transaction) {
+		this.transaction = transaction;
+	}
+
+	public long getCount() {
+		return count;
+	}
+
+	public void setCount(long count) {
+		this.count = count;
+	}
+
+	public BigDecimal getTotal() {
+		return total;
+	}
+
+	public void setTotal(BigDecimal total) {
+		this.total = total;
+	}
+}
@@ -0,0 +1,43 @@
+package com.rtejada.bank.v1.dto;
+
+import java.math.BigDecimal;
+
+public class TransferResultResponse {
+
+	private int index;
+	private boolean success;
+	private BigDecimal balance;
+	private String error;
+
+	public int getIndex() {
+		return index;
+	}
+
+	public void setIndex(int index) {
+		this.index = index;
+	}
+
+	public boolean isSuccess() {
+		return success;
+	}
+
+	public void setSuccess(boolean success) {
+		this.success = success;
+	}
+
+	public BigDecimal getBalance() {
+		return balance;
+	}
+
+	public void setBalance(BigDecimal balance) {
+		this.balance = balance;
+	}
+
+	public String getError() {
+		return error;
+	}
+
+	public void setError(String error) {
+		this.error = error;
+	}
+}
@@ -1,10 +1,14 @@
 package com.rtejada.bank.v1.mapper;
 
 import com.rtejada.bank.model.Account;
+import com.rtejada.bank.model.BalancePoint;
 import com.rtejada.bank.model.Statement;
+import com.rtejada.bank.model.StatementSummary;
 import com.rtejada.bank.v1.dto.AccountResponse;
+import com.rtejada.bank.v1.dto.BalancePointResponse;
 import com.rtejada.bank.v1.dto.OwnerResponse;
 import com.rtejada.bank.v1.dto.StatementResponse;
+import com.rtejada.bank.v1.dto.StatementSummaryResponse;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -42,4 +46,28 @@ public class AccountMapper {
 		statementResponse.setValue(statement.getValue());
 		return statementResponse;
 	}
+
+	public StatementSummaryResponse toResponse(StatementSummary summary) {
+		if (summary == null) {
+			throw new IllegalArgumentException("Cannot map null statement summary");
+		}
+
+		StatementSummaryResponse summaryResponse = new StatementSummaryResponse();
+		summaryResponse.setPeriod(summary.getPeriod());
+		summaryResponse.setTransaction(summary.getTransaction());
+		summaryResponse.setCount(summary.getCount());
+		summaryResponse.setTotal(summary.getTotal());
+		return summaryResponse;
+	}
+
+	public BalancePointResponse toResponse(BalancePoint point) {
+		if (point == null) {
+			throw new IllegalArgumentException("Cannot map null balance point");
+		}
+
+		BalancePointResponse pointResponse = new BalancePointResponse();
+		pointResponse.setDate(point.getDate());
+		pointResponse.setBalance(point.getBalance());
+		return pointResponse;
+	}
 }
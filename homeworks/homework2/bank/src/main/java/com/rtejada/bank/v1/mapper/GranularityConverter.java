@@ -0,0 +1,14 @@
+package com.rtejada.bank.v1.mapper;
+
+import com.rtejada.bank.model.Granularity;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.stereotype.Component;
+
+@Component
+public class GranularityConverter implements Converter<String, Granularity> {
+
+	@Override
+	public Granularity convert(String source) {
+		return Granularity.of(source);
+	}
+}
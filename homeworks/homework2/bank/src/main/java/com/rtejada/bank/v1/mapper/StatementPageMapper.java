@@ -0,0 +1,75 @@
+package com.rtejada.bank.v1.mapper;
+
+import com.rtejada.bank.model.Statement;
+import com.rtejada.bank.v1.dto.StatementPageResponse;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Component
+public class StatementPageMapper {
+
+	public static final int MAX_LIMIT = 1000;
+	private static final String CURSOR_PREFIX = "s:";
+
+	private final AccountMapper accountMapper;
+
+	public StatementPageMapper(AccountMapper accountMapper) {
+		this.accountMapper = accountMapper;
+	}
+
+	public int toLimit(int limit) {
+		if (limit <= 0 || limit > MAX_LIMIT) {
+			throw new IllegalArgumentException("Statement limit must be between 1 and " + MAX_LIMIT);
+		}
+
+		return limit;
+	}
+
+	public int toOffset(String cursor) {
+		if (cursor == null || cursor.isEmpty()) {
+			return 0;
+		}
+
+		try {
+			final String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+			if (!decoded.startsWith(CURSOR_PREFIX)) {
+				throw new IllegalArgumentException("Invalid statement cursor: " + cursor);
+			}
+
+			final int offset = Integer.parseInt(decoded.substring(CURSOR_PREFIX.length()));
+			if (offset < 0) {
+				throw new IllegalArgumentException("Invalid statement cursor: " + cursor);
+			}
+
+			return offset;
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Invalid statement cursor: " + cursor);
+		}
+	}
+
+	public String toCursor(int offset) {
+		return Base64.getUrlEncoder()
+				.withoutPadding()
+				.encodeToString((CURSOR_PREFIX + offset).getBytes(StandardCharsets.UTF_8));
+	}
+
+	public StatementPageResponse toResponse(List<Statement> statements, int offset, int limit) {
+		if (statements == null) {
+			throw new IllegalArgumentException("Cannot map null statements");
+		}
+
+		final boolean hasNext = statements.size() > limit;
+		final List<Statement> page = hasNext ? statements.subList(0, limit) : statements;
+
+		StatementPageResponse response = new StatementPageResponse();
+		response.setStatements(page.stream()
+				.map(accountMapper::toResponse)
+				.collect(Collectors.toList()));
+		response.setNextCursor(hasNext ? toCursor(offset + limit) : null);
+		return response;
+	}
+}
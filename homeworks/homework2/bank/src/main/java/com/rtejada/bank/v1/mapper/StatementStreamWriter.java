@@ -0,0 +1,80 @@
+package com.rtejada.bank.v1.mapper;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rtejada.bank.exception.InvalidAccountException;
+import com.rtejada.bank.model.BalancePoint;
+import com.rtejada.bank.model.Statement;
+import com.rtejada.bank.service.AccountService;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+
+@Component
+public class StatementStreamWriter {
+
+	public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+	private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType(APPLICATION_NDJSON_VALUE);
+	private static final int CHUNK_SIZE = 512;
+	private static final byte NEW_LINE = '\n';
+
+	private final AccountMapper accountMapper;
+	private final ObjectMapper objectMapper;
+
+	public StatementStreamWriter(AccountMapper accountMapper, ObjectMapper objectMapper) {
+		this.accountMapper = accountMapper;
+		this.objectMapper = objectMapper;
+	}
+
+	public ResponseEntity<StreamingResponseBody> stream(AccountService accountService, UUID accountId) {
+		if (!accountService.getAccount(accountId).isPresent()) {
+			throw new InvalidAccountException(accountId);
+		}
+
+		final StreamingResponseBody body = outputStream -> {
+			int offset = 0;
+			List<Statement> chunk;
+
+			do {
+				chunk = accountService.getStatement(accountId, offset, CHUNK_SIZE);
+
+				for (Statement statement : chunk) {
+					outputStream.write(objectMapper.writeValueAsBytes(accountMapper.toResponse(statement)));
+					outputStream.write(NEW_LINE);
+				}
+
+				outputStream.flush();
+				offset += chunk.size();
+			} while (chunk.size() == CHUNK_SIZE);
+		};
+
+		return ResponseEntity.ok()
+				.contentType(APPLICATION_NDJSON)
+				.body(body);
+	}
+
+	public ResponseEntity<StreamingResponseBody> streamBalances(Iterator<BalancePoint> points) {
+		final StreamingResponseBody body = outputStream -> {
+			int written = 0;
+
+			while (points.hasNext()) {
+				outputStream.write(objectMapper.writeValueAsBytes(accountMapper.toResponse(points.next())));
+				outputStream.write(NEW_LINE);
+
+				if (++written % CHUNK_SIZE == 0) {
+					outputStream.flush();
+				}
+			}
+
+			outputStream.flush();
+		};
+
+		return ResponseEntity.ok()
+				.contentType(APPLICATION_NDJSON)
+				.body(body);
+	}
+}
@@ -0,0 +1,100 @@
+package com.rtejada.bank.v1.mapper;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rtejada.bank.model.Transfer;
+import com.rtejada.bank.model.TransferResult;
+import com.rtejada.bank.service.BatchTransferService;
+import com.rtejada.bank.v1.dto.TransferRequest;
+import com.rtejada.bank.v1.dto.TransferResultResponse;
+import org.springframework.stereotype.Component;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Component
+public class TransferBatchMapper {
+
+	public static final int MAX_BATCH_SIZE = 100_000;
+
+	private final TransferMapper transferMapper;
+	private final ObjectMapper objectMapper;
+	private final Validator validator;
+
+	public TransferBatchMapper(TransferMapper transferMapper, ObjectMapper objectMapper, Validator validator) {
+		this.transferMapper = transferMapper;
+		this.objectMapper = objectMapper;
+		this.validator = validator;
+	}
+
+	public List<TransferResultResponse> execute(BatchTransferService batchTransferService, List<TransferRequest> requests) {
+		if (requests == null || requests.size() > MAX_BATCH_SIZE) {
+			throw new IllegalArgumentException("Transfer batch must have at most " + MAX_BATCH_SIZE + " items");
+		}
+
+		final List<String> violations = new ArrayList<>(requests.size());
+		final List<Transfer> transfers = new ArrayList<>(requests.size());
+
+		for (TransferRequest request : requests) {
+			final String violation = validate(request);
+			violations.add(violation);
+			transfers.add(violation == null ? transferMapper.toEntity(request) : null);
+		}
+
+		return batchTransferService.transfer(transfers)
+				.stream()
+				.map(result -> toResponse(result, violations.get(result.getIndex())))
+				.collect(Collectors.toList());
+	}
+
+	public List<TransferRequest> readNdjson(InputStream inputStream) throws IOException {
+		final List<TransferRequest> requests = new ArrayList<>();
+		final BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+		String line;
+
+		while ((line = reader.readLine()) != null) {
+			if (line.trim().isEmpty()) {
+				continue;
+			}
+			if (requests.size() == MAX_BATCH_SIZE) {
+				throw new IllegalArgumentException("Transfer batch must have at most " + MAX_BATCH_SIZE + " items");
+			}
+			requests.add(objectMapper.readValue(line, TransferRequest.class));
+		}
+
+		return requests;
+	}
+
+	public TransferResultResponse toResponse(TransferResult result, String violation) {
+		final TransferResultResponse response = new TransferResultResponse();
+		response.setIndex(result.getIndex());
+		response.setSuccess(result.isSuccess());
+		response.setBalance(result.getBalance());
+		response.setError(violation == null ? result.getError() : violation);
+		return response;
+	}
+
+	private String validate(TransferRequest request) {
+		if (request == null) {
+			return "Transfer request is required";
+		}
+
+		final Set<ConstraintViolation<TransferRequest>> violations = validator.validate(request);
+		if (violations.isEmpty()) {
+			return null;
+		}
+
+		return violations.stream()
+				.map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+				.sorted()
+				.collect(Collectors.joining(", "));
+	}
+}
@@ -4,6 +4,9 @@ import com.rtejada.bank.model.Transfer;
 import com.rtejada.bank.v1.dto.TransferRequest;
 import org.springframework.stereotype.Component;
 
+import java.util.Arrays;
+import java.util.List;
+
 @Component
 public class TransferMapper {
 
@@ -20,4 +23,9 @@ public class TransferMapper {
 		transfer.setTargetId(request.getTargetId());
 		return transfer;
 	}
+
+	public List<Object> toFingerprint(Transfer transfer) {
+		return Arrays.asList(transfer.getSourceId(), transfer.getSourceType(), transfer.getTargetId(), transfer.getTargetType(),
+				transfer.getAmount().stripTrailingZeros());
+	}
 }
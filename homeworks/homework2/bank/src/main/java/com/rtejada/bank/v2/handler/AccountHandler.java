@@ -0,0 +1,190 @@
+package com.rtejada.bank.v2.handler;
+
+import com.rtejada.bank.engine.TransactionGateway;
+import com.rtejada.bank.exception.InvalidAccountException;
+import com.rtejada.bank.model.AccountType;
+import com.rtejada.bank.model.Granularity;
+import com.rtejada.bank.model.Statement;
+import com.rtejada.bank.model.Transaction;
+import com.rtejada.bank.service.AccountService;
+import com.rtejada.bank.service.CreditAccountService;
+import com.rtejada.bank.service.IdempotencyService;
+import com.rtejada.bank.service.SaveAccountService;
+import com.rtejada.bank.v1.dto.AccountRequest;
+import com.rtejada.bank.v1.dto.BalancePointResponse;
+import com.rtejada.bank.v1.dto.StatementResponse;
+import com.rtejada.bank.v1.dto.TransactionRequest;
+import com.rtejada.bank.v1.mapper.AccountFactory;
+import com.rtejada.bank.v1.mapper.AccountMapper;
+import com.rtejada.bank.v2.router.BankRoutes;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static com.rtejada.bank.model.AccountType.CREDIT;
+import static com.rtejada.bank.model.AccountType.SAVING;
+
+@Component
+public class AccountHandler {
+
+	private static final int CHUNK_SIZE = 512;
+
+	private final Map<AccountType, AccountService> accountServiceMap = new HashMap<>();
+	private final SaveAccountService saveAccountService;
+	private final AccountMapper accountMapper;
+	private final AccountFactory accountFactory;
+	private final RequestValidator requestValidator;
+	private final IdempotencyService idempotencyService;
+	private final TransactionGateway transactionGateway;
+
+	public AccountHandler(CreditAccountService creditAccountService, SaveAccountService saveAccountService, AccountMapper accountMapper,
+			AccountFactory accountFactory, RequestValidator requestValidator, IdempotencyService idempotencyService,
+			TransactionGateway transactionGateway) {
+		this.saveAccountService = saveAccountService;
+		this.accountMapper = accountMapper;
+		this.accountFactory = accountFactory;
+		this.requestValidator = requestValidator;
+		this.idempotencyService = idempotencyService;
+		this.transactionGateway = transactionGateway;
+		accountServiceMap.put(CREDIT, creditAccountService);
+		accountServiceMap.put(SAVING, saveAccountService);
+	}
+
+	public Mono<ServerResponse> createAccount(AccountType accountType, ServerRequest request) {
+		final AccountService accountService = accountServiceMap.get(accountType);
+
+		return requestValidator.body(request, AccountRequest.class)
+				.publishOn(Schedulers.boundedElastic())
+				.map(body -> accountMapper.toResponse(accountService.createAccount(accountFactory.toAccountEntity(body, accountType))))
+				.flatMap(response -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(response));
+	}
+
+	public Mono<ServerResponse> getBalance(AccountType accountType, ServerRequest request) {
+		final UUID accountId = requestValidator.accountId(request);
+		final Optional<LocalDateTime> at = requestValidator.timestamp(request, "at");
+		if (at.isPresent() && !SAVING.equals(accountType)) {
+			return Mono.error(new ServerWebInputException("Balance projection is only available for saving accounts"));
+		}
+
+		return Mono.fromCallable(() -> (at.isPresent()
+						? saveAccountService.getBalance(accountId, at.get())
+						: accountServiceMap.get(accountType).getBalance(accountId))
+						.orElseThrow(() -> new InvalidAccountException(accountId)))
+				.flatMap(balance -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(balance));
+	}
+
+	public Mono<ServerResponse> getBalanceHistory(AccountType accountType, ServerRequest request) {
+		final UUID accountId = requestValidator.accountId(request);
+		final AccountService accountService = accountServiceMap.get(accountType);
+		final Optional<LocalDateTime> at = requestValidator.timestamp(request, "at");
+
+		if (at.isPresent()) {
+			return Mono.fromCallable(() -> accountMapper.toResponse(accountService.getBalanceAt(accountId, at.get())))
+					.flatMap(point -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(point));
+		}
+
+		final Optional<LocalDateTime> from = requestValidator.timestamp(request, "from");
+		final Optional<LocalDateTime> to = requestValidator.timestamp(request, "to");
+
+		return Mono.fromCallable(() -> accountService.getBalanceHistory(accountId, from.orElse(null), to.orElse(null)))
+				.flatMap(points -> ServerResponse.ok()
+						.contentType(BankRoutes.APPLICATION_NDJSON)
+						.body(Flux.fromIterable(() -> points).map(accountMapper::toResponse), BalancePointResponse.class));
+	}
+
+	public Mono<ServerResponse> deposit(AccountType accountType, ServerRequest request) {
+		final UUID accountId = requestValidator.accountId(request);
+
+		return transaction(request, scope(accountType, "deposit", accountId),
+				body -> () -> transactionGateway.deposit(accountType, accountId, body.getValue()));
+	}
+
+	public Mono<ServerResponse> withdraw(AccountType accountType, ServerRequest request) {
+		final UUID accountId = requestValidator.accountId(request);
+
+		return transaction(request, scope(accountType, "withdraw", accountId),
+				body -> () -> transactionGateway.withdraw(accountType, accountId, body.getValue()));
+	}
+
+	public Mono<ServerResponse> getStatement(AccountType accountType, ServerRequest request) {
+		return statement(accountType, request, MediaType.APPLICATION_JSON);
+	}
+
+	public Mono<ServerResponse> streamStatement(AccountType accountType, ServerRequest request) {
+		return statement(accountType, request, BankRoutes.APPLICATION_NDJSON);
+	}
+
+	public Mono<ServerResponse> getStatementSummary(AccountType accountType, ServerRequest request) {
+		final UUID accountId = requestValidator.accountId(request);
+		final Granularity granularity = requestValidator.granularity(request, "granularity");
+
+		return Mono.fromCallable(() -> accountServiceMap.get(accountType).getStatementSummary(accountId, granularity))
+				.map(summaries -> summaries.stream().map(accountMapper::toResponse).collect(Collectors.toList()))
+				.flatMap(summaries -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(summaries));
+	}
+
+	private Mono<ServerResponse> transaction(ServerRequest request, String scope,
+			Function<TransactionRequest, Supplier<CompletableFuture<BigDecimal>>> command) {
+		final String idempotencyKey = request.headers().firstHeader(IdempotencyService.IDEMPOTENCY_KEY_HEADER);
+
+		return requestValidator.body(request, TransactionRequest.class)
+				.publishOn(Schedulers.boundedElastic())
+				.flatMap(body -> Mono.fromFuture(idempotencyService.executeAsync(scope, idempotencyKey,
+						body.getValue().stripTrailingZeros(), command.apply(body))))
+				.flatMap(balance -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(balance));
+	}
+
+	private Mono<ServerResponse> statement(AccountType accountType, ServerRequest request, MediaType mediaType) {
+		final UUID accountId = requestValidator.accountId(request);
+		final AccountService accountService = accountServiceMap.get(accountType);
+		final Optional<LocalDateTime> from = requestValidator.timestamp(request, "from");
+		final Optional<LocalDateTime> to = requestValidator.timestamp(request, "to");
+		final Optional<Set<Transaction>> types = requestValidator.transactions(request, "type");
+
+		final Flux<StatementResponse> statements = from.isPresent() || to.isPresent() || types.isPresent()
+				? Flux.defer(() -> Flux.fromIterable(accountService.getStatement(accountId, from.orElse(null), to.orElse(null), types.orElse(null))))
+						.map(accountMapper::toResponse)
+				: statements(accountService, accountId);
+
+		return Mono.fromCallable(() -> accountService.getAccount(accountId).orElseThrow(() -> new InvalidAccountException(accountId)))
+				.flatMap(account -> ServerResponse.ok()
+						.contentType(mediaType)
+						.body(statements, StatementResponse.class));
+	}
+
+	private Flux<StatementResponse> statements(AccountService accountService, UUID accountId) {
+		return Flux.<List<Statement>, Integer>generate(() -> 0, (offset, sink) -> {
+					final List<Statement> chunk = accountService.getStatement(accountId, offset, CHUNK_SIZE);
+					if (chunk.isEmpty()) {
+						sink.complete();
+					} else {
+						sink.next(chunk);
+					}
+					return offset + chunk.size();
+				})
+				.concatMapIterable(chunk -> chunk)
+				.map(accountMapper::toResponse);
+	}
+
+	private static String scope(AccountType accountType, String operation, UUID accountId) {
+		return (accountType == CREDIT ? "credit-" : "save-") + operation + ":" + accountId;
+	}
+}
@@ -0,0 +1,94 @@
+package com.rtejada.bank.v2.handler;
+
+import com.rtejada.bank.model.Granularity;
+import com.rtejada.bank.model.Transaction;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Mono;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Component
+public class RequestValidator {
+
+	private final Validator validator;
+
+	public RequestValidator(Validator validator) {
+		this.validator = validator;
+	}
+
+	public <T> Mono<T> body(ServerRequest request, Class<T> type) {
+		return request.bodyToMono(type)
+				.switchIfEmpty(Mono.error(() -> new ServerWebInputException("Request body is required")))
+				.doOnNext(this::validate);
+	}
+
+	public UUID accountId(ServerRequest request) {
+		try {
+			return UUID.fromString(request.pathVariable("accountId"));
+		} catch (IllegalArgumentException e) {
+			throw new ServerWebInputException("Invalid account id: " + request.pathVariable("accountId"));
+		}
+	}
+
+	public Optional<LocalDateTime> timestamp(ServerRequest request, String name) {
+		return request.queryParam(name).map(value -> {
+			try {
+				return LocalDateTime.parse(value);
+			} catch (DateTimeParseException e) {
+				throw new ServerWebInputException("Invalid " + name + ": " + value);
+			}
+		});
+	}
+
+	public Optional<Set<Transaction>> transactions(ServerRequest request, String name) {
+		final List<String> values = request.queryParams().get(name);
+		if (values == null || values.isEmpty()) {
+			return Optional.empty();
+		}
+
+		final Set<Transaction> transactions = EnumSet.noneOf(Transaction.class);
+		for (String value : values) {
+			for (String type : value.split(",")) {
+				try {
+					transactions.add(Transaction.valueOf(type.trim()));
+				} catch (IllegalArgumentException e) {
+					throw new ServerWebInputException("Invalid " + name + ": " + type);
+				}
+			}
+		}
+		return Optional.of(transactions);
+	}
+
+	public Granularity granularity(ServerRequest request, String name) {
+		return request.queryParam(name).map(value -> {
+			try {
+				return Granularity.of(value);
+			} catch (IllegalArgumentException e) {
+				throw new ServerWebInputException("Invalid " + name + ": " + value);
+			}
+		}).orElse(Granularity.DAY);
+	}
+
+	private <T> void validate(T body) {
+		final Set<ConstraintViolation<T>> violations = validator.validate(body);
+		if (violations.isEmpty()) {
+			return;
+		}
+
+		throw new ServerWebInputException(violations.stream()
+				.map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+				.sorted()
+				.collect(Collectors.joining(", ")));
+	}
+}
@@ -0,0 +1,40 @@
+package com.rtejada.bank.v2.handler;
+
+import com.rtejada.bank.engine.TransactionGateway;
+import com.rtejada.bank.service.IdempotencyService;
+import com.rtejada.bank.v1.dto.TransferRequest;
+import com.rtejada.bank.v1.mapper.TransferMapper;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+@Component
+public class TransferHandler {
+
+	private final TransferMapper mapper;
+	private final RequestValidator requestValidator;
+	private final IdempotencyService idempotencyService;
+	private final TransactionGateway transactionGateway;
+
+	public TransferHandler(TransferMapper mapper, RequestValidator requestValidator, IdempotencyService idempotencyService,
+			TransactionGateway transactionGateway) {
+		this.mapper = mapper;
+		this.requestValidator = requestValidator;
+		this.idempotencyService = idempotencyService;
+		this.transactionGateway = transactionGateway;
+	}
+
+	public Mono<ServerResponse> transfer(ServerRequest request) {
+		final String idempotencyKey = request.headers().firstHeader(IdempotencyService.IDEMPOTENCY_KEY_HEADER);
+
+		return requestValidator.body(request, TransferRequest.class)
+				.map(mapper::toEntity)
+				.publishOn(Schedulers.boundedElastic())
+				.flatMap(transfer -> Mono.fromFuture(idempotencyService.executeAsync("transfer", idempotencyKey, mapper.toFingerprint(transfer),
+						() -> transactionGateway.transfer(transfer))))
+				.flatMap(balance -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(balance));
+	}
+}
@@ -0,0 +1,59 @@
+package com.rtejada.bank.v2.router;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rtejada.bank.model.AccountType;
+import com.rtejada.bank.v1.mapper.StatementStreamWriter;
+import com.rtejada.bank.v2.handler.AccountHandler;
+import com.rtejada.bank.v2.handler.TransferHandler;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import java.util.Collections;
+
+import static com.rtejada.bank.model.AccountType.CREDIT;
+import static com.rtejada.bank.model.AccountType.SAVING;
+import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
+import static org.springframework.web.reactive.function.server.RequestPredicates.POST;
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+public final class BankRoutes {
+
+	public static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType(StatementStreamWriter.APPLICATION_NDJSON_VALUE);
+
+	private BankRoutes() {
+	}
+
+	public static RouterFunction<ServerResponse> routes(AccountHandler accountHandler, TransferHandler transferHandler) {
+		return accountRoutes("/v2/credit-accounts", CREDIT, accountHandler)
+				.and(accountRoutes("/v2/save-accounts", SAVING, accountHandler))
+				.andRoute(POST("/v2/transfers"), transferHandler::transfer);
+	}
+
+	public static HandlerStrategies strategies(ObjectMapper objectMapper) {
+		final Jackson2JsonEncoder encoder = new Jackson2JsonEncoder(objectMapper,
+				MediaType.APPLICATION_JSON, new MediaType("application", "*+json"), APPLICATION_NDJSON);
+		encoder.setStreamingMediaTypes(Collections.singletonList(APPLICATION_NDJSON));
+
+		return HandlerStrategies.builder()
+				.codecs(configurer -> {
+					configurer.defaultCodecs().jackson2JsonEncoder(encoder);
+					configurer.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+				})
+				.build();
+	}
+
+	private static RouterFunction<ServerResponse> accountRoutes(String path, AccountType accountType, AccountHandler handler) {
+		return route(POST(path), request -> handler.createAccount(accountType, request))
+				.andRoute(GET(path + "/{accountId}/balance"), request -> handler.getBalance(accountType, request))
+				.andRoute(GET(path + "/{accountId}/balance/history"), request -> handler.getBalanceHistory(accountType, request))
+				.andRoute(POST(path + "/{accountId}/deposit"), request -> handler.deposit(accountType, request))
+				.andRoute(POST(path + "/{accountId}/withdraw"), request -> handler.withdraw(accountType, request))
+				.andRoute(GET(path + "/{accountId}/statement"), request -> handler.getStatement(accountType, request))
+				.andRoute(GET(path + "/{accountId}/statement/stream"), request -> handler.streamStatement(accountType, request))
+				.andRoute(GET(path + "/{accountId}/statement/summary"), request -> handler.getStatementSummary(accountType, request));
+	}
+}
@@ -0,0 +1,33 @@
+package com.rtejada.bank.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class VirtualThreadConfigurationTest {
+
+	@Test
+	public void shouldFailFastWithoutVirtualThreadSupport() {
+		assumeFalse(VirtualThreads.isSupported());
+		assertThrows(IllegalStateException.class, VirtualThreads::newExecutor);
+	}
+
+	@Test
+	public void shouldRunTasksOnVirtualThreads() throws Exception {
+		assumeTrue(VirtualThreads.isSupported());
+
+		final ExecutorService executor = VirtualThreads.newExecutor();
+		try {
+			final Future<Boolean> virtual = executor.submit(() -> (Boolean) Thread.class.getMethod("isVirtual").invoke(Thread.currentThread()));
+			assertTrue(virtual.get(5, TimeUnit.SECONDS));
+		} finally {
+			executor.shutdown();
+		}
+	}
+}
@@ -0,0 +1,171 @@
+package com.rtejada.bank.engine;
+
+import com.rtejada.bank.exception.InvalidAccountException;
+import com.rtejada.bank.exception.InvalidTransactionException;
+import com.rtejada.bank.exception.JournalException;
+import com.rtejada.bank.journal.MappedJournal;
+import com.rtejada.bank.model.Transfer;
+import com.rtejada.bank.repository.AccountStore;
+import com.rtejada.bank.service.CreditAccountService;
+import com.rtejada.bank.service.SaveAccountService;
+import com.rtejada.bank.service.TransferService;
+import com.rtejada.bank.support.FailingJournal;
+import com.rtejada.bank.support.TestAccounts;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static com.rtejada.bank.model.AccountType.CREDIT;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RingBufferPipelineTest {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	public void shouldNotAllowRingSizeOtherThanPowerOfTwo() {
+		final AccountStore accountStore = new AccountStore();
+		assertThrows(IllegalArgumentException.class, () -> newPipeline(accountStore, 0));
+		assertThrows(IllegalArgumentException.class, () -> newPipeline(accountStore, 1000));
+	}
+
+	@Test
+	public void shouldApplyTransactionsInPublishOrder() throws Exception {
+		final AccountStore accountStore = new AccountStore();
+		final CreditAccountService creditAccountService = new CreditAccountService(accountStore);
+		final UUID sourceId = TestAccounts.open(creditAccountService, CREDIT);
+		final UUID targetId = TestAccounts.open(creditAccountService, CREDIT);
+
+		try (RingBufferPipeline pipeline = newPipeline(accountStore, 64)) {
+			final CompletableFuture<BigDecimal> deposit = pipeline.deposit(CREDIT, sourceId, BigDecimal.TEN);
+			final CompletableFuture<BigDecimal> withdraw = pipeline.withdraw(CREDIT, sourceId, BigDecimal.valueOf(1_000));
+			final CompletableFuture<BigDecimal> transfer = pipeline.transfer(buildTransfer(sourceId, targetId, BigDecimal.valueOf(100)));
+
+			assertEquals(0, new BigDecimal("10010").compareTo(deposit.get(5, TimeUnit.SECONDS)));
+			assertEquals(0, new BigDecimal("9010").compareTo(withdraw.get(5, TimeUnit.SECONDS)));
+			assertEquals(0, new BigDecimal("8905").compareTo(transfer.get(5, TimeUnit.SECONDS)));
+			assertEquals(0, new BigDecimal("10100").compareTo(creditAccountService.getBalance(targetId).get()));
+			assertEquals(3, pipeline.getProcessed());
+		}
+	}
+
+	@Test
+	public void shouldFailInvalidTransactionsWithoutStoppingPipeline() throws Exception {
+		final AccountStore accountStore = new AccountStore();
+		final CreditAccountService creditAccountService = new CreditAccountService(accountStore);
+		final UUID accountId = TestAccounts.open(creditAccountService, CREDIT);
+
+		try (RingBufferPipeline pipeline = newPipeline(accountStore, 64)) {
+			assertFailure(InvalidAccountException.class, pipeline.deposit(CREDIT, null, BigDecimal.TEN));
+			assertFailure(InvalidTransactionException.class, pipeline.deposit(null, accountId, BigDecimal.TEN));
+			assertFailure(InvalidTransactionException.class, pipeline.deposit(CREDIT, accountId, null));
+			assertFailure(InvalidTransactionException.class, pipeline.withdraw(CREDIT, accountId, BigDecimal.valueOf(1_000_000)));
+			assertFailure(InvalidAccountException.class, pipeline.transfer(buildTransfer(accountId, null, BigDecimal.TEN)));
+			assertFailure(InvalidAccountException.class, pipeline.deposit(CREDIT, UUID.randomUUID(), BigDecimal.TEN));
+
+			assertEquals(0, new BigDecimal("10001").compareTo(pipeline.deposit(CREDIT, accountId, BigDecimal.ONE).get(5, TimeUnit.SECONDS)));
+		}
+	}
+
+	@Test
+	public void shouldReuseSlotsWhenRingWrapsAround() throws Exception {
+		final AccountStore accountStore = new AccountStore();
+		final CreditAccountService creditAccountService = new CreditAccountService(accountStore);
+		final UUID accountId = TestAccounts.open(creditAccountService, CREDIT);
+		final RingBufferPipeline pipeline = newPipeline(accountStore, 8);
+
+		final List<CompletableFuture<BigDecimal>> deposits = new ArrayList<>();
+		for (int i = 0; i < 10_000; i++) {
+			deposits.add(pipeline.deposit(CREDIT, accountId, BigDecimal.ONE));
+		}
+		pipeline.close();
+
+		for (CompletableFuture<BigDecimal> deposit : deposits) {
+			assertTrue(deposit.isDone());
+		}
+		assertEquals(0, new BigDecimal("20000").compareTo(creditAccountService.getBalance(accountId).get()));
+		assertEquals(10_000, pipeline.getProcessed());
+		assertEquals(0, pipeline.getBacklog());
+		assertThrows(RejectedExecutionException.class, () -> pipeline.deposit(CREDIT, accountId, BigDecimal.ONE));
+	}
+
+	@Test
+	public void shouldFailBatchAndKeepAdvancingWhenJournalFails() throws Exception {
+		final FailingJournal journal = new FailingJournal();
+		final AccountStore accountStore = new AccountStore(journal);
+		final CreditAccountService creditAccountService = new CreditAccountService(accountStore);
+		final UUID accountId = TestAccounts.open(creditAccountService, CREDIT);
+
+		try (RingBufferPipeline pipeline = newPipeline(accountStore, 8)) {
+			journal.setFailing(true);
+			final List<CompletableFuture<BigDecimal>> deposits = new ArrayList<>();
+			for (int i = 0; i < 100; i++) {
+				deposits.add(pipeline.deposit(CREDIT, accountId, BigDecimal.ONE));
+			}
+
+			for (CompletableFuture<BigDecimal> deposit : deposits) {
+				assertFailure(JournalException.class, deposit);
+			}
+
+			journal.setFailing(false);
+			assertEquals(0, new BigDecimal("10101").compareTo(pipeline.deposit(CREDIT, accountId, BigDecimal.ONE).get(5, TimeUnit.SECONDS)));
+			assertEquals(101, pipeline.getProcessed());
+		}
+	}
+
+	@Test
+	public void shouldCompleteAfterJournalIsDurable() throws Exception {
+		final UUID accountId;
+		try (MappedJournal journal = new MappedJournal(directory, 1024 * 1024, true)) {
+			final AccountStore accountStore = new AccountStore(journal);
+			accountId = TestAccounts.open(new CreditAccountService(accountStore), CREDIT);
+
+			try (RingBufferPipeline pipeline = newPipeline(accountStore, 1024)) {
+				final List<CompletableFuture<BigDecimal>> deposits = new ArrayList<>();
+				for (int i = 0; i < 2_000; i++) {
+					deposits.add(pipeline.deposit(CREDIT, accountId, BigDecimal.ONE));
+				}
+				CompletableFuture.allOf(deposits.toArray(new CompletableFuture[0])).get(30, TimeUnit.SECONDS);
+				assertTrue(journal.getSyncCount() < 2_000);
+			}
+		}
+
+		try (MappedJournal journal = new MappedJournal(directory, 1024 * 1024, true)) {
+			final AccountStore accountStore = new AccountStore(journal);
+			accountStore.replay(0L);
+			assertEquals(0, new BigDecimal("12000").compareTo(accountStore.find(accountId).get().getBalance()));
+		}
+	}
+
+	private static void assertFailure(final Class<? extends Throwable> expected, final CompletableFuture<BigDecimal> future) {
+		final ExecutionException failure = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+		assertEquals(expected, failure.getCause().getClass());
+	}
+
+	private static RingBufferPipeline newPipeline(final AccountStore accountStore, final int ringSize) {
+		final CreditAccountService creditAccountService = new CreditAccountService(accountStore);
+		final SaveAccountService saveAccountService = new SaveAccountService(accountStore);
+		return new RingBufferPipeline(creditAccountService, saveAccountService,
+				new TransferService(creditAccountService, saveAccountService, accountStore), accountStore, ringSize);
+	}
+
+	private static Transfer buildTransfer(final UUID sourceId, final UUID targetId, final BigDecimal amount) {
+		final Transfer transfer = new Transfer();
+		transfer.setSourceId(sourceId);
+		transfer.setSourceType(CREDIT);
+		transfer.setTargetId(targetId);
+		transfer.setTargetType(CREDIT);
+		transfer.setAmount(amount);
+		return transfer;
+	}
+}
@@ -0,0 +1,174 @@
+package com.rtejada.bank.engine;
+
+import com.rtejada.bank.exception.InvalidTransactionException;
+import com.rtejada.bank.exception.JournalException;
+import com.rtejada.bank.journal.MappedJournal;
+import com.rtejada.bank.model.AccountType;
+import com.rtejada.bank.model.Transfer;
+import com.rtejada.bank.repository.AccountStore;
+import com.rtejada.bank.service.CreditAccountService;
+import com.rtejada.bank.service.SaveAccountService;
+import com.rtejada.bank.service.TransferService;
+import com.rtejada.bank.support.FailingJournal;
+import com.rtejada.bank.support.TestAccounts;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static com.rtejada.bank.support.TestAccounts.INITIAL_BALANCE;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ShardedCommandEngineTest {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	public void shouldNotAllowInvalidShardCount() {
+		final AccountStore accountStore = new AccountStore(4);
+		assertThrows(IllegalArgumentException.class, () -> new ShardedCommandEngine(accountStore, 0, 16));
+		assertThrows(IllegalArgumentException.class, () -> new ShardedCommandEngine(accountStore, 8, 16));
+	}
+
+	@Test
+	public void shouldExecuteCommandsOnOwningShard() throws Exception {
+		final AccountStore accountStore = new AccountStore();
+		final CreditAccountService creditAccountService = new CreditAccountService(accountStore);
+		final UUID accountId = TestAccounts.open(creditAccountService, AccountType.CREDIT);
+
+		try (ShardedCommandEngine engine = new ShardedCommandEngine(accountStore, 4, 64)) {
+			final CompletableFuture<String> thread = engine.submit(accountId, () -> Thread.currentThread().getName());
+			final CompletableFuture<BigDecimal> deposit = engine.submit(accountId,
+					() -> creditAccountService.deposit(BigDecimal.TEN, accountId));
+			final CompletableFuture<BigDecimal> withdraw = engine.submit(accountId,
+					() -> creditAccountService.withdraw(BigDecimal.valueOf(1_000_000), accountId));
+
+			assertTrue(thread.get(5, TimeUnit.SECONDS).startsWith("account-shard-"));
+			assertEquals(0, new BigDecimal("10010").compareTo(deposit.get(5, TimeUnit.SECONDS)));
+
+			final ExecutionException failure = assertThrows(ExecutionException.class, () -> withdraw.get(5, TimeUnit.SECONDS));
+			assertTrue(failure.getCause() instanceof InvalidTransactionException);
+			assertEquals(3, sumProcessed(engine));
+		}
+	}
+
+	@Test
+	public void shouldConserveMoneyWithCrossShardTransfers() throws Exception {
+		final AccountStore accountStore = new AccountStore();
+		final CreditAccountService creditAccountService = new CreditAccountService(accountStore);
+		final TransferService transferService = new TransferService(creditAccountService, new SaveAccountService(accountStore), accountStore);
+		final List<UUID> accounts = new ArrayList<>();
+		for (int i = 0; i < 64; i++) {
+			accounts.add(TestAccounts.open(creditAccountService, AccountType.CREDIT));
+		}
+
+		final List<CompletableFuture<BigDecimal>> futures = new ArrayList<>();
+		final List<BigDecimal> amounts = new ArrayList<>();
+		try (ShardedCommandEngine engine = new ShardedCommandEngine(accountStore, 8, 128)) {
+			final Random random = new Random(3);
+			for (int i = 0; i < 20_000; i++) {
+				final UUID source = accounts.get(random.nextInt(accounts.size()));
+				final UUID target = accounts.get(random.nextInt(accounts.size()));
+				final Transfer transfer = buildTransfer(source, target, BigDecimal.valueOf(1 + random.nextInt(50)));
+				amounts.add(transfer.getAmount());
+				futures.add(engine.submit(source, target, () -> transferService.transfer(transfer)));
+			}
+
+			CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+					.exceptionally(error -> null)
+					.get(60, TimeUnit.SECONDS);
+		}
+
+		BigDecimal fees = BigDecimal.ZERO;
+		for (int i = 0; i < futures.size(); i++) {
+			if (!futures.get(i).isCompletedExceptionally()) {
+				fees = fees.add(amounts.get(i).multiply(BigDecimal.valueOf(0.05)));
+			}
+		}
+
+		BigDecimal total = BigDecimal.ZERO;
+		for (UUID account : accounts) {
+			total = total.add(creditAccountService.getBalance(account).get());
+		}
+
+		assertEquals(0, INITIAL_BALANCE.multiply(BigDecimal.valueOf(accounts.size())).compareTo(total.add(fees)));
+	}
+
+	@Test
+	public void shouldCompleteAfterJournalIsDurable() throws Exception {
+		final UUID accountId;
+		try (MappedJournal journal = new MappedJournal(directory, 1024 * 1024, true)) {
+			final AccountStore accountStore = new AccountStore(journal);
+			final CreditAccountService creditAccountService = new CreditAccountService(accountStore);
+			accountId = TestAccounts.open(creditAccountService, AccountType.CREDIT);
+
+			try (ShardedCommandEngine engine = new ShardedCommandEngine(accountStore, 2, 1024)) {
+				final List<CompletableFuture<BigDecimal>> deposits = new ArrayList<>();
+				for (int i = 0; i < 500; i++) {
+					deposits.add(engine.submit(accountId, () -> creditAccountService.deposit(BigDecimal.ONE, accountId)));
+				}
+				CompletableFuture.allOf(deposits.toArray(new CompletableFuture[0])).get(30, TimeUnit.SECONDS);
+				assertTrue(journal.getSyncCount() < 500);
+			}
+		}
+
+		try (MappedJournal journal = new MappedJournal(directory, 1024 * 1024, true)) {
+			final AccountStore accountStore = new AccountStore(journal);
+			accountStore.replay(0L);
+			assertEquals(0, new BigDecimal("10500").compareTo(accountStore.find(accountId).get().getBalance()));
+		}
+	}
+
+	@Test
+	public void shouldFailBatchAndKeepDrainingWhenJournalFails() throws Exception {
+		final FailingJournal journal = new FailingJournal();
+		final AccountStore accountStore = new AccountStore(journal);
+		final CreditAccountService creditAccountService = new CreditAccountService(accountStore);
+		final UUID accountId = TestAccounts.open(creditAccountService, AccountType.CREDIT);
+
+		try (ShardedCommandEngine engine = new ShardedCommandEngine(accountStore, 1, 4)) {
+			journal.setFailing(true);
+			final List<CompletableFuture<BigDecimal>> deposits = new ArrayList<>();
+			for (int i = 0; i < 100; i++) {
+				deposits.add(engine.submit(accountId, () -> creditAccountService.deposit(BigDecimal.ONE, accountId)));
+			}
+
+			for (CompletableFuture<BigDecimal> deposit : deposits) {
+				final ExecutionException failure = assertThrows(ExecutionException.class, () -> deposit.get(5, TimeUnit.SECONDS));
+				assertTrue(failure.getCause() instanceof JournalException);
+			}
+
+			journal.setFailing(false);
+			assertEquals(0, new BigDecimal("10101").compareTo(engine.submit(accountId,
+					() -> creditAccountService.deposit(BigDecimal.ONE, accountId)).get(5, TimeUnit.SECONDS)));
+			assertEquals(101, sumProcessed(engine));
+		}
+	}
+
+	private static long sumProcessed(final ShardedCommandEngine engine) {
+		long processed = 0;
+		for (int shard = 0; shard < engine.getShardCount(); shard++) {
+			processed += engine.getProcessed(shard);
+		}
+		return processed;
+	}
+
+	private static Transfer buildTransfer(final UUID sourceId, final UUID targetId, final BigDecimal amount) {
+		final Transfer transfer = new Transfer();
+		transfer.setSourceId(sourceId);
+		transfer.setSourceType(AccountType.CREDIT);
+		transfer.setTargetId(targetId);
+		transfer.setTargetType(AccountType.CREDIT);
+		transfer.setAmount(amount);
+		return transfer;
+	}
+}
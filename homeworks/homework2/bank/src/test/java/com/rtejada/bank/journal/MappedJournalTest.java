@@ -0,0 +1,319 @@
+package com.rtejada.bank.journal;
+
+import com.rtejada.bank.exception.InvalidTransactionException;
+import com.rtejada.bank.exception.JournalException;
+import com.rtejada.bank.model.Account;
+import com.rtejada.bank.model.AccountType;
+import com.rtejada.bank.model.Owner;
+import com.rtejada.bank.model.Statement;
+import com.rtejada.bank.model.Transaction;
+import com.rtejada.bank.model.Transfer;
+import com.rtejada.bank.repository.AccountStore;
+import com.rtejada.bank.service.CreditAccountService;
+import com.rtejada.bank.service.SaveAccountService;
+import com.rtejada.bank.service.TransferService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MappedJournalTest {
+
+	private static final int SEGMENT_SIZE = 64 * 1024;
+
+	@TempDir
+	Path directory;
+
+	@Test
+	public void shouldRoundTripRecord() throws IOException {
+		final Account account = createAccount(AccountType.CREDIT);
+		account.setBalance(new BigDecimal("123.45"));
+		account.setLastTransaction(LocalDateTime.of(2020, 10, 1, 12, 30, 15, 123456789));
+		account.setLastWithdraw(LocalDate.of(2020, 10, 1));
+		account.setWithdrawCount(3L);
+		account.addStatement(new Statement(LocalDateTime.of(2020, 10, 1, 12, 0), new BigDecimal("-2E+40"), Transaction.WITHDRAW));
+
+		final JournalRecord decoded = JournalCodec.decode(JournalCodec.encode(
+				new JournalRecord(Collections.singletonList(AccountImage.of(account, true, 0)))));
+		final AccountImage image = decoded.getAccounts().get(0);
+
+		assertEquals(account.getId(), image.getId());
+		assertEquals(AccountType.CREDIT, image.getAccountType());
+		assertEquals("12345678900", image.getOwner().getCpf());
+		assertEquals(new BigDecimal("123.45"), image.getBalance());
+		assertEquals(account.getLastTransaction(), image.getLastTransaction());
+		assertEquals(account.getLastWithdraw(), image.getLastWithdraw());
+		assertEquals(3L, image.getWithdrawCount());
+		assertNull(image.getLastTransfer());
+		assertNull(image.getTransferCount());
+		assertStatements(account.getStatementList(), image.getStatements());
+	}
+
+	@Test
+	public void shouldRoundTripStatementAdjustments() throws IOException {
+		final Account account = createAccount(AccountType.SAVING);
+		account.addStatement(new Statement(LocalDateTime.of(2020, 10, 1, 12, 0), new BigDecimal("100"), Transaction.DEPOSIT));
+		account.getLedger().append(new Statement(LocalDateTime.of(2020, 10, 2, 12, 0), new BigDecimal("-10"), Transaction.WITHDRAW),
+				new BigDecimal("-0.20"));
+		account.setBalance(new BigDecimal("89.80"));
+
+		final AccountImage image = JournalCodec.decode(JournalCodec.encode(
+				new JournalRecord(Collections.singletonList(AccountImage.of(account, true, 0))))).getAccounts().get(0);
+
+		assertEquals(Arrays.asList(null, new BigDecimal("-0.20")), image.getAdjustments());
+
+		final AccountStore accountStore = new AccountStore();
+		accountStore.apply(image);
+		final Account restored = accountStore.find(account.getId()).get();
+
+		assertEquals(new BigDecimal("-0.20"), restored.getLedger().getAdjustment(1));
+		assertEquals(new BigDecimal("89.80"), restored.getSnapshot().getStatements().balanceAt(LocalDateTime.of(2020, 10, 3, 0, 0)).getBalance());
+	}
+
+	@Test
+	public void shouldReplayAppendedRecordsAcrossSegments() {
+		final List<UUID> ids = new ArrayList<>();
+
+		try (MappedJournal journal = new MappedJournal(directory, 1024, false)) {
+			for (int i = 0; i < 100; i++) {
+				final Account account = createAccount(AccountType.SAVING);
+				ids.add(account.getId());
+				journal.awaitDurable(journal.append(record(account)));
+			}
+		}
+
+		assertTrue(segmentCount() > 1);
+		assertEquals(ids, replayIds());
+	}
+
+	@Test
+	public void shouldRecoverFromTornTail() throws IOException {
+		final List<UUID> ids = new ArrayList<>();
+		final MappedJournal crashed = new MappedJournal(directory, SEGMENT_SIZE, true);
+
+		for (int i = 0; i < 10; i++) {
+			final Account account = createAccount(AccountType.CREDIT);
+			ids.add(account.getId());
+			crashed.awaitDurable(crashed.append(record(account)));
+		}
+
+		final Path segment = segments().get(0);
+		final long tail;
+		try (MappedJournal reader = new MappedJournal(directory, SEGMENT_SIZE, true)) {
+			tail = tailOffset(reader);
+		}
+
+		try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+			file.seek(tail - 3);
+			file.write(new byte[]{1, 2, 3, 4, 5, 6});
+		}
+
+		final UUID afterCrash;
+		try (MappedJournal recovered = new MappedJournal(directory, SEGMENT_SIZE, true)) {
+			final List<UUID> replayed = new ArrayList<>();
+			recovered.replay(0L, record -> replayed.add(record.getAccounts().get(0).getId()));
+			assertEquals(ids.subList(0, 9), replayed);
+
+			final Account account = createAccount(AccountType.SAVING);
+			afterCrash = account.getId();
+			recovered.awaitDurable(recovered.append(record(account)));
+		}
+
+		final List<UUID> expected = new ArrayList<>(ids.subList(0, 9));
+		expected.add(afterCrash);
+		assertEquals(expected, replayIds());
+		crashed.close();
+	}
+
+	@Test
+	public void shouldRejectCorruptRecordBeforeTailSegment() throws IOException {
+		try (MappedJournal journal = new MappedJournal(directory, 1024, false)) {
+			for (int i = 0; i < 100; i++) {
+				journal.awaitDurable(journal.append(record(createAccount(AccountType.SAVING))));
+			}
+		}
+
+		try (RandomAccessFile file = new RandomAccessFile(segments().get(0).toFile(), "rw")) {
+			final long offset = Integer.BYTES * 2 + 1;
+			file.seek(offset);
+			final int value = file.read();
+			file.seek(offset);
+			file.write(value ^ 0x5a);
+		}
+
+		try (MappedJournal journal = new MappedJournal(directory, 1024, false)) {
+			assertThrows(JournalException.class, () -> journal.replay(0L, record -> {
+			}));
+		}
+	}
+
+	@Test
+	public void shouldRebuildAccountsFromJournal() {
+		final UUID creditId;
+		final UUID saveId;
+		final List<Statement> creditStatements;
+		final List<Statement> saveStatements;
+
+		try (MappedJournal journal = new MappedJournal(directory, SEGMENT_SIZE, true)) {
+			final AccountStore accountStore = new AccountStore(journal);
+			final CreditAccountService creditAccountService = new CreditAccountService(accountStore);
+			final SaveAccountService saveAccountService = new SaveAccountService(accountStore);
+			final TransferService transferService = new TransferService(creditAccountService, saveAccountService, accountStore);
+
+			creditId = creditAccountService.createAccount(createAccount(AccountType.CREDIT, null)).getId();
+			saveId = saveAccountService.createAccount(createAccount(AccountType.SAVING, null)).getId();
+
+			creditAccountService.deposit(BigDecimal.valueOf(1000), creditId);
+			creditAccountService.withdraw(BigDecimal.valueOf(100), creditId);
+			assertThrows(InvalidTransactionException.class,
+					() -> creditAccountService.withdraw(BigDecimal.valueOf(100_000), creditId));
+
+			final Transfer transfer = new Transfer();
+			transfer.setSourceId(creditId);
+			transfer.setSourceType(AccountType.CREDIT);
+			transfer.setTargetId(saveId);
+			transfer.setTargetType(AccountType.SAVING);
+			transfer.setAmount(BigDecimal.valueOf(200));
+			transferService.transfer(transfer);
+
+			saveAccountService.withdraw(BigDecimal.TEN, saveId);
+
+			creditStatements = creditAccountService.getStatement(creditId);
+			saveStatements = saveAccountService.getStatement(saveId);
+		}
+
+		try (MappedJournal journal = new MappedJournal(directory, SEGMENT_SIZE, true)) {
+			final AccountStore accountStore = new AccountStore(journal);
+			accountStore.replay(0L);
+
+			final Account credit = accountStore.find(creditId).orElseThrow(IllegalStateException::new);
+			final Account save = accountStore.find(saveId).orElseThrow(IllegalStateException::new);
+
+			assertEquals(2, accountStore.size());
+			assertEquals("12345678900", credit.getOwner().getCpf());
+			assertEquals(0, new BigDecimal("700.00").compareTo(credit.getBalance()));
+			assertEquals(2L, credit.getWithdrawCount());
+			assertEquals(1L, credit.getTransferCount());
+			assertStatements(creditStatements, credit.getStatementList());
+			assertStatements(saveStatements, save.getStatementList());
+			assertEquals(0, new BigDecimal("189.80").compareTo(save.getBalance()));
+		}
+	}
+
+	@Test
+	public void shouldSyncPerPolicyAndReplayEveryRecord() throws Exception {
+		final int threads = 4;
+		final int operations = 25;
+
+		for (boolean groupCommit : Arrays.asList(false, true)) {
+			final Path target = directory.resolve(groupCommit ? "group" : "fsync");
+
+			try (MappedJournal journal = new MappedJournal(target, SEGMENT_SIZE, groupCommit)) {
+				final ExecutorService executor = Executors.newFixedThreadPool(threads);
+				final List<Future<?>> futures = new ArrayList<>();
+
+				for (int t = 0; t < threads; t++) {
+					futures.add(executor.submit(() -> {
+						for (int i = 0; i < operations; i++) {
+							journal.awaitDurable(journal.append(record(createAccount(AccountType.CREDIT))));
+						}
+					}));
+				}
+
+				for (Future<?> future : futures) {
+					future.get();
+				}
+				executor.shutdown();
+
+				if (groupCommit) {
+					assertTrue(journal.getSyncCount() <= threads * operations);
+				} else {
+					assertEquals(threads * operations, journal.getSyncCount());
+				}
+			}
+
+			try (MappedJournal journal = new MappedJournal(target, SEGMENT_SIZE, groupCommit)) {
+				final int[] count = {0};
+				journal.replay(0L, record -> count[0]++);
+				assertEquals(threads * operations, count[0]);
+			}
+		}
+	}
+
+	private static void assertStatements(final List<Statement> expected, final List<Statement> actual) {
+		assertEquals(expected.size(), actual.size());
+		for (int i = 0; i < expected.size(); i++) {
+			assertEquals(expected.get(i).getDate(), actual.get(i).getDate());
+			assertEquals(expected.get(i).getValue(), actual.get(i).getValue());
+			assertEquals(expected.get(i).getTransaction(), actual.get(i).getTransaction());
+		}
+	}
+
+	private List<UUID> replayIds() {
+		final List<UUID> replayed = new ArrayList<>();
+		try (MappedJournal journal = new MappedJournal(directory, SEGMENT_SIZE, true)) {
+			journal.replay(0L, record -> replayed.add(record.getAccounts().get(0).getId()));
+		}
+		return replayed;
+	}
+
+	private long tailOffset(final MappedJournal journal) {
+		final long[] offset = {0L};
+		journal.replay(0L, record -> offset[0] += Integer.BYTES * 2 + JournalCodec.encode(record).length);
+		return offset[0];
+	}
+
+	private List<Path> segments() throws IOException {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.sorted().collect(Collectors.toList());
+		}
+	}
+
+	private long segmentCount() {
+		try {
+			return segments().size();
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static JournalRecord record(final Account account) {
+		return new JournalRecord(Collections.singletonList(AccountImage.of(account, true, 0)));
+	}
+
+	private static Account createAccount(final AccountType accountType) {
+		final Account account = createAccount(accountType, UUID.randomUUID());
+		account.setBalance(BigDecimal.ZERO);
+		return account;
+	}
+
+	private static Account createAccount(final AccountType accountType, final UUID id) {
+		final Owner owner = new Owner();
+		owner.setCpf("12345678900");
+		owner.setName("Owner");
+
+		final Account account = new Account();
+		account.setId(id);
+		account.setAccountType(accountType);
+		account.setOwner(owner);
+		return account;
+	}
+}
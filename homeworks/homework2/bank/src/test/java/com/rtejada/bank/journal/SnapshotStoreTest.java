@@ -0,0 +1,133 @@
+package com.rtejada.bank.journal;
+
+import com.rtejada.bank.model.Account;
+import com.rtejada.bank.model.AccountType;
+import com.rtejada.bank.model.Owner;
+import com.rtejada.bank.model.Statement;
+import com.rtejada.bank.repository.AccountStore;
+import com.rtejada.bank.service.CreditAccountService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SnapshotStoreTest {
+
+	private static final int SEGMENT_SIZE = 256 * 1024;
+
+	@TempDir
+	Path directory;
+
+	@Test
+	public void shouldStartWithoutSnapshot() {
+		assertEquals(0L, new SnapshotStore(directory).load(new AccountStore()));
+	}
+
+	@Test
+	public void shouldRestoreSnapshotTakenUnderTraffic() throws Exception {
+		final List<UUID> ids = new ArrayList<>();
+		final List<List<Statement>> statements = new ArrayList<>();
+		final List<BigDecimal> balances = new ArrayList<>();
+		final long position;
+
+		try (MappedJournal journal = new MappedJournal(directory, SEGMENT_SIZE, true)) {
+			final AccountStore accountStore = new AccountStore(journal);
+			final CreditAccountService creditAccountService = new CreditAccountService(accountStore);
+			final Snapshotter snapshotter = new Snapshotter(journal, accountStore, new SnapshotStore(directory));
+
+			for (int i = 0; i < 200; i++) {
+				ids.add(creditAccountService.createAccount(createAccount()).getId());
+			}
+
+			final ExecutorService executor = Executors.newSingleThreadExecutor();
+			final Future<?> traffic = executor.submit(() -> {
+				for (int round = 0; round < 20; round++) {
+					for (UUID id : ids) {
+						creditAccountService.deposit(BigDecimal.valueOf(round + 1), id);
+					}
+				}
+			});
+
+			position = snapshotter.snapshot();
+			traffic.get();
+			executor.shutdown();
+
+			for (UUID id : ids) {
+				creditAccountService.withdraw(BigDecimal.ONE, id);
+				balances.add(creditAccountService.getBalance(id).orElseThrow(IllegalStateException::new));
+				statements.add(creditAccountService.getStatement(id));
+			}
+
+			snapshotter.close();
+		}
+
+		assertTrue(position > 1);
+		assertFalse(segmentNames().contains(String.format("journal-%012d.log", 1)));
+
+		try (MappedJournal journal = new MappedJournal(directory, SEGMENT_SIZE, true)) {
+			final AccountStore accountStore = new AccountStore(journal);
+			accountStore.replay(new SnapshotStore(directory).load(accountStore));
+
+			assertEquals(ids.size(), accountStore.size());
+			for (int i = 0; i < ids.size(); i++) {
+				final Account account = accountStore.find(ids.get(i)).orElseThrow(IllegalStateException::new);
+				assertEquals(balances.get(i), account.getBalance());
+				assertEquals("52998224725", account.getOwner().getCpf());
+				assertEquals(statements.get(i).size(), account.getStatementList().size());
+				for (int j = 0; j < statements.get(i).size(); j++) {
+					assertEquals(statements.get(i).get(j).getDate(), account.getStatementList().get(j).getDate());
+					assertEquals(statements.get(i).get(j).getValue(), account.getStatementList().get(j).getValue());
+				}
+			}
+		}
+	}
+
+	@Test
+	public void shouldRejectCorruptSnapshot() throws IOException {
+		try (MappedJournal journal = new MappedJournal(directory, SEGMENT_SIZE, true)) {
+			final AccountStore accountStore = new AccountStore(journal);
+			new CreditAccountService(accountStore).createAccount(createAccount());
+			new Snapshotter(journal, accountStore, new SnapshotStore(directory)).snapshot();
+		}
+
+		final Path snapshot = directory.resolve(segmentNames().stream()
+				.filter(name -> name.startsWith("snapshot-"))
+				.findFirst()
+				.orElseThrow(IllegalStateException::new));
+		final byte[] bytes = Files.readAllBytes(snapshot);
+		bytes[bytes.length / 2] ^= 0x5a;
+		Files.write(snapshot, bytes);
+
+		assertThrows(RuntimeException.class, () -> new SnapshotStore(directory).load(new AccountStore()));
+	}
+
+	private List<String> segmentNames() throws IOException {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.map(path -> path.getFileName().toString()).sorted().collect(Collectors.toList());
+		}
+	}
+
+	private static Account createAccount() {
+		final Owner owner = new Owner();
+		owner.setCpf("52998224725");
+		owner.setName("Owner");
+
+		final Account account = new Account();
+		account.setAccountType(AccountType.CREDIT);
+		account.setOwner(owner);
+		return account;
+	}
+}
@@ -0,0 +1,93 @@
+package com.rtejada.bank.loadgen;
+
+import com.rtejada.bank.BankApplication;
+import com.rtejada.bank.support.HttpLoadClient;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import reactor.netty.DisposableServer;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+final class ApiVersionComparison {
+
+	private static final int ACCOUNTS = 100;
+	private static final int ROUNDS = 2;
+
+	private ApiVersionComparison() {
+	}
+
+	static void run(final PrintStream out, final Path directory, final int requestedConnections) throws IOException, InterruptedException {
+		final int connections = HttpLoadClient.connectionsWithinDescriptorLimit(requestedConnections);
+		final ConfigurableApplicationContext context = new SpringApplicationBuilder(BankApplication.class)
+				.properties(
+						"server.port=0",
+						"server.tomcat.max-connections=" + (connections + 1_000),
+						"server.tomcat.accept-count=" + connections,
+						"bank.v2.port=0",
+						"bank.journal.directory=" + directory,
+						"bank.journal.snapshot-interval-seconds=3600")
+				.run();
+
+		try {
+			final int v1Port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+			final int v2Port = context.getBean(DisposableServer.class).port();
+
+			for (int round = 0; round < ROUNDS; round++) {
+				measure(out, "v1", v1Port, connections);
+				measure(out, "v2", v2Port, connections);
+			}
+		} finally {
+			context.close();
+		}
+	}
+
+	private static void measure(final PrintStream out, final String version, final int port, final int connections)
+			throws IOException, InterruptedException {
+		final List<String> paths = new ArrayList<>();
+		for (int i = 0; i < ACCOUNTS; i++) {
+			paths.add("/" + version + "/credit-accounts/" + HttpLoadClient.createAccount(port, "/" + version + "/credit-accounts") + "/deposit");
+		}
+
+		System.gc();
+		final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+		final long baseHeap = memory.getHeapMemoryUsage().getUsed();
+		final int baseThreads = threads.getThreadCount();
+		final AtomicInteger peakThreads = new AtomicInteger(baseThreads);
+		final AtomicLong peakHeap = new AtomicLong(baseHeap);
+
+		final Thread sampler = new Thread(() -> {
+			while (!Thread.currentThread().isInterrupted()) {
+				peakThreads.accumulateAndGet(threads.getThreadCount(), Math::max);
+				peakHeap.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+				try {
+					Thread.sleep(20);
+				} catch (InterruptedException e) {
+					return;
+				}
+			}
+		});
+		sampler.setDaemon(true);
+		sampler.start();
+
+		final long start = System.nanoTime();
+		final long[] latencies = HttpLoadClient.post(port, paths, "{\"value\":1}", connections);
+		final double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+		sampler.interrupt();
+		sampler.join();
+
+		out.printf("%s: %d connections in %.2fs (%.0f req/s), %s, threads +%d, heap +%dMB%n",
+				version, connections, seconds, connections / seconds, HttpLoadClient.summary(latencies),
+				peakThreads.get() - baseThreads, (peakHeap.get() - baseHeap) / (1024 * 1024));
+	}
+}
@@ -0,0 +1,77 @@
+package com.rtejada.bank.loadgen;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public final class LoadGeneratorMain {
+
+	private LoadGeneratorMain() {
+	}
+
+	public static void main(final String[] args) throws IOException, InterruptedException {
+		final String scenario = System.getProperty("loadgen.scenario", "open-model");
+		switch (scenario) {
+			case "open-model":
+				runOpenModel();
+				break;
+			case "thread-modes":
+				ThreadModeComparison.run(System.out, workDirectory(scenario), Integer.getInteger("loadgen.connections", 10_000));
+				break;
+			case "api-versions":
+				ApiVersionComparison.run(System.out, workDirectory(scenario), Integer.getInteger("loadgen.connections", 5_000));
+				break;
+			default:
+				throw new IllegalArgumentException("Unknown scenario: " + scenario);
+		}
+	}
+
+	private static void runOpenModel() throws IOException, InterruptedException {
+		final String target = System.getProperty("loadgen.target", "services");
+		final String[] engines = System.getProperty("loadgen.engine", "direct").split(",");
+		final int accounts = Integer.getInteger("loadgen.accounts", 1_000);
+		final int threads = Integer.getInteger("loadgen.threads", 64);
+		final long warmupNanos = TimeUnit.SECONDS.toNanos(Long.getLong("loadgen.warmup", 5L));
+		final long durationNanos = TimeUnit.SECONDS.toNanos(Long.getLong("loadgen.duration", 30L));
+		final long drainNanos = TimeUnit.SECONDS.toNanos(Long.getLong("loadgen.drain", 30L));
+		final boolean spectrum = Boolean.parseBoolean(System.getProperty("loadgen.spectrum", "true"));
+
+		for (String engine : "rest".equals(target) ? new String[]{"rest"} : engines) {
+			final ExecutorService executor = Executors.newFixedThreadPool(threads);
+			try (LoadTarget loadTarget = "rest".equals(target)
+					? new RestLoadTarget(System.getProperty("loadgen.url", "http://localhost:8080"), accounts)
+					: new ServiceLoadTarget(engine.trim(), journalDirectory(engine.trim()), accounts)) {
+				final LoadReport report = new OpenModelLoadGenerator(executor)
+						.operation("deposit", rate("deposit", 1_000), loadTarget.deposit())
+						.operation("withdraw", rate("withdraw", 1_000), loadTarget.withdraw())
+						.operation("transfer", rate("transfer", 500), loadTarget.transfer())
+						.operation("getStatement", rate("statement", 200), loadTarget.statement())
+						.run(warmupNanos, durationNanos, drainNanos);
+
+				System.out.printf("%n== %s (%d threads, %d accounts) ==%n", engine.trim(), threads, accounts);
+				report.print(System.out, spectrum);
+			} finally {
+				executor.shutdownNow();
+				executor.awaitTermination(10, TimeUnit.SECONDS);
+			}
+		}
+	}
+
+	private static double rate(final String operation, final double defaultRate) {
+		return Double.parseDouble(System.getProperty("loadgen.rate." + operation, String.valueOf(defaultRate)));
+	}
+
+	private static Path journalDirectory(final String engine) {
+		final String directory = System.getProperty("loadgen.journal", "");
+		return directory.isEmpty() ? null : Paths.get(directory, engine);
+	}
+
+	private static Path workDirectory(final String scenario) throws IOException {
+		final String directory = System.getProperty("loadgen.journal", "");
+		return directory.isEmpty() ? Files.createTempDirectory("bank-" + scenario) : Paths.get(directory, scenario);
+	}
+}
@@ -0,0 +1,97 @@
+package com.rtejada.bank.loadgen;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class LoadReport {
+
+	private static final double MICROS_PER_MILLI = 1_000.0;
+
+	private final long durationNanos;
+	private final Map<String, Result> results = new LinkedHashMap<>();
+
+	LoadReport(final long durationNanos) {
+		this.durationNanos = durationNanos;
+	}
+
+	void add(final String name, final double targetRate, final long dispatched, final long errors, final long pending,
+			 final Histogram responseTime, final Histogram serviceTime) {
+		results.put(name, new Result(targetRate, dispatched, errors, pending, responseTime, serviceTime));
+	}
+
+	public Result get(final String name) {
+		return results.get(name);
+	}
+
+	public Map<String, Result> getResults() {
+		return results;
+	}
+
+	public void print(final PrintStream out, final boolean spectrum) {
+		out.printf("%-12s %10s %10s %8s %8s %10s %10s %10s %10s %10s%n",
+				"operation", "target/s", "actual/s", "errors", "pending", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "svc p99 ms");
+
+		for (Map.Entry<String, Result> entry : results.entrySet()) {
+			final Result result = entry.getValue();
+			out.printf("%-12s %10.0f %10.0f %8d %8d %10.3f %10.3f %10.3f %10.3f %10.3f%n",
+					entry.getKey(), result.targetRate, result.dispatched * 1_000_000_000.0 / durationNanos, result.errors, result.pending,
+					millis(result.responseTime.getValueAtPercentile(50)), millis(result.responseTime.getValueAtPercentile(99)),
+					millis(result.responseTime.getValueAtPercentile(99.9)), millis(result.responseTime.getMaxValue()),
+					millis(result.serviceTime.getValueAtPercentile(99)));
+		}
+
+		if (spectrum) {
+			for (Map.Entry<String, Result> entry : results.entrySet()) {
+				out.printf("%n%s response time (ms, from intended start)%n", entry.getKey());
+				entry.getValue().responseTime.outputPercentileDistribution(out, 5, MICROS_PER_MILLI);
+			}
+		}
+	}
+
+	private static double millis(final long micros) {
+		return micros / MICROS_PER_MILLI;
+	}
+
+	public static final class Result {
+
+		private final double targetRate;
+		private final long dispatched;
+		private final long errors;
+		private final long pending;
+		private final Histogram responseTime;
+		private final Histogram serviceTime;
+
+		private Result(final double targetRate, final long dispatched, final long errors, final long pending,
+					   final Histogram responseTime, final Histogram serviceTime) {
+			this.targetRate = targetRate;
+			this.dispatched = dispatched;
+			this.errors = errors;
+			this.pending = pending;
+			this.responseTime = responseTime;
+			this.serviceTime = serviceTime;
+		}
+
+		public long getDispatched() {
+			return dispatched;
+		}
+
+		public long getErrors() {
+			return errors;
+		}
+
+		public long getPending() {
+			return pending;
+		}
+
+		public Histogram getResponseTime() {
+			return responseTime;
+		}
+
+		public Histogram getServiceTime() {
+			return serviceTime;
+		}
+	}
+}
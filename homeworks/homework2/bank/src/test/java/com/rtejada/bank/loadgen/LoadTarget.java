@@ -0,0 +1,14 @@
+package com.rtejada.bank.loadgen;
+
+import java.io.Closeable;
+
+public interface LoadTarget extends Closeable {
+
+	Operation deposit();
+
+	Operation withdraw();
+
+	Operation transfer();
+
+	Operation statement();
+}
@@ -0,0 +1,146 @@
+package com.rtejada.bank.loadgen;
+
+import org.HdrHistogram.Recorder;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+public class OpenModelLoadGenerator {
+
+	private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+	private static final int SIGNIFICANT_DIGITS = 3;
+
+	private final Executor executor;
+	private final Map<String, Schedule> schedules = new LinkedHashMap<>();
+
+	public OpenModelLoadGenerator(final Executor executor) {
+		this.executor = executor;
+	}
+
+	public OpenModelLoadGenerator operation(final String name, final double ratePerSecond, final Operation operation) {
+		if (ratePerSecond <= 0) {
+			throw new IllegalArgumentException("Arrival rate must be positive: " + name + "=" + ratePerSecond);
+		}
+
+		schedules.put(name, new Schedule(name, ratePerSecond, operation));
+		return this;
+	}
+
+	public LoadReport run(final long warmupNanos, final long durationNanos, final long drainNanos) {
+		final List<Schedule> active = new ArrayList<>(schedules.values());
+		final long start = System.nanoTime();
+		final long measureFrom = start + warmupNanos;
+		final long end = measureFrom + durationNanos;
+
+		for (Schedule schedule : active) {
+			schedule.start(start);
+		}
+
+		while (true) {
+			Schedule next = null;
+			for (Schedule schedule : active) {
+				if (schedule.intendedStart < end && (next == null || schedule.intendedStart < next.intendedStart)) {
+					next = schedule;
+				}
+			}
+			if (next == null) {
+				break;
+			}
+
+			final long wait = next.intendedStart - System.nanoTime();
+			if (wait > 0) {
+				LockSupport.parkNanos(wait);
+				continue;
+			}
+
+			dispatch(next, next.intendedStart, next.intendedStart >= measureFrom);
+			next.advance();
+		}
+
+		final long drainDeadline = System.nanoTime() + drainNanos;
+		for (Schedule schedule : active) {
+			while (schedule.outstanding.get() > 0 && System.nanoTime() < drainDeadline) {
+				LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+			}
+		}
+
+		final LoadReport report = new LoadReport(durationNanos);
+		for (Schedule schedule : active) {
+			report.add(schedule.name, schedule.ratePerSecond, schedule.dispatched.get(), schedule.errors.get(),
+					schedule.outstanding.get(), schedule.responseTime.getIntervalHistogram(), schedule.serviceTime.getIntervalHistogram());
+		}
+		return report;
+	}
+
+	private void dispatch(final Schedule schedule, final long intendedStart, final boolean measured) {
+		schedule.outstanding.incrementAndGet();
+		if (measured) {
+			schedule.dispatched.incrementAndGet();
+		}
+
+		executor.execute(() -> {
+			final long actualStart = System.nanoTime();
+			CompletionStage<?> result;
+			try {
+				result = schedule.operation.execute();
+			} catch (Throwable e) {
+				final CompletableFuture<Object> failed = new CompletableFuture<>();
+				failed.completeExceptionally(e);
+				result = failed;
+			}
+
+			result.whenComplete((value, error) -> {
+				final long now = System.nanoTime();
+				if (measured) {
+					if (error != null) {
+						schedule.errors.incrementAndGet();
+					}
+					schedule.responseTime.recordValue(Math.min(HIGHEST_TRACKABLE_MICROS, (now - intendedStart) / 1_000));
+					schedule.serviceTime.recordValue(Math.min(HIGHEST_TRACKABLE_MICROS, (now - actualStart) / 1_000));
+				}
+				schedule.outstanding.decrementAndGet();
+			});
+		});
+	}
+
+	private static final class Schedule {
+
+		private final String name;
+		private final double ratePerSecond;
+		private final Operation operation;
+		private final Recorder responseTime = new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+		private final Recorder serviceTime = new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+		private final AtomicLong dispatched = new AtomicLong();
+		private final AtomicLong errors = new AtomicLong();
+		private final AtomicLong outstanding = new AtomicLong();
+
+		private long origin;
+		private long sequence;
+		private long intendedStart;
+
+		private Schedule(final String name, final double ratePerSecond, final Operation operation) {
+			this.name = name;
+			this.ratePerSecond = ratePerSecond;
+			this.operation = operation;
+		}
+
+		private void start(final long origin) {
+			this.origin = origin;
+			this.sequence = 0L;
+			this.intendedStart = origin;
+		}
+
+		private void advance() {
+			sequence++;
+			intendedStart = origin + (long) (sequence * 1_000_000_000.0 / ratePerSecond);
+		}
+	}
+}
@@ -0,0 +1,76 @@
+package com.rtejada.bank.loadgen;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class OpenModelLoadGeneratorTest {
+
+	private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+	@Test
+	public void shouldDispatchAtFixedArrivalRate() {
+		final ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			final LoadReport report = new OpenModelLoadGenerator(executor)
+					.operation("noop", 2_000, () -> CompletableFuture.completedFuture(null))
+					.run(0L, SECOND, SECOND);
+
+			final LoadReport.Result result = report.get("noop");
+			assertEquals(2_000, result.getDispatched(), 20);
+			assertEquals(result.getDispatched(), result.getResponseTime().getTotalCount());
+			assertEquals(0L, result.getErrors());
+			assertEquals(0L, result.getPending());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void shouldChargeStallsToQueuedRequests() {
+		final ExecutorService executor = Executors.newSingleThreadExecutor();
+		final AtomicInteger calls = new AtomicInteger();
+		try {
+			final LoadReport report = new OpenModelLoadGenerator(executor)
+					.operation("stall", 1_000, () -> {
+						if (calls.incrementAndGet() == 200) {
+							Thread.sleep(200);
+						}
+						return CompletableFuture.completedFuture(null);
+					})
+					.run(0L, SECOND, SECOND);
+
+			final LoadReport.Result result = report.get("stall");
+
+			assertTrue(result.getResponseTime().getValueAtPercentile(99) >= TimeUnit.MILLISECONDS.toMicros(100));
+			assertTrue(result.getServiceTime().getValueAtPercentile(99) < TimeUnit.MILLISECONDS.toMicros(50));
+			assertTrue(result.getResponseTime().getMaxValue() >= TimeUnit.MILLISECONDS.toMicros(190));
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void shouldCountFailedOperations() {
+		final ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			final LoadReport report = new OpenModelLoadGenerator(executor)
+					.operation("failing", 500, () -> {
+						throw new IllegalStateException("boom");
+					})
+					.run(0L, SECOND / 2, SECOND);
+
+			final LoadReport.Result result = report.get("failing");
+			assertEquals(result.getDispatched(), result.getErrors());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}
@@ -0,0 +1,9 @@
+package com.rtejada.bank.loadgen;
+
+import java.util.concurrent.CompletionStage;
+
+@FunctionalInterface
+public interface Operation {
+
+	CompletionStage<?> execute() throws Exception;
+}
@@ -0,0 +1,100 @@
+package com.rtejada.bank.loadgen;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class RestLoadTarget implements LoadTarget {
+
+	private static final String CREDIT_ACCOUNTS = "/v1/credit-accounts";
+
+	private final String baseUrl;
+	private final String[] accounts;
+
+	public RestLoadTarget(final String baseUrl, final int accounts) throws IOException {
+		this.baseUrl = baseUrl;
+		this.accounts = new String[accounts];
+
+		final ObjectMapper objectMapper = new ObjectMapper();
+		for (int i = 0; i < accounts; i++) {
+			final String response = send("POST", CREDIT_ACCOUNTS, "{\"name\":\"load-" + i + "\",\"cpf\":\"52998224725\"}");
+			this.accounts[i] = objectMapper.readTree(response).get("id").asText();
+			send("POST", CREDIT_ACCOUNTS + "/" + this.accounts[i] + "/deposit", "{\"value\":1000000000}");
+		}
+	}
+
+	public Operation deposit() {
+		return () -> CompletableFuture.completedFuture(
+				send("POST", CREDIT_ACCOUNTS + "/" + randomAccount() + "/deposit", "{\"value\":10}"));
+	}
+
+	public Operation withdraw() {
+		return () -> CompletableFuture.completedFuture(
+				send("POST", CREDIT_ACCOUNTS + "/" + randomAccount() + "/withdraw", "{\"value\":10}"));
+	}
+
+	public Operation transfer() {
+		return () -> {
+			final String source = randomAccount();
+			String target = randomAccount();
+			while (accounts.length > 1 && target.equals(source)) {
+				target = randomAccount();
+			}
+
+			return CompletableFuture.completedFuture(send("POST", "/v1/transfers", "{\"sourceId\":\"" + source
+					+ "\",\"sourceType\":\"CREDIT\",\"targetId\":\"" + target + "\",\"targetType\":\"CREDIT\",\"amount\":10}"));
+		};
+	}
+
+	public Operation statement() {
+		return () -> CompletableFuture.completedFuture(send("GET", CREDIT_ACCOUNTS + "/" + randomAccount() + "/statement?limit=100", null));
+	}
+
+	public void close() {
+	}
+
+	private String randomAccount() {
+		return accounts[ThreadLocalRandom.current().nextInt(accounts.length)];
+	}
+
+	private String send(final String method, final String path, final String body) throws IOException {
+		final HttpURLConnection connection = (HttpURLConnection) new URL(baseUrl + path).openConnection();
+		connection.setRequestMethod(method);
+		connection.setRequestProperty("Accept", "application/json");
+
+		if (body != null) {
+			connection.setDoOutput(true);
+			connection.setRequestProperty("Content-Type", "application/json");
+			try (OutputStream out = connection.getOutputStream()) {
+				out.write(body.getBytes(StandardCharsets.UTF_8));
+			}
+		}
+
+		final int status = connection.getResponseCode();
+		try (InputStream in = status / 100 == 2 ? connection.getInputStream() : connection.getErrorStream()) {
+			final String response = in == null ? "" : read(in);
+			if (status / 100 != 2) {
+				throw new IOException(method + " " + path + " failed with " + status + ": " + response);
+			}
+			return response;
+		}
+	}
+
+	private static String read(final InputStream in) throws IOException {
+		final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		final byte[] chunk = new byte[8192];
+		int read;
+		while ((read = in.read(chunk)) != -1) {
+			buffer.write(chunk, 0, read);
+		}
+		return new String(buffer.toByteArray(), StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,118 @@
+package com.rtejada.bank.loadgen;
+
+import com.rtejada.bank.engine.CommandExecutor;
+import com.rtejada.bank.engine.DirectCommandExecutor;
+import com.rtejada.bank.engine.DirectTransactionGateway;
+import com.rtejada.bank.engine.RingBufferPipeline;
+import com.rtejada.bank.engine.ShardedCommandEngine;
+import com.rtejada.bank.engine.TransactionGateway;
+import com.rtejada.bank.journal.Journal;
+import com.rtejada.bank.journal.MappedJournal;
+import com.rtejada.bank.journal.NoOpJournal;
+import com.rtejada.bank.model.Account;
+import com.rtejada.bank.model.AccountType;
+import com.rtejada.bank.model.Owner;
+import com.rtejada.bank.model.Transfer;
+import com.rtejada.bank.repository.AccountStore;
+import com.rtejada.bank.service.CreditAccountService;
+import com.rtejada.bank.service.SaveAccountService;
+import com.rtejada.bank.service.TransferService;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class ServiceLoadTarget implements LoadTarget {
+
+	private static final BigDecimal OPENING_BALANCE = new BigDecimal("1000000000.00");
+	private static final BigDecimal AMOUNT = new BigDecimal("10.00");
+	private static final int PAGE_SIZE = 100;
+
+	private final Journal journal;
+	private final CreditAccountService creditAccountService;
+	private final CommandExecutor commandExecutor;
+	private final TransactionGateway transactionGateway;
+	private final UUID[] accounts;
+
+	public ServiceLoadTarget(final String engine, final Path journalDirectory, final int accounts) {
+		this.journal = journalDirectory == null ? new NoOpJournal() : new MappedJournal(journalDirectory, MappedJournal.DEFAULT_SEGMENT_SIZE, true);
+
+		final AccountStore accountStore = new AccountStore(journal);
+		this.creditAccountService = new CreditAccountService(accountStore);
+		final SaveAccountService saveAccountService = new SaveAccountService(accountStore);
+		final TransferService transferService = new TransferService(creditAccountService, saveAccountService, accountStore);
+
+		switch (engine) {
+			case "direct":
+				this.commandExecutor = new DirectCommandExecutor();
+				this.transactionGateway = new DirectTransactionGateway(creditAccountService, saveAccountService, transferService, commandExecutor);
+				break;
+			case "sharded":
+				this.commandExecutor = new ShardedCommandEngine(accountStore, Runtime.getRuntime().availableProcessors(), 16_384);
+				this.transactionGateway = new DirectTransactionGateway(creditAccountService, saveAccountService, transferService, commandExecutor);
+				break;
+			case "pipeline":
+				this.commandExecutor = new DirectCommandExecutor();
+				this.transactionGateway = new RingBufferPipeline(creditAccountService, saveAccountService, transferService, accountStore, 65_536);
+				break;
+			default:
+				throw new IllegalArgumentException("Unknown engine: " + engine);
+		}
+
+		this.accounts = new UUID[accounts];
+		for (int i = 0; i < accounts; i++) {
+			final Owner owner = new Owner();
+			owner.setCpf("52998224725");
+			owner.setName("load-" + i);
+
+			final Account account = new Account();
+			account.setAccountType(AccountType.CREDIT);
+			account.setOwner(owner);
+
+			this.accounts[i] = creditAccountService.createAccount(account).getId();
+			creditAccountService.deposit(OPENING_BALANCE, this.accounts[i]);
+		}
+	}
+
+	public Operation deposit() {
+		return () -> transactionGateway.deposit(AccountType.CREDIT, randomAccount(), AMOUNT);
+	}
+
+	public Operation withdraw() {
+		return () -> transactionGateway.withdraw(AccountType.CREDIT, randomAccount(), AMOUNT);
+	}
+
+	public Operation transfer() {
+		return () -> {
+			final UUID source = randomAccount();
+			UUID target = randomAccount();
+			while (accounts.length > 1 && target.equals(source)) {
+				target = randomAccount();
+			}
+
+			final Transfer transfer = new Transfer();
+			transfer.setSourceId(source);
+			transfer.setSourceType(AccountType.CREDIT);
+			transfer.setTargetId(target);
+			transfer.setTargetType(AccountType.CREDIT);
+			transfer.setAmount(AMOUNT);
+			return transactionGateway.transfer(transfer);
+		};
+	}
+
+	public Operation statement() {
+		return () -> CompletableFuture.completedFuture(creditAccountService.getStatement(randomAccount(), 0, PAGE_SIZE));
+	}
+
+	public void close() {
+		transactionGateway.close();
+		commandExecutor.close();
+		journal.close();
+	}
+
+	private UUID randomAccount() {
+		return accounts[ThreadLocalRandom.current().nextInt(accounts.length)];
+	}
+}
@@ -0,0 +1,61 @@
+package com.rtejada.bank.loadgen;
+
+import com.rtejada.bank.BankApplication;
+import com.rtejada.bank.config.VirtualThreads;
+import com.rtejada.bank.support.HttpLoadClient;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+final class ThreadModeComparison {
+
+	private static final int ACCOUNTS = 100;
+
+	private ThreadModeComparison() {
+	}
+
+	static void run(final PrintStream out, final Path directory, final int requestedConnections) throws IOException {
+		if (!VirtualThreads.isSupported()) {
+			out.println("Virtual threads are not supported on this JVM; run on JDK 21 or newer.");
+			return;
+		}
+
+		final int connections = HttpLoadClient.connectionsWithinDescriptorLimit(requestedConnections);
+
+		for (String mode : new String[]{"platform", "virtual"}) {
+			final ConfigurableApplicationContext context = new SpringApplicationBuilder(BankApplication.class)
+					.properties(
+							"server.port=0",
+							"server.tomcat.max-connections=" + (connections + 1_000),
+							"server.tomcat.accept-count=" + connections,
+							"bank.server.threads=" + mode,
+							"bank.v2.enabled=false",
+							"bank.journal.directory=" + directory.resolve(mode),
+							"bank.journal.snapshot-interval-seconds=3600")
+					.run();
+
+			try {
+				final int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+				final List<String> paths = new ArrayList<>();
+				for (int i = 0; i < ACCOUNTS; i++) {
+					paths.add("/v1/credit-accounts/" + HttpLoadClient.createAccount(port, "/v1/credit-accounts") + "/deposit");
+				}
+
+				final long start = System.nanoTime();
+				final long[] latencies = HttpLoadClient.post(port, paths, "{\"value\":1}", connections);
+				final double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+				out.printf("%s threads: %d connections in %.2fs (%.0f req/s), %s%n",
+						mode, connections, seconds, connections / seconds, HttpLoadClient.summary(latencies));
+			} finally {
+				context.close();
+			}
+		}
+	}
+}
@@ -0,0 +1,169 @@
+package com.rtejada.bank.metrics;
+
+import com.rtejada.bank.engine.DirectCommandExecutor;
+import com.rtejada.bank.engine.DirectTransactionGateway;
+import com.rtejada.bank.exception.InvalidTransactionException;
+import com.rtejada.bank.model.Account;
+import com.rtejada.bank.model.AccountType;
+import com.rtejada.bank.model.Owner;
+import com.rtejada.bank.model.Transfer;
+import com.rtejada.bank.repository.AccountStore;
+import com.rtejada.bank.service.CreditAccountService;
+import com.rtejada.bank.service.IdempotencyService;
+import com.rtejada.bank.service.SaveAccountService;
+import com.rtejada.bank.service.TransferService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ServiceMetricsAspectTest {
+
+	private MeterRegistry meterRegistry;
+	private AccountStore accountStore;
+	private CreditAccountService creditAccountService;
+	private SaveAccountService saveAccountService;
+	private TransferService transferService;
+
+	@BeforeEach
+	public void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		accountStore = new AccountStore();
+
+		final MeterTransactionListener listener = new MeterTransactionListener(meterRegistry);
+		final ServiceMetricsAspect aspect = new ServiceMetricsAspect(meterRegistry);
+
+		creditAccountService = proxy(new CreditAccountService(accountStore, listener), aspect);
+		saveAccountService = proxy(new SaveAccountService(accountStore, listener), aspect);
+		transferService = proxy(new TransferService(creditAccountService, saveAccountService, accountStore, listener), aspect);
+	}
+
+	@Test
+	public void shouldTimeAccountOperationsByAccountType() {
+		final UUID credit = createAccount(creditAccountService, AccountType.CREDIT);
+		final UUID saving = createAccount(saveAccountService, AccountType.SAVING);
+
+		creditAccountService.deposit(BigDecimal.TEN, credit);
+		creditAccountService.deposit(BigDecimal.TEN, credit);
+		saveAccountService.deposit(BigDecimal.TEN, saving);
+
+		assertEquals(2L, meterRegistry.get("bank.account.operation")
+				.tag("account.type", "CREDIT").tag("operation", "deposit").tag("exception", "none")
+				.timer().count());
+		assertEquals(1L, meterRegistry.get("bank.account.operation")
+				.tag("account.type", "SAVING").tag("operation", "deposit")
+				.timer().count());
+		assertEquals(2.0, meterRegistry.get("bank.transactions")
+				.tag("account.type", "CREDIT").tag("type", "DEPOSIT")
+				.counter().count());
+	}
+
+	@Test
+	public void shouldCountFeeRevenueForWithdrawAndTransfer() {
+		final UUID source = createAccount(creditAccountService, AccountType.CREDIT);
+		final UUID target = createAccount(creditAccountService, AccountType.CREDIT);
+		creditAccountService.deposit(BigDecimal.valueOf(1000), source);
+
+		for (int i = 0; i < 5; i++) {
+			creditAccountService.withdraw(BigDecimal.valueOf(100), source);
+		}
+		transferService.transfer(transfer(source, target, BigDecimal.valueOf(100)));
+
+		assertEquals(5.0, meterRegistry.get("bank.transactions")
+				.tag("account.type", "CREDIT").tag("type", "WITHDRAW")
+				.counter().count());
+		assertEquals(7.0, meterRegistry.get("bank.fees.revenue")
+				.tag("account.type", "CREDIT").tag("type", "WITHDRAW")
+				.counter().count(), 1e-9);
+		assertEquals(5.0, meterRegistry.get("bank.fees.revenue")
+				.tag("account.type", "CREDIT").tag("type", "TRANSFER")
+				.counter().count(), 1e-9);
+		assertEquals(1L, meterRegistry.get("bank.transfer.operation")
+				.tag("source.type", "CREDIT").tag("target.type", "CREDIT").tag("operation", "transfer")
+				.timer().count());
+	}
+
+	@Test
+	public void shouldCountRejectionOnceByReason() {
+		final UUID source = createAccount(creditAccountService, AccountType.CREDIT);
+		final UUID target = createAccount(creditAccountService, AccountType.CREDIT);
+
+		assertThrows(InvalidTransactionException.class,
+				() -> transferService.transfer(transfer(source, target, BigDecimal.TEN)));
+		assertThrows(InvalidTransactionException.class,
+				() -> creditAccountService.deposit(BigDecimal.ZERO, source));
+
+		assertEquals(1.0, meterRegistry.get("bank.rejections")
+				.tag("operation", "transfer").tag("reason", "Cannot withdraw more than current balance")
+				.counter().count());
+		assertEquals(1.0, meterRegistry.get("bank.rejections")
+				.tag("reason", "Cannot withdraw more than current balance")
+				.counters().stream().mapToDouble(counter -> counter.count()).sum());
+		assertEquals(1.0, meterRegistry.get("bank.rejections")
+				.tag("operation", "deposit").tag("reason", "Cannot deposit negative value")
+				.counter().count());
+		assertEquals(1L, meterRegistry.get("bank.account.operation")
+				.tag("operation", "withdrawForTransfer").tag("exception", "InvalidTransactionException")
+				.timer().count());
+		assertEquals(0.0, meterRegistry.get("bank.transactions")
+				.tag("account.type", "CREDIT").tag("type", "TRANSFER")
+				.counter().count());
+	}
+
+	@Test
+	public void shouldBindAccountAndStatementGauges() {
+		final UUID first = createAccount(creditAccountService, AccountType.CREDIT);
+		final UUID second = createAccount(creditAccountService, AccountType.CREDIT);
+		creditAccountService.deposit(BigDecimal.TEN, first);
+		creditAccountService.deposit(BigDecimal.TEN, second);
+		creditAccountService.withdraw(BigDecimal.ONE, second);
+
+		final DirectCommandExecutor commandExecutor = new DirectCommandExecutor();
+		new BankMeterBinder(accountStore, new IdempotencyService(16, Long.MAX_VALUE, System::nanoTime), commandExecutor,
+				new DirectTransactionGateway(creditAccountService, saveAccountService, transferService, commandExecutor))
+				.bindTo(meterRegistry);
+
+		assertEquals(2.0, meterRegistry.get("bank.accounts").gauge().value());
+		assertEquals(3.0, meterRegistry.get("bank.statements").gauge().value());
+		assertEquals(0.0, meterRegistry.get("bank.idempotency.entries").gauge().value());
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T proxy(final T target, final ServiceMetricsAspect aspect) {
+		final AspectJProxyFactory factory = new AspectJProxyFactory(target);
+		factory.setProxyTargetClass(true);
+		factory.addAspect(aspect);
+		return (T) factory.getProxy();
+	}
+
+	private static UUID createAccount(final Object service, final AccountType accountType) {
+		final Owner owner = new Owner();
+		owner.setCpf("12345678910");
+		owner.setName("joao");
+
+		final Account account = new Account();
+		account.setAccountType(accountType);
+		account.setOwner(owner);
+
+		return service instanceof SaveAccountService
+				? ((SaveAccountService) service).createAccount(account).getId()
+				: ((CreditAccountService) service).createAccount(account).getId();
+	}
+
+	private static Transfer transfer(final UUID source, final UUID target, final BigDecimal amount) {
+		final Transfer transfer = new Transfer();
+		transfer.setSourceId(source);
+		transfer.setSourceType(AccountType.CREDIT);
+		transfer.setTargetId(target);
+		transfer.setTargetType(AccountType.CREDIT);
+		transfer.setAmount(amount);
+		return transfer;
+	}
+}
@@ -0,0 +1,57 @@
+package com.rtejada.bank.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FeeScheduleTest {
+
+	private static final Rate INITIAL_FEE = Rate.of(new BigDecimal("1.02"));
+	private static final Rate FINAL_FEE = Rate.of(new BigDecimal("1.05"));
+
+	@Test
+	public void shouldMatchBuiltInFeesByDefault() {
+		final FeeSchedule schedule = FeeSchedule.defaults();
+
+		assertEquals(Rate.ONE, schedule.rate(FeeType.CREDIT_WITHDRAW, 0L));
+		assertEquals(Rate.ONE, schedule.rate(FeeType.CREDIT_WITHDRAW, 2L));
+		assertEquals(INITIAL_FEE, schedule.rate(FeeType.CREDIT_WITHDRAW, 3L));
+		assertEquals(FINAL_FEE, schedule.rate(FeeType.CREDIT_WITHDRAW, 4L));
+		assertEquals(INITIAL_FEE, schedule.rate(FeeType.SAVING_WITHDRAW, 0L));
+		assertEquals(FINAL_FEE, schedule.rate(FeeType.CREDIT_TO_CREDIT_TRANSFER, 0L));
+		assertEquals(Rate.ONE, schedule.rate(FeeType.CREDIT_TO_SAVING_TRANSFER, 10L));
+		assertEquals(INITIAL_FEE, schedule.rate(FeeType.SAVING_TO_CREDIT_TRANSFER, 3L));
+		assertEquals(Rate.ONE, schedule.rate(FeeType.SAVING_TO_SAVING_TRANSFER, 10L));
+	}
+
+	@Test
+	public void shouldReadTiersAndOverflowFromProperties() {
+		final Map<String, String> properties = new HashMap<>();
+		properties.put("bank.fees.credit-withdraw.tiers", "1, 1.01");
+		properties.put("bank.fees.credit-withdraw.default", "1.1");
+		properties.put("bank.fees.saving-withdraw.tiers", "");
+		properties.put("bank.fees.saving-withdraw.default", "1");
+
+		final FeeSchedule schedule = FeeSchedule.from(properties::get);
+
+		assertEquals(2, schedule.getTierCount(FeeType.CREDIT_WITHDRAW));
+		assertEquals(Rate.ONE, schedule.rate(FeeType.CREDIT_WITHDRAW, 0L));
+		assertEquals(Rate.of(new BigDecimal("1.01")), schedule.rate(FeeType.CREDIT_WITHDRAW, 1L));
+		assertEquals(Rate.of(new BigDecimal("1.1")), schedule.rate(FeeType.CREDIT_WITHDRAW, 2L));
+		assertEquals(Rate.of(new BigDecimal("1.1")), schedule.rate(FeeType.CREDIT_WITHDRAW, Long.MAX_VALUE));
+		assertEquals(Rate.ONE, schedule.rate(FeeType.SAVING_WITHDRAW, 0L));
+		assertEquals(FINAL_FEE, schedule.rate(FeeType.CREDIT_TO_CREDIT_TRANSFER, 0L));
+	}
+
+	@Test
+	public void shouldRejectInvalidRates() {
+		assertThrows(IllegalArgumentException.class,
+				() -> FeeSchedule.from(key -> key.equals("bank.fees.credit-withdraw.default") ? "0.9" : null));
+		assertThrows(IllegalArgumentException.class,
+				() -> FeeSchedule.from(key -> key.equals("bank.fees.credit-withdraw.tiers") ? "1,abc" : null));
+	}
+}
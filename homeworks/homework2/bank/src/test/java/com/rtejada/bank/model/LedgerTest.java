@@ -0,0 +1,336 @@
+package com.rtejada.bank.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LedgerTest {
+
+	private Ledger ledger;
+
+	@BeforeEach
+	public void setUp() {
+		ledger = new Ledger();
+	}
+
+	@Test
+	public void shouldRoundTripStatements() {
+		final LocalDateTime date = LocalDateTime.of(2000, Month.APRIL, 20, 10, 10, 10, 123456789);
+
+		ledger.append(date, BigDecimal.TEN.negate(), Transaction.WITHDRAW);
+		ledger.append(date.plusMinutes(1), new BigDecimal("12.2000"), Transaction.INCOME);
+
+		assertEquals(2, ledger.size());
+		assertEquals(date, ledger.get(0).getDate());
+		assertEquals(BigDecimal.TEN.negate(), ledger.get(0).getValue());
+		assertEquals(Transaction.WITHDRAW, ledger.get(0).getTransaction());
+		assertEquals(new BigDecimal("12.2000"), ledger.get(1).getValue());
+		assertEquals(Transaction.INCOME, ledger.get(1).getTransaction());
+	}
+
+	@Test
+	public void shouldKeepAmountsThatDoNotFitInLong() {
+		final BigDecimal hugeAmount = BigDecimal.valueOf(Long.MAX_VALUE).add(BigDecimal.valueOf(Long.MAX_VALUE));
+		final BigDecimal preciseAmount = BigDecimal.ONE.movePointLeft(200);
+
+		ledger.append(LocalDateTime.now(), hugeAmount, Transaction.DEPOSIT);
+		ledger.append(LocalDateTime.now(), BigDecimal.ONE, Transaction.DEPOSIT);
+		ledger.append(LocalDateTime.now(), preciseAmount, Transaction.INCOME);
+
+		assertEquals(hugeAmount, ledger.getValue(0));
+		assertEquals(BigDecimal.ONE, ledger.getValue(1));
+		assertEquals(preciseAmount, ledger.getValue(2));
+	}
+
+	@Test
+	public void shouldTruncate() {
+		final BigDecimal hugeAmount = BigDecimal.valueOf(Long.MAX_VALUE).add(BigDecimal.ONE);
+
+		ledger.append(LocalDateTime.now(), BigDecimal.ONE, Transaction.DEPOSIT);
+		ledger.append(LocalDateTime.now(), hugeAmount, Transaction.DEPOSIT);
+		ledger.truncate(1);
+		ledger.append(LocalDateTime.now(), BigDecimal.TEN, Transaction.DEPOSIT);
+
+		assertEquals(2, ledger.size());
+		assertEquals(BigDecimal.TEN, ledger.getValue(1));
+		assertThrows(IllegalArgumentException.class, () -> ledger.truncate(3));
+	}
+
+	@Test
+	public void shouldKeepSnapshotsUnchangedByLaterWrites() {
+		final BigDecimal hugeAmount = BigDecimal.valueOf(Long.MAX_VALUE).add(BigDecimal.ONE);
+
+		ledger.append(LocalDateTime.now(), BigDecimal.ONE, Transaction.DEPOSIT);
+		ledger.append(LocalDateTime.now(), hugeAmount, Transaction.DEPOSIT);
+		final List<Statement> snapshot = ledger.snapshot();
+
+		ledger.truncate(1);
+		ledger.append(LocalDateTime.now(), BigDecimal.TEN, Transaction.WITHDRAW);
+		for (int i = 0; i < 10; i++) {
+			ledger.append(LocalDateTime.now(), BigDecimal.ONE, Transaction.DEPOSIT);
+		}
+
+		assertEquals(2, snapshot.size());
+		assertEquals(hugeAmount, snapshot.get(1).getValue());
+		assertEquals(Transaction.DEPOSIT, snapshot.get(1).getTransaction());
+		assertEquals(12, ledger.snapshot().size());
+		assertEquals(BigDecimal.TEN, ledger.snapshot().get(1).getValue());
+		assertSame(ledger.snapshot(), ledger.snapshot());
+	}
+
+	@Test
+	public void shouldQueryByTimeRangeAndType() {
+		final LocalDateTime start = LocalDateTime.of(2020, Month.JANUARY, 1, 0, 0);
+		final Transaction[] transactions = Transaction.values();
+		for (int i = 0; i < 300; i++) {
+			ledger.append(start.plusMinutes(i), BigDecimal.valueOf(i), transactions[i % transactions.length]);
+		}
+		final Ledger.View view = ledger.snapshot();
+
+		assertEquals(300, view.query(null, null, null).size());
+		assertEquals(100, view.query(start.plusMinutes(100), start.plusMinutes(200), null).size());
+		assertEquals(BigDecimal.valueOf(100), view.query(start.plusMinutes(100), null, null).get(0).getValue());
+		assertTrue(view.query(start.plusYears(1), null, null).isEmpty());
+		assertEquals(300, view.query(LocalDateTime.MIN, LocalDateTime.MAX, null).size());
+
+		final List<Statement> withdrawsAndTransfers = view.query(start.plusMinutes(61), start.plusMinutes(250),
+				EnumSet.of(Transaction.WITHDRAW, Transaction.TRANSFER));
+		final List<Integer> expected = new ArrayList<>();
+		for (int i = 61; i < 250; i++) {
+			if (transactions[i % transactions.length] == Transaction.WITHDRAW || transactions[i % transactions.length] == Transaction.TRANSFER) {
+				expected.add(i);
+			}
+		}
+
+		assertEquals(expected.size(), withdrawsAndTransfers.size());
+		for (int i = 0; i < expected.size(); i++) {
+			assertEquals(BigDecimal.valueOf(expected.get(i)), withdrawsAndTransfers.get(i).getValue());
+		}
+	}
+
+	@Test
+	public void shouldQueryAfterTruncateAndOutOfOrderAppends() {
+		final LocalDateTime start = LocalDateTime.of(2020, Month.JANUARY, 1, 0, 0);
+		for (int i = 0; i < 70; i++) {
+			ledger.append(start.plusMinutes(i), BigDecimal.ONE, Transaction.WITHDRAW);
+		}
+		ledger.truncate(10);
+		for (int i = 10; i < 70; i++) {
+			ledger.append(start.plusMinutes(i), BigDecimal.TEN, Transaction.DEPOSIT);
+		}
+
+		assertEquals(10, ledger.snapshot().query(null, null, EnumSet.of(Transaction.WITHDRAW)).size());
+		assertEquals(60, ledger.snapshot().query(null, null, EnumSet.of(Transaction.DEPOSIT)).size());
+
+		ledger.append(start.minusDays(1), BigDecimal.ONE, Transaction.INCOME);
+
+		assertEquals(1, ledger.snapshot().query(start.minusDays(2), start, null).size());
+		assertEquals(11, ledger.snapshot().query(null, start.plusMinutes(10), EnumSet.of(Transaction.WITHDRAW, Transaction.INCOME)).size());
+	}
+
+	@Test
+	public void shouldAggregateStatementsByDayAndMonth() {
+		final LocalDateTime start = LocalDateTime.of(2020, Month.JANUARY, 30, 12, 0);
+		for (int i = 0; i < 4; i++) {
+			ledger.append(start.plusDays(i), BigDecimal.TEN, Transaction.DEPOSIT);
+			ledger.append(start.plusDays(i).plusHours(1), new BigDecimal("-2.5"), Transaction.WITHDRAW);
+		}
+		final Ledger.View before = ledger.snapshot();
+		ledger.append(start.plusDays(3).plusHours(2), BigDecimal.ONE, Transaction.DEPOSIT);
+
+		final List<StatementSummary> days = ledger.snapshot().summary(Granularity.DAY);
+		final List<StatementSummary> months = ledger.snapshot().summary(Granularity.MONTH);
+
+		assertEquals(8, days.size());
+		assertEquals(start.toLocalDate(), days.get(0).getPeriod());
+		assertEquals(Transaction.WITHDRAW, days.get(0).getTransaction());
+		assertEquals(new BigDecimal("-2.50"), days.get(0).getTotal());
+		assertEquals(Transaction.DEPOSIT, days.get(7).getTransaction());
+		assertEquals(2, days.get(7).getCount());
+		assertEquals(new BigDecimal("11.00"), days.get(7).getTotal());
+		assertEquals(new BigDecimal("10.00"), before.summary(Granularity.DAY).get(7).getTotal());
+
+		assertEquals(4, months.size());
+		assertEquals(LocalDate.of(2020, Month.JANUARY, 1), months.get(0).getPeriod());
+		assertEquals(new BigDecimal("-5.00"), months.get(0).getTotal());
+		assertEquals(LocalDate.of(2020, Month.FEBRUARY, 1), months.get(3).getPeriod());
+		assertEquals(3, months.get(3).getCount());
+		assertEquals(new BigDecimal("21.00"), months.get(3).getTotal());
+	}
+
+	@Test
+	public void shouldKeepSummariesCurrentAfterFirstQuery() {
+		final LocalDateTime start = LocalDateTime.of(2020, Month.MARCH, 1, 12, 0);
+		ledger.append(start, BigDecimal.TEN, Transaction.DEPOSIT);
+		ledger.append(start.plusHours(1), BigDecimal.ONE.negate(), Transaction.WITHDRAW);
+
+		assertEquals(new BigDecimal("10.00"), ledger.snapshot().summary(Granularity.DAY).get(1).getTotal());
+		assertEquals(Transaction.WITHDRAW, ledger.snapshot().query(null, null, EnumSet.of(Transaction.WITHDRAW)).get(0).getTransaction());
+
+		for (int i = 0; i < 100; i++) {
+			ledger.append(start.plusDays(1).plusMinutes(i), BigDecimal.ONE, Transaction.DEPOSIT);
+		}
+		assertEquals(3, ledger.snapshot().summary(Granularity.DAY).size());
+		assertEquals(new BigDecimal("100.00"), ledger.snapshot().summary(Granularity.DAY).get(2).getTotal());
+		assertEquals(1, ledger.snapshot().query(null, null, EnumSet.of(Transaction.WITHDRAW)).size());
+
+		ledger.truncate(52);
+		final List<StatementSummary> months = ledger.snapshot().summary(Granularity.MONTH);
+		assertEquals(2, months.size());
+		assertEquals(51, months.get(1).getCount());
+		assertEquals(new BigDecimal("60.00"), months.get(1).getTotal());
+	}
+
+	@Test
+	public void shouldAggregateOutOfOrderAndTruncatedStatements() {
+		final LocalDateTime start = LocalDateTime.of(2020, Month.MARCH, 10, 0, 0);
+		ledger.append(start, BigDecimal.ONE, Transaction.DEPOSIT);
+		ledger.append(start.plusDays(2), BigDecimal.ONE, Transaction.DEPOSIT);
+		final Ledger.View before = ledger.snapshot();
+
+		ledger.append(start.minusDays(1), BigDecimal.TEN, Transaction.INCOME);
+		ledger.append(start.plusHours(1), BigDecimal.TEN, Transaction.DEPOSIT);
+
+		final List<StatementSummary> days = ledger.snapshot().summary(Granularity.DAY);
+		assertEquals(3, days.size());
+		assertEquals(Transaction.INCOME, days.get(0).getTransaction());
+		assertEquals(new BigDecimal("11.00"), days.get(1).getTotal());
+		assertEquals(2, before.summary(Granularity.DAY).size());
+		assertEquals(new BigDecimal("1.00"), before.summary(Granularity.DAY).get(0).getTotal());
+
+		ledger.truncate(1);
+
+		assertEquals(1, ledger.snapshot().summary(Granularity.DAY).size());
+		assertEquals(1, ledger.snapshot().summary(Granularity.MONTH).get(0).getCount());
+		assertTrue(new Ledger().snapshot().summary(Granularity.MONTH).isEmpty());
+	}
+
+	@Test
+	public void shouldKeepExactTotalsBeyondCents() {
+		final LocalDateTime now = LocalDateTime.of(2020, Month.MAY, 1, 0, 0);
+		ledger.append(now, new BigDecimal("0.005"), Transaction.INCOME);
+		ledger.append(now, new BigDecimal("1.25"), Transaction.INCOME);
+		ledger.append(now, BigDecimal.valueOf(Long.MAX_VALUE, 2), Transaction.DEPOSIT);
+		ledger.append(now, BigDecimal.ONE, Transaction.DEPOSIT);
+
+		final List<StatementSummary> days = ledger.snapshot().summary(Granularity.DAY);
+
+		assertEquals(BigDecimal.valueOf(Long.MAX_VALUE, 2).add(BigDecimal.ONE), days.get(0).getTotal());
+		assertEquals(new BigDecimal("1.255"), days.get(1).getTotal());
+	}
+
+	@Test
+	public void shouldKeepSnapshotTotalsWhenLaterStatementsSpill() {
+		final LocalDateTime start = LocalDateTime.of(2020, Month.JULY, 1, 0, 0);
+		ledger.append(start, new BigDecimal("0.005"), Transaction.INCOME);
+		ledger.append(start.plusDays(1), new BigDecimal("0.005"), Transaction.INCOME);
+		final Ledger.View before = ledger.snapshot();
+		before.summary(Granularity.DAY);
+
+		ledger.append(start.plusDays(1), new BigDecimal("0.001"), Transaction.INCOME);
+		ledger.append(start, new BigDecimal("0.001"), Transaction.INCOME);
+
+		final List<StatementSummary> days = ledger.snapshot().summary(Granularity.DAY);
+		assertEquals(new BigDecimal("0.006"), days.get(0).getTotal());
+		assertEquals(new BigDecimal("0.006"), days.get(1).getTotal());
+		assertEquals(new BigDecimal("0.005"), before.summary(Granularity.DAY).get(0).getTotal());
+		assertEquals(new BigDecimal("0.005"), before.summary(Granularity.DAY).get(1).getTotal());
+	}
+
+	@Test
+	public void shouldAnswerBalanceAtAnyPointInTime() {
+		final LocalDateTime start = LocalDateTime.of(2020, Month.JUNE, 1, 0, 0);
+		final List<BigDecimal> balances = new ArrayList<>();
+		BigDecimal balance = BigDecimal.ZERO;
+		for (int i = 0; i < 200; i++) {
+			final BigDecimal adjustment = i % 50 == 0 ? new BigDecimal("-0.5") : null;
+			ledger.append(start.plusMinutes(i), BigDecimal.valueOf(i), Transaction.DEPOSIT, adjustment);
+			balance = balance.add(BigDecimal.valueOf(i)).add(adjustment == null ? BigDecimal.ZERO : adjustment);
+			balances.add(balance);
+		}
+		final Ledger.View view = ledger.snapshot();
+
+		assertEquals(BigDecimal.ZERO, view.balanceAt(start.minusMinutes(1)).getBalance());
+		assertNull(view.balanceAt(start.minusMinutes(1)).getDate());
+		for (int minute : new int[]{0, 49, 50, 63, 64, 65, 127, 128, 199}) {
+			assertEquals(0, balances.get(minute).compareTo(view.balanceAt(start.plusMinutes(minute).plusSeconds(30)).getBalance()));
+			assertEquals(start.plusMinutes(minute), view.balanceAt(start.plusMinutes(minute).plusSeconds(30)).getDate());
+		}
+		assertEquals(0, balance.compareTo(view.balanceAt(LocalDateTime.MAX).getBalance()));
+
+		final Iterator<BalancePoint> history = view.balances(start.plusMinutes(60), start.plusMinutes(70));
+		final List<BalancePoint> points = new ArrayList<>();
+		history.forEachRemaining(points::add);
+		assertEquals(10, points.size());
+		assertThrows(NoSuchElementException.class, history::next);
+		for (int i = 0; i < points.size(); i++) {
+			assertEquals(start.plusMinutes(60 + i), points.get(i).getDate());
+			assertEquals(0, balances.get(60 + i).compareTo(points.get(i).getBalance()));
+		}
+	}
+
+	@Test
+	public void shouldReconcileBalanceIntoLastEntry() {
+		final LocalDateTime start = LocalDateTime.of(2020, Month.JUNE, 1, 0, 0);
+		for (int i = 0; i < 64; i++) {
+			ledger.append(start.plusMinutes(i), BigDecimal.ONE, Transaction.DEPOSIT);
+		}
+		ledger.reconcile(new BigDecimal("63.5"));
+
+		assertEquals(new BigDecimal("-0.5"), ledger.getAdjustment(63));
+		assertEquals(BigDecimal.ZERO, ledger.getAdjustment(62));
+		assertEquals(0, new BigDecimal("63.5").compareTo(ledger.snapshot().balanceAt(LocalDateTime.MAX).getBalance()));
+
+		ledger.append(start.plusMinutes(64), BigDecimal.ONE, Transaction.DEPOSIT);
+		assertEquals(0, new BigDecimal("64.5").compareTo(ledger.snapshot().balanceAt(LocalDateTime.MAX).getBalance()));
+
+		ledger.truncate(63);
+		ledger.reconcile(new BigDecimal("63"));
+
+		assertEquals(0, new BigDecimal("63").compareTo(ledger.snapshot().balanceAt(LocalDateTime.MAX).getBalance()));
+		assertEquals(BigDecimal.ZERO, ledger.getAdjustment(62));
+
+		ledger.append(start.minusDays(1), BigDecimal.TEN, Transaction.INCOME);
+		assertEquals(BigDecimal.TEN, ledger.snapshot().balanceAt(start.minusHours(1)).getBalance());
+		final Iterator<BalancePoint> unordered = ledger.snapshot().balances(null, start);
+		assertEquals(0, new BigDecimal("73").compareTo(unordered.next().getBalance()));
+		assertFalse(unordered.hasNext());
+	}
+
+	@Test
+	public void shouldParseGranularityIgnoringCase() {
+		assertEquals(Granularity.DAY, Granularity.of("day"));
+		assertEquals(Granularity.MONTH, Granularity.of(" Month "));
+		assertThrows(IllegalArgumentException.class, () -> Granularity.of("week"));
+	}
+
+	@Test
+	public void shouldExposeReadOnlyView() {
+		final Account account = new Account();
+		account.addStatement(new Statement(LocalDateTime.now(), BigDecimal.TEN, Transaction.DEPOSIT));
+
+		final List<Statement> statements = account.getStatementList();
+
+		assertEquals(1, statements.size());
+		assertThrows(UnsupportedOperationException.class, () -> statements.add(statements.get(0)));
+		assertThrows(IndexOutOfBoundsException.class, () -> statements.get(1));
+	}
+
+	@Test
+	public void shouldNotAllowIncompleteStatement() {
+		assertThrows(IllegalArgumentException.class, () -> ledger.append(null, BigDecimal.ONE, Transaction.DEPOSIT));
+		assertThrows(IllegalArgumentException.class, () -> ledger.append(LocalDateTime.now(), null, Transaction.DEPOSIT));
+		assertThrows(IllegalArgumentException.class, () -> ledger.append(LocalDateTime.now(), BigDecimal.ONE, null));
+	}
+}
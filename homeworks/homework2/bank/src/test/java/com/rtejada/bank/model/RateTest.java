@@ -0,0 +1,29 @@
+package com.rtejada.bank.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RateTest {
+
+	private static final Rate FEE = Rate.of(BigDecimal.valueOf(1.02));
+
+	@Test
+	public void shouldApplyRateToAnyAmount() {
+		final BigDecimal hugeAmount = BigDecimal.valueOf(Long.MAX_VALUE).add(BigDecimal.valueOf(Long.MAX_VALUE));
+
+		assertEquals(new BigDecimal("105.00"), Rate.of(BigDecimal.valueOf(1.05)).apply(BigDecimal.valueOf(100)));
+		assertEquals(hugeAmount.multiply(BigDecimal.valueOf(1.02)), FEE.apply(hugeAmount));
+		assertEquals(new BigDecimal("0.00102"), FEE.apply(new BigDecimal("0.001")));
+		assertEquals(new BigDecimal("0.0102"), FEE.apply(new BigDecimal("0.01")));
+	}
+
+	@Test
+	public void shouldNotAllowInvalidRate() {
+		assertThrows(IllegalArgumentException.class, () -> Rate.of(null));
+		assertThrows(IllegalArgumentException.class, () -> Rate.of(BigDecimal.ONE.negate()));
+		assertEquals(Rate.of(new BigDecimal("1.050")), Rate.of(BigDecimal.valueOf(1.05)));
+	}
+}
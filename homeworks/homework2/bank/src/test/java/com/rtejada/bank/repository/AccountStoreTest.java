@@ -0,0 +1,263 @@
+package com.rtejada.bank.repository;
+
+import com.rtejada.bank.exception.JournalException;
+import com.rtejada.bank.model.Account;
+import com.rtejada.bank.model.AccountSnapshot;
+import com.rtejada.bank.model.AccountType;
+import com.rtejada.bank.model.Statement;
+import com.rtejada.bank.model.Transaction;
+import com.rtejada.bank.service.CreditAccountService;
+import com.rtejada.bank.service.SaveAccountService;
+import com.rtejada.bank.support.FailingJournal;
+import com.rtejada.bank.support.TestAccounts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AccountStoreTest {
+
+	private static final int OPERATIONS_PER_THREAD = 20_000;
+
+	private AccountStore accountStore;
+	private CreditAccountService creditAccountService;
+	private SaveAccountService saveAccountService;
+
+	@BeforeEach
+	public void setUp() {
+		accountStore = new AccountStore();
+		creditAccountService = new CreditAccountService(accountStore);
+		saveAccountService = new SaveAccountService(accountStore);
+	}
+
+	@Test
+	public void shouldNotAllowInvalidStripes() {
+		assertThrows(IllegalArgumentException.class, () -> new AccountStore(0));
+		assertThrows(IllegalArgumentException.class, () -> new AccountStore(12));
+	}
+
+	@Test
+	public void shouldNotAllowDuplicatedAccount() {
+		final Account account = new Account();
+		account.setId(UUID.randomUUID());
+		accountStore.save(account);
+
+		assertThrows(IllegalArgumentException.class, () -> accountStore.save(account));
+	}
+
+	@Test
+	public void shouldRollBackMutationsWhenJournalAppendFails() {
+		final FailingJournal journal = new FailingJournal();
+		final AccountStore journaledStore = new AccountStore(journal);
+		final CreditAccountService journaledService = new CreditAccountService(journaledStore);
+		final UUID accountId = journaledService.createAccount(TestAccounts.build(AccountType.CREDIT)).getId();
+		journaledService.deposit(BigDecimal.TEN, accountId);
+
+		journal.setFailingAppends(true);
+		assertThrows(JournalException.class, () -> journaledService.deposit(BigDecimal.ONE, accountId));
+
+		final Account unsaved = TestAccounts.build(AccountType.CREDIT);
+		unsaved.setId(UUID.randomUUID());
+		assertThrows(JournalException.class, () -> journaledStore.save(unsaved));
+
+		assertEquals(0, BigDecimal.TEN.compareTo(journaledService.getBalance(accountId).get()));
+		assertEquals(1, journaledService.getStatement(accountId).size());
+		assertFalse(journaledStore.find(unsaved.getId()).isPresent());
+		assertEquals(Collections.singletonList(accountId), journaledStore.findByOwner(TestAccounts.OWNER_CPF));
+	}
+
+	@Test
+	public void shouldNotFindNullAccount() {
+		assertFalse(accountStore.find(null).isPresent());
+	}
+
+	@Test
+	public void shouldShareStoreKeepingAccountTypesApart() {
+		final Account credit = creditAccountService.createAccount(TestAccounts.build(AccountType.CREDIT));
+		final Account saving = saveAccountService.createAccount(TestAccounts.build(AccountType.SAVING));
+
+		assertEquals(2, accountStore.size());
+		assertTrue(creditAccountService.getAccount(credit.getId()).isPresent());
+		assertFalse(creditAccountService.getAccount(saving.getId()).isPresent());
+		assertTrue(saveAccountService.getAccount(saving.getId()).isPresent());
+		assertFalse(saveAccountService.getAccount(credit.getId()).isPresent());
+	}
+
+	@Test
+	public void shouldKeepExactBalancesUnderConcurrentDeposits() throws Exception {
+		final int threads = Runtime.getRuntime().availableProcessors() * 2;
+		final List<UUID> accounts = createCreditAccounts(4);
+
+		runConcurrently(threads, thread -> {
+			final UUID accountId = accounts.get(thread % accounts.size());
+			for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+				creditAccountService.deposit(BigDecimal.ONE, accountId);
+			}
+		});
+
+		final BigDecimal total = accounts.stream()
+				.map(accountId -> creditAccountService.getBalance(accountId).get())
+				.reduce(BigDecimal.ZERO, BigDecimal::add);
+
+		assertEquals(BigDecimal.valueOf((long) threads * OPERATIONS_PER_THREAD), total);
+
+		for (UUID accountId : accounts) {
+			assertEquals(creditAccountService.getBalance(accountId).get().longValue(), creditAccountService.getStatement(accountId).size());
+		}
+	}
+
+	@Test
+	public void shouldKeepExactBalancesUnderConcurrentWithdraws() throws Exception {
+		final int threads = Runtime.getRuntime().availableProcessors() * 2;
+		final int withdraws = threads * 1_000;
+		final UUID accountId = createCreditAccounts(1).get(0);
+		final BigDecimal initialBalance = BigDecimal.valueOf(withdraws * 2L);
+		creditAccountService.deposit(initialBalance, accountId);
+
+		runConcurrently(threads, thread -> {
+			for (int i = 0; i < withdraws / threads; i++) {
+				creditAccountService.withdraw(BigDecimal.ONE, accountId);
+			}
+		});
+
+		final BigDecimal expectedFees = BigDecimal.valueOf(3)
+				.add(BigDecimal.valueOf(1.02))
+				.add(BigDecimal.valueOf(1.05).multiply(BigDecimal.valueOf(withdraws - 4L)));
+
+		assertEquals(0, initialBalance.subtract(expectedFees).compareTo(creditAccountService.getBalance(accountId).get()));
+		assertEquals(withdraws + 1, creditAccountService.getStatement(accountId).size());
+	}
+
+	@Test
+	public void shouldKeepDepositsOnDifferentAccountsIsolated() throws Exception {
+		final int threads = Runtime.getRuntime().availableProcessors() * 2;
+		final List<UUID> accounts = createCreditAccounts(threads);
+
+		runConcurrently(threads, thread -> {
+			for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+				creditAccountService.deposit(BigDecimal.ONE, accounts.get(thread));
+			}
+		});
+
+		for (UUID accountId : accounts) {
+			assertEquals(BigDecimal.valueOf(OPERATIONS_PER_THREAD), creditAccountService.getBalance(accountId).get());
+		}
+	}
+
+	@Test
+	public void shouldReadWithoutWaitingForWriters() throws Exception {
+		final UUID accountId = createCreditAccounts(1).get(0);
+		creditAccountService.deposit(BigDecimal.TEN, accountId);
+		final Account account = accountStore.find(accountId).get();
+		final CountDownLatch writing = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+		try {
+			final Future<?> writer = executor.submit(() -> accountStore.mutate(accountId, () -> {
+				account.setBalance(BigDecimal.ONE);
+				account.addStatement(new Statement(LocalDateTime.now(), BigDecimal.ONE, Transaction.DEPOSIT));
+				writing.countDown();
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return null;
+			}));
+			assertTrue(writing.await(10, TimeUnit.SECONDS));
+
+			final long version = account.getSnapshot().getVersion();
+			assertEquals(BigDecimal.TEN, creditAccountService.getBalance(accountId).get());
+			assertEquals(1, creditAccountService.getStatement(accountId).size());
+
+			release.countDown();
+			writer.get(10, TimeUnit.SECONDS);
+
+			assertEquals(BigDecimal.ONE, creditAccountService.getBalance(accountId).get());
+			assertEquals(2, creditAccountService.getStatement(accountId).size());
+			assertEquals(version + 1, account.getSnapshot().getVersion());
+		} finally {
+			release.countDown();
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void shouldPublishConsistentSnapshotsToReaders() throws Exception {
+		final UUID accountId = createCreditAccounts(1).get(0);
+		final Account account = accountStore.find(accountId).get();
+		final int readers = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+		final AtomicBoolean writing = new AtomicBoolean(true);
+
+		runConcurrently(readers + 1, thread -> {
+			if (thread == 0) {
+				for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+					creditAccountService.deposit(BigDecimal.ONE, accountId);
+				}
+				writing.set(false);
+				return;
+			}
+
+			long version = -1L;
+			while (writing.get()) {
+				final AccountSnapshot snapshot = account.getSnapshot();
+				assertTrue(snapshot.getVersion() >= version);
+				assertEquals(snapshot.getBalance().longValue(), snapshot.getStatements().size());
+				version = snapshot.getVersion();
+			}
+		});
+
+		assertEquals(BigDecimal.valueOf(OPERATIONS_PER_THREAD), creditAccountService.getBalance(accountId).get());
+	}
+
+	private List<UUID> createCreditAccounts(final int count) {
+		final List<UUID> accounts = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			accounts.add(creditAccountService.createAccount(TestAccounts.build(AccountType.CREDIT)).getId());
+		}
+		return accounts;
+	}
+
+	private void runConcurrently(final int threads, final Worker worker) throws Exception {
+		final ExecutorService executor = Executors.newFixedThreadPool(threads);
+		final CountDownLatch start = new CountDownLatch(1);
+		final List<Future<?>> futures = new ArrayList<>();
+
+		try {
+			for (int i = 0; i < threads; i++) {
+				final int thread = i;
+				futures.add(executor.submit(() -> {
+					start.await();
+					worker.run(thread);
+					return null;
+				}));
+			}
+
+			start.countDown();
+
+			for (Future<?> future : futures) {
+				future.get(1, TimeUnit.MINUTES);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private interface Worker {
+		void run(int thread) throws Exception;
+	}
+}
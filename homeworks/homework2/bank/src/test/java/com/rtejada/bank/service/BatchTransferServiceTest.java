@@ -0,0 +1,137 @@
+package com.rtejada.bank.service;
+
+import com.rtejada.bank.model.AccountType;
+import com.rtejada.bank.model.Transfer;
+import com.rtejada.bank.model.TransferResult;
+import com.rtejada.bank.repository.AccountStore;
+import com.rtejada.bank.support.TestAccounts;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static com.rtejada.bank.support.TestAccounts.INITIAL_BALANCE;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchTransferServiceTest {
+
+	private CreditAccountService creditAccountService;
+	private BatchTransferService batchTransferService;
+
+	@BeforeEach
+	public void setUp() {
+		final AccountStore accountStore = new AccountStore();
+		creditAccountService = new CreditAccountService(accountStore);
+		final TransferService transferService = new TransferService(creditAccountService, new SaveAccountService(accountStore), accountStore);
+		batchTransferService = new BatchTransferService(transferService, accountStore, 4);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		batchTransferService.close();
+	}
+
+	@Test
+	public void shouldReturnResultPerItem() {
+		final UUID first = TestAccounts.open(creditAccountService, AccountType.CREDIT);
+		final UUID second = TestAccounts.open(creditAccountService, AccountType.CREDIT);
+		final UUID third = TestAccounts.open(creditAccountService, AccountType.CREDIT);
+
+		final List<TransferResult> results = batchTransferService.transfer(Arrays.asList(
+				buildTransfer(first, second, BigDecimal.valueOf(100)),
+				buildTransfer(first, third, BigDecimal.valueOf(1_000_000)),
+				null,
+				buildTransfer(third, UUID.randomUUID(), BigDecimal.TEN),
+				buildTransfer(second, third, BigDecimal.valueOf(200))));
+
+		assertEquals(5, results.size());
+		for (int i = 0; i < results.size(); i++) {
+			assertEquals(i, results.get(i).getIndex());
+		}
+
+		assertTrue(results.get(0).isSuccess());
+		assertEquals(0, new BigDecimal("9895.00").compareTo(results.get(0).getBalance()));
+		assertFalse(results.get(1).isSuccess());
+		assertFalse(results.get(2).isSuccess());
+		assertFalse(results.get(3).isSuccess());
+		assertTrue(results.get(4).isSuccess());
+
+		assertEquals(0, new BigDecimal("9895.00").compareTo(creditAccountService.getBalance(first).get()));
+		assertEquals(0, new BigDecimal("9890.00").compareTo(creditAccountService.getBalance(second).get()));
+		assertEquals(0, new BigDecimal("10200").compareTo(creditAccountService.getBalance(third).get()));
+	}
+
+	@Test
+	public void shouldKeepInputOrderWithinGroup() {
+		final UUID first = TestAccounts.open(creditAccountService, AccountType.CREDIT);
+		final UUID second = TestAccounts.open(creditAccountService, AccountType.CREDIT);
+		final UUID third = TestAccounts.open(creditAccountService, AccountType.CREDIT);
+
+		final List<TransferResult> results = batchTransferService.transfer(Arrays.asList(
+				buildTransfer(first, second, BigDecimal.valueOf(5_000)),
+				buildTransfer(second, third, BigDecimal.valueOf(12_000))));
+
+		assertTrue(results.get(0).isSuccess());
+		assertTrue(results.get(1).isSuccess());
+		assertEquals(0, new BigDecimal("22000").compareTo(creditAccountService.getBalance(third).get()));
+	}
+
+	@Test
+	public void shouldConserveMoneyAcrossParallelGroups() {
+		final List<UUID> accounts = createCreditAccounts(200);
+		final List<Transfer> transfers = randomTransfers(accounts, 5_000, new Random(42));
+
+		final List<TransferResult> results = batchTransferService.transfer(transfers);
+
+		BigDecimal fees = BigDecimal.ZERO;
+		for (TransferResult result : results) {
+			if (result.isSuccess()) {
+				fees = fees.add(transfers.get(result.getIndex()).getAmount().multiply(BigDecimal.valueOf(0.05)));
+			}
+		}
+
+		BigDecimal total = BigDecimal.ZERO;
+		for (UUID account : accounts) {
+			total = total.add(creditAccountService.getBalance(account).get());
+		}
+
+		assertEquals(0, INITIAL_BALANCE.multiply(BigDecimal.valueOf(accounts.size())).compareTo(total.add(fees)));
+	}
+
+	private List<Transfer> randomTransfers(final List<UUID> accounts, final int count, final Random random) {
+		final List<Transfer> transfers = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			final UUID source = accounts.get(random.nextInt(accounts.size()));
+			UUID target = accounts.get(random.nextInt(accounts.size()));
+			while (target.equals(source)) {
+				target = accounts.get(random.nextInt(accounts.size()));
+			}
+			transfers.add(buildTransfer(source, target, BigDecimal.valueOf(1 + random.nextInt(100))));
+		}
+		return transfers;
+	}
+
+	private List<UUID> createCreditAccounts(final int count) {
+		final List<UUID> accounts = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			accounts.add(TestAccounts.open(creditAccountService, AccountType.CREDIT));
+		}
+		return accounts;
+	}
+
+	private Transfer buildTransfer(final UUID sourceId, final UUID targetId, final BigDecimal amount) {
+		final Transfer transfer = new Transfer();
+		transfer.setSourceId(sourceId);
+		transfer.setSourceType(AccountType.CREDIT);
+		transfer.setTargetId(targetId);
+		transfer.setTargetType(AccountType.CREDIT);
+		transfer.setAmount(amount);
+		return transfer;
+	}
+}
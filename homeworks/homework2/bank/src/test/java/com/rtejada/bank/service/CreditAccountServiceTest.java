@@ -9,6 +9,8 @@ import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.UUID;
 
@@ -603,6 +605,119 @@ public class CreditAccountServiceTest {
 		assertEquals(BigDecimal.TEN.negate(), result.get(1).getValue());
 	}
 
+	@Test
+	public void shouldSummarizeStatementByDayAndMonth() {
+		final Account account =  new Account();
+		account.setAccountType(AccountType.CREDIT);
+		account.setBalance(null);
+		account.setOwner(buildOwner());
+
+		Account accountCreated = creditAccountService.createAccount(account);
+		creditAccountService.deposit(BigDecimal.TEN, accountCreated.getId());
+		creditAccountService.deposit(BigDecimal.TEN, accountCreated.getId());
+		creditAccountService.withdraw(BigDecimal.ONE, accountCreated.getId());
+
+		final List<StatementSummary> days = creditAccountService.getStatementSummary(accountCreated.getId(), Granularity.DAY);
+		final List<StatementSummary> months = creditAccountService.getStatementSummary(accountCreated.getId(), Granularity.MONTH);
+
+		assertEquals(2, days.size());
+		assertEquals(Transaction.WITHDRAW, days.get(0).getTransaction());
+		assertEquals(1, days.get(0).getCount());
+		assertEquals(Transaction.DEPOSIT, days.get(1).getTransaction());
+		assertEquals(2, days.get(1).getCount());
+		assertEquals(new BigDecimal("20.00"), days.get(1).getTotal());
+		assertEquals(2, months.size());
+		assertEquals(days.get(0).getTotal(), months.get(0).getTotal());
+		assertThrows(InvalidAccountException.class, () -> creditAccountService.getStatementSummary(UUID.randomUUID(), Granularity.DAY));
+		assertThrows(IllegalArgumentException.class, () -> creditAccountService.getStatementSummary(accountCreated.getId(), null));
+	}
+
+	@Test
+	public void shouldGetBalanceHistoryIncludingWithdrawFees() {
+		final Account account =  new Account();
+		account.setAccountType(AccountType.CREDIT);
+		account.setBalance(null);
+		account.setOwner(buildOwner());
+
+		Account accountCreated = creditAccountService.createAccount(account);
+		final LocalDateTime before = LocalDateTime.now().minusMinutes(1);
+		creditAccountService.deposit(new BigDecimal("100"), accountCreated.getId());
+		for (int i = 0; i < 4; i++) {
+			creditAccountService.withdraw(BigDecimal.TEN, accountCreated.getId());
+		}
+
+		final List<BalancePoint> history = new ArrayList<>();
+		creditAccountService.getBalanceHistory(accountCreated.getId(), null, null).forEachRemaining(history::add);
+
+		assertEquals(5, history.size());
+		assertEquals(0, new BigDecimal("100").compareTo(history.get(0).getBalance()));
+		assertEquals(0, new BigDecimal("59.80").compareTo(history.get(4).getBalance()));
+		assertEquals(0, accountCreated.getBalance().compareTo(history.get(4).getBalance()));
+		assertEquals(0, new BigDecimal("59.80").compareTo(
+				creditAccountService.getBalanceAt(accountCreated.getId(), LocalDateTime.now().plusMinutes(1)).getBalance()));
+		assertEquals(BigDecimal.ZERO, creditAccountService.getBalanceAt(accountCreated.getId(), before).getBalance());
+		assertThrows(IllegalArgumentException.class,
+				() -> creditAccountService.getBalanceHistory(accountCreated.getId(), LocalDateTime.now(), before));
+	}
+
+	@Test
+	public void shouldFilterStatementByTimeRangeAndType() {
+		final Account account =  new Account();
+		account.setAccountType(AccountType.CREDIT);
+		account.setBalance(null);
+		account.setOwner(buildOwner());
+
+		Account accountCreated = creditAccountService.createAccount(account);
+		final LocalDateTime from = LocalDateTime.now().minusMinutes(1);
+		creditAccountService.deposit(BigDecimal.TEN, accountCreated.getId());
+		creditAccountService.withdraw(BigDecimal.ONE, accountCreated.getId());
+		creditAccountService.deposit(BigDecimal.TEN, accountCreated.getId());
+		final LocalDateTime to = LocalDateTime.now().plusMinutes(1);
+
+		final List<Statement> withdraws = creditAccountService.getStatement(accountCreated.getId(), from, to, EnumSet.of(Transaction.WITHDRAW));
+		final List<Statement> all = creditAccountService.getStatement(accountCreated.getId(), from, null, null);
+		final List<Statement> none = creditAccountService.getStatement(accountCreated.getId(), null, from, null);
+
+		assertEquals(1, withdraws.size());
+		assertEquals(BigDecimal.ONE.negate(), withdraws.get(0).getValue());
+		assertEquals(3, all.size());
+		assertTrue(none.isEmpty());
+		assertThrows(IllegalArgumentException.class,
+				() -> creditAccountService.getStatement(accountCreated.getId(), to, from, null));
+	}
+
+	@Test
+	public void shouldGetStatementRange() {
+		final Account account =  new Account();
+		account.setAccountType(AccountType.CREDIT);
+		account.setBalance(null);
+		account.setOwner(buildOwner());
+
+		Account accountCreated = creditAccountService.createAccount(account);
+		for (int i = 1; i <= 5; i++) {
+			creditAccountService.deposit(BigDecimal.valueOf(i), accountCreated.getId());
+		}
+
+		final List<Statement> result = creditAccountService.getStatement(accountCreated.getId(), 1, 2);
+
+		assertEquals(2, result.size());
+		assertEquals(BigDecimal.valueOf(2), result.get(0).getValue());
+		assertEquals(BigDecimal.valueOf(3), result.get(1).getValue());
+		assertTrue(creditAccountService.getStatement(accountCreated.getId(), 5, 2).isEmpty());
+	}
+
+	@Test
+	public void shouldNotAllowNegativeStatementRange() {
+		final Account account =  new Account();
+		account.setAccountType(AccountType.CREDIT);
+		account.setBalance(null);
+		account.setOwner(buildOwner());
+		Account accountCreated = creditAccountService.createAccount(account);
+
+		assertThrows(
+				IllegalArgumentException.class, () -> creditAccountService.getStatement(accountCreated.getId(), -1, 2));
+	}
+
 	private Owner buildOwner() {
 		Owner owner = new Owner();
 		owner.setCpf("12345678910");
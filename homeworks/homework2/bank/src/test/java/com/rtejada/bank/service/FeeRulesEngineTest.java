@@ -0,0 +1,92 @@
+package com.rtejada.bank.service;
+
+import com.rtejada.bank.model.Account;
+import com.rtejada.bank.model.AccountType;
+import com.rtejada.bank.model.FeeSchedule;
+import com.rtejada.bank.model.Owner;
+import com.rtejada.bank.repository.AccountStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FeeRulesEngineTest {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	public void shouldResetDailyCountOnNewDay() {
+		final FeeRulesEngine engine = new FeeRulesEngine();
+		final LocalDate today = LocalDate.now();
+
+		assertEquals(new BigDecimal("102.00"), engine.withdrawAmount(AccountType.CREDIT, today, 3L, today, BigDecimal.valueOf(100)));
+		assertEquals(BigDecimal.valueOf(100), engine.withdrawAmount(AccountType.CREDIT, today.minusDays(1), 3L, today, BigDecimal.valueOf(100)));
+		assertEquals(BigDecimal.valueOf(100), engine.withdrawAmount(AccountType.CREDIT, null, null, today, BigDecimal.valueOf(100)));
+		assertEquals(new BigDecimal("105.00"), engine.transferAmount(AccountType.SAVING, AccountType.CREDIT, today, 4L, today, BigDecimal.valueOf(100)));
+		assertEquals(BigDecimal.valueOf(100), engine.transferAmount(AccountType.CREDIT, AccountType.SAVING, today, 4L, today, BigDecimal.valueOf(100)));
+	}
+
+	@Test
+	public void shouldApplyReloadedScheduleToService() {
+		final FeeRulesEngine engine = new FeeRulesEngine();
+		final AccountStore accountStore = new AccountStore();
+		final CreditAccountService service = new CreditAccountService(accountStore, TransactionListener.NONE, engine);
+		final UUID accountId = createAccount(service);
+		service.deposit(BigDecimal.valueOf(1000), accountId);
+
+		engine.reload(FeeSchedule.from(Collections.singletonMap("bank.fees.credit-withdraw.tiers", "1.1")::get));
+
+		assertEquals(0, new BigDecimal("890").compareTo(service.withdraw(BigDecimal.valueOf(100), accountId)));
+		assertThrows(IllegalArgumentException.class, () -> engine.reload(null));
+	}
+
+	@Test
+	public void shouldReloadScheduleFromFileWhenModified() throws Exception {
+		final FeeRulesEngine engine = new FeeRulesEngine();
+		final Path file = directory.resolve("fees.properties");
+		final FeeScheduleReloader reloader = new FeeScheduleReloader(engine, file, key -> null);
+
+		try {
+			assertFalse(reloader.reload());
+
+			write(file, "bank.fees.saving-withdraw.default=1.03\n", 1_000L);
+			assertTrue(reloader.reload());
+			assertFalse(reloader.reload());
+			assertEquals(new BigDecimal("103.00"), engine.withdrawAmount(AccountType.SAVING, null, null, LocalDate.now(), BigDecimal.valueOf(100)));
+			assertEquals(new BigDecimal("105.00"), engine.transferAmount(AccountType.CREDIT, AccountType.CREDIT, null, null, LocalDate.now(), BigDecimal.valueOf(100)));
+
+			final FeeSchedule previous = engine.getSchedule();
+			write(file, "bank.fees.saving-withdraw.default=0.5\n", 2_000L);
+			assertThrows(IllegalArgumentException.class, reloader::reload);
+			assertSame(previous, engine.getSchedule());
+		} finally {
+			reloader.close();
+		}
+	}
+
+	private static void write(final Path file, final String content, final long modified) throws Exception {
+		Files.write(file, content.getBytes(StandardCharsets.ISO_8859_1));
+		Files.setLastModifiedTime(file, FileTime.fromMillis(modified));
+	}
+
+	private static UUID createAccount(final CreditAccountService service) {
+		final Owner owner = new Owner();
+		owner.setName("Ana");
+		owner.setCpf("52998224725");
+
+		final Account account = new Account();
+		account.setAccountType(AccountType.CREDIT);
+		account.setOwner(owner);
+		return service.createAccount(account).getId();
+	}
+}
@@ -0,0 +1,175 @@
+package com.rtejada.bank.service;
+
+import com.rtejada.bank.exception.InvalidTransactionException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IdempotencyServiceTest {
+
+	private final AtomicLong clock = new AtomicLong();
+
+	@Test
+	public void shouldExecuteWithoutKey() {
+		final IdempotencyService idempotencyService = new IdempotencyService(10, 100, clock::get);
+		final AtomicInteger calls = new AtomicInteger();
+
+		idempotencyService.execute("deposit", null, BigDecimal.TEN, calls::incrementAndGet);
+		idempotencyService.execute("deposit", null, BigDecimal.TEN, calls::incrementAndGet);
+
+		assertEquals(2, calls.get());
+		assertEquals(0, idempotencyService.size());
+	}
+
+	@Test
+	public void shouldReturnStoredResultForRetry() {
+		final IdempotencyService idempotencyService = new IdempotencyService(10, 100, clock::get);
+		final AtomicInteger calls = new AtomicInteger();
+
+		assertEquals(1, (int) idempotencyService.execute("deposit", "key", BigDecimal.TEN, calls::incrementAndGet));
+		assertEquals(1, (int) idempotencyService.execute("deposit", "key", BigDecimal.TEN, calls::incrementAndGet));
+		assertEquals(2, (int) idempotencyService.execute("withdraw", "key", BigDecimal.TEN, calls::incrementAndGet));
+
+		assertEquals(2, calls.get());
+		assertEquals(1, idempotencyService.getHits());
+		assertEquals(2, idempotencyService.getMisses());
+		assertEquals(1.0 / 3, idempotencyService.getHitRate(), 1e-9);
+	}
+
+	@Test
+	public void shouldRejectKeyReusedForDifferentRequest() {
+		final IdempotencyService idempotencyService = new IdempotencyService(10, 100, clock::get);
+		idempotencyService.execute("deposit", "key", BigDecimal.TEN, () -> 1);
+
+		assertThrows(InvalidTransactionException.class,
+				() -> idempotencyService.execute("deposit", "key", BigDecimal.ONE, () -> 2));
+	}
+
+	@Test
+	public void shouldNotStoreFailures() {
+		final IdempotencyService idempotencyService = new IdempotencyService(10, 100, clock::get);
+
+		assertThrows(IllegalStateException.class, () -> idempotencyService.execute("deposit", "key", BigDecimal.TEN, () -> {
+			throw new IllegalStateException("failed");
+		}));
+
+		assertEquals(3, (int) idempotencyService.execute("deposit", "key", BigDecimal.TEN, () -> 3));
+	}
+
+	@Test
+	public void shouldBoundQueueWhenRetriedKeysKeepFailing() {
+		final IdempotencyService idempotencyService = new IdempotencyService(10, 100, clock::get);
+
+		for (int i = 0; i < 1_000; i++) {
+			assertThrows(IllegalStateException.class, () -> idempotencyService.execute("deposit", "key", BigDecimal.TEN, () -> {
+				throw new IllegalStateException("failed");
+			}));
+			final CompletableFuture<Integer> failed = new CompletableFuture<>();
+			failed.completeExceptionally(new IllegalStateException("failed"));
+			idempotencyService.executeAsync("withdraw", "key-" + i, BigDecimal.TEN, () -> failed);
+		}
+
+		assertEquals(0, idempotencyService.size());
+		assertEquals(10, idempotencyService.getQueueSize());
+		assertEquals(3, (int) idempotencyService.execute("deposit", "key", BigDecimal.TEN, () -> 3));
+		assertEquals(1, idempotencyService.size());
+	}
+
+	@Test
+	public void shouldEvictExpiredAndOverflowingEntries() {
+		final IdempotencyService idempotencyService = new IdempotencyService(2, 100, clock::get);
+		final AtomicInteger calls = new AtomicInteger();
+
+		idempotencyService.execute("deposit", "first", BigDecimal.TEN, calls::incrementAndGet);
+		idempotencyService.execute("deposit", "second", BigDecimal.TEN, calls::incrementAndGet);
+		idempotencyService.execute("deposit", "third", BigDecimal.TEN, calls::incrementAndGet);
+
+		assertEquals(2, idempotencyService.size());
+		assertEquals(1, idempotencyService.getEvictions());
+		assertEquals(4, (int) idempotencyService.execute("deposit", "first", BigDecimal.TEN, calls::incrementAndGet));
+
+		clock.addAndGet(100);
+		assertEquals(5, (int) idempotencyService.execute("deposit", "third", BigDecimal.TEN, calls::incrementAndGet));
+		assertEquals(1, idempotencyService.size());
+		assertEquals(4, idempotencyService.getEvictions());
+	}
+
+	@Test
+	public void shouldRunConcurrentDuplicatesOnce() throws Exception {
+		final IdempotencyService idempotencyService = new IdempotencyService(10, 100, clock::get);
+		final AtomicInteger calls = new AtomicInteger();
+		final CountDownLatch started = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+		final Future<Integer> first = executor.submit(() -> idempotencyService.execute("transfer", "key", BigDecimal.TEN, () -> {
+			started.countDown();
+			await(release);
+			return calls.incrementAndGet();
+		}));
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+
+		final Future<Integer> second = executor.submit(() -> idempotencyService.execute("transfer", "key", BigDecimal.TEN, calls::incrementAndGet));
+		final Future<Integer> third = executor.submit(() -> idempotencyService.execute("transfer", "key", BigDecimal.TEN, calls::incrementAndGet));
+		release.countDown();
+
+		assertEquals(1, (int) first.get(5, TimeUnit.SECONDS));
+		assertEquals(1, (int) second.get(5, TimeUnit.SECONDS));
+		assertEquals(1, (int) third.get(5, TimeUnit.SECONDS));
+		assertEquals(1, calls.get());
+		executor.shutdown();
+	}
+
+	@Test
+	public void shouldShareAsyncResult() throws Exception {
+		final IdempotencyService idempotencyService = new IdempotencyService(10, 100, clock::get);
+		final CompletableFuture<Integer> pending = new CompletableFuture<>();
+		final AtomicInteger calls = new AtomicInteger();
+
+		final CompletableFuture<Integer> first = idempotencyService.executeAsync("deposit", "key", BigDecimal.TEN, () -> {
+			calls.incrementAndGet();
+			return pending;
+		});
+		final CompletableFuture<Integer> retry = idempotencyService.executeAsync("deposit", "key", BigDecimal.TEN, () -> {
+			calls.incrementAndGet();
+			return CompletableFuture.completedFuture(2);
+		});
+
+		pending.complete(1);
+		assertEquals(1, (int) first.get(5, TimeUnit.SECONDS));
+		assertEquals(1, (int) retry.get(5, TimeUnit.SECONDS));
+		assertEquals(1, calls.get());
+	}
+
+	@Test
+	public void shouldForgetFailedAsyncResult() throws Exception {
+		final IdempotencyService idempotencyService = new IdempotencyService(10, 100, clock::get);
+		final CompletableFuture<Integer> failed = new CompletableFuture<>();
+		failed.completeExceptionally(new IllegalStateException("failed"));
+
+		final CompletableFuture<Integer> first = idempotencyService.executeAsync("deposit", "key", BigDecimal.TEN, () -> failed);
+		assertTrue(first.isCompletedExceptionally());
+
+		final CompletableFuture<Integer> retry = idempotencyService.executeAsync("deposit", "key", BigDecimal.TEN,
+				() -> CompletableFuture.completedFuture(2));
+		assertEquals(2, (int) retry.get(5, TimeUnit.SECONDS));
+	}
+
+	private static void await(final CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
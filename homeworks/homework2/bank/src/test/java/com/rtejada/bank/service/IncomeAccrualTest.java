@@ -0,0 +1,81 @@
+package com.rtejada.bank.service;
+
+import com.rtejada.bank.model.Saving;
+import com.rtejada.bank.model.Transaction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IncomeAccrualTest {
+
+	private static final BigDecimal INCOME_FEE = BigDecimal.valueOf(0.22);
+
+	private IncomeAccrual incomeAccrual;
+
+	@BeforeEach
+	public void setUp() {
+		incomeAccrual = new IncomeAccrual(INCOME_FEE);
+	}
+
+	@Test
+	public void shouldMatchMinuteByMinuteCompounding() {
+		final LocalDateTime from = LocalDateTime.now();
+
+		for (int minutes = 0; minutes <= 30; minutes++) {
+			BigDecimal expected = BigDecimal.valueOf(1234.56);
+			for (int i = 0; i < minutes; i++) {
+				expected = expected.add(expected.multiply(INCOME_FEE));
+			}
+
+			final Saving result = incomeAccrual.accrue(BigDecimal.valueOf(1234.56), from, from.plusMinutes(minutes));
+
+			final BigDecimal tolerance = expected.multiply(BigDecimal.ONE.movePointLeft(30));
+			assertTrue(expected.subtract(result.getTotal()).abs().compareTo(tolerance) <= 0);
+			assertEquals(from.plusMinutes(minutes), result.getLastTransaction());
+		}
+	}
+
+	@Test
+	public void shouldRecordSingleAggregatedIncomeStatement() {
+		final LocalDateTime from = LocalDateTime.now().minusDays(30);
+
+		final Saving result = incomeAccrual.accrue(BigDecimal.TEN, from, from.plusDays(30).plusSeconds(59));
+
+		assertEquals(1, result.getSavingsStatements().size());
+		assertEquals(Transaction.INCOME, result.getSavingsStatements().get(0).getTransaction());
+		assertEquals(from.plusDays(30), result.getSavingsStatements().get(0).getDate());
+		assertEquals(0, result.getTotal().subtract(BigDecimal.TEN).compareTo(result.getSavingsStatements().get(0).getValue()));
+		assertTrue(result.getTotal().precision() <= IncomeAccrual.MATH_CONTEXT.getPrecision());
+	}
+
+	@Test
+	public void shouldNotRecordIncomeBeforeOneMinute() {
+		final LocalDateTime from = LocalDateTime.now();
+
+		final Saving result = incomeAccrual.accrue(BigDecimal.TEN, from, from.plusSeconds(59));
+
+		assertEquals(BigDecimal.TEN, result.getTotal());
+		assertEquals(from, result.getLastTransaction());
+		assertTrue(result.getSavingsStatements().isEmpty());
+	}
+
+	@Test
+	public void shouldNotRecordIncomeForEmptyAccount() {
+		final LocalDateTime from = LocalDateTime.now();
+
+		final Saving result = incomeAccrual.accrue(BigDecimal.ZERO, from, from.plusHours(1));
+
+		assertEquals(BigDecimal.ZERO, result.getTotal());
+		assertEquals(from.plusHours(1), result.getLastTransaction());
+		assertTrue(result.getSavingsStatements().isEmpty());
+	}
+
+	@Test
+	public void shouldNotAllowNegativeRate() {
+		assertThrows(IllegalArgumentException.class, () -> new IncomeAccrual(BigDecimal.ONE.negate()));
+	}
+}
@@ -0,0 +1,67 @@
+package com.rtejada.bank.service;
+
+import com.rtejada.bank.model.Account;
+import com.rtejada.bank.model.AccountType;
+import com.rtejada.bank.model.Owner;
+import com.rtejada.bank.repository.AccountStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OwnerServiceTest {
+
+	private OwnerService ownerService;
+	private CreditAccountService creditAccountService;
+	private SaveAccountService saveAccountService;
+
+	@BeforeEach
+	public void setUp() {
+		final AccountStore accountStore = new AccountStore();
+		ownerService = new OwnerService(accountStore);
+		creditAccountService = new CreditAccountService(accountStore);
+		saveAccountService = new SaveAccountService(accountStore);
+	}
+
+	@Test
+	public void shouldFindAccountsByOwner() {
+		final UUID credit = creditAccountService.createAccount(buildAccount(AccountType.CREDIT, "52998224725")).getId();
+		final UUID saving = saveAccountService.createAccount(buildAccount(AccountType.SAVING, "529.982.247-25")).getId();
+		creditAccountService.createAccount(buildAccount(AccountType.CREDIT, "11144477735"));
+
+		final List<UUID> accounts = ownerService.getAccounts("529.982.247-25")
+				.stream()
+				.map(Account::getId)
+				.collect(Collectors.toList());
+
+		assertEquals(2, accounts.size());
+		assertTrue(accounts.contains(credit));
+		assertTrue(accounts.contains(saving));
+	}
+
+	@Test
+	public void shouldReturnEmptyForUnknownOwner() {
+		assertTrue(ownerService.getAccounts("11144477735").isEmpty());
+	}
+
+	@Test
+	public void shouldNotAllowBlankCpf() {
+		assertThrows(IllegalArgumentException.class, () -> ownerService.getAccounts(" "));
+		assertThrows(IllegalArgumentException.class, () -> ownerService.getAccounts(null));
+	}
+
+	private Account buildAccount(final AccountType accountType, final String cpf) {
+		final Owner owner = new Owner();
+		owner.setCpf(cpf);
+		owner.setName("joao");
+
+		final Account account = new Account();
+		account.setAccountType(accountType);
+		account.setOwner(owner);
+		return account;
+	}
+}
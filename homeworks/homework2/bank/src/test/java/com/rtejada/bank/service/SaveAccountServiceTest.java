@@ -9,6 +9,8 @@ import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 
@@ -189,6 +191,31 @@ public class SaveAccountServiceTest {
 		assertEquals(BigDecimal.TEN.multiply(BigDecimal.valueOf(1.22)).multiply(BigDecimal.valueOf(1.22)), result.get());
 	}
 
+	@Test
+	public void shouldGetHistoricalBalanceWithAccruedIncome() {
+		final Account account =  new Account();
+		account.setAccountType(AccountType.SAVING);
+		account.setBalance(null);
+		account.setOwner(buildOwner());
+
+		Account accountCreated = saveAccountService.createAccount(account);
+		final LocalDateTime start = LocalDateTime.now().minusMinutes(10L);
+		accountCreated.setStatementList(Collections.singletonList(new Statement(start, new BigDecimal("100"), Transaction.DEPOSIT)));
+		accountCreated.setBalance(new BigDecimal("100"), start);
+		saveAccountService.withdraw(BigDecimal.TEN, accountCreated.getId());
+
+		final BalancePoint atThreeMinutes = saveAccountService.getBalanceAt(accountCreated.getId(), start.plusMinutes(3L));
+		final List<BalancePoint> history = new ArrayList<>();
+		saveAccountService.getBalanceHistory(accountCreated.getId(), null, null).forEachRemaining(history::add);
+
+		assertEquals(0, new BigDecimal("100").multiply(new BigDecimal("1.22").pow(3)).compareTo(atThreeMinutes.getBalance()));
+		assertEquals(start.plusMinutes(3L), atThreeMinutes.getDate());
+		assertEquals(BigDecimal.ZERO, saveAccountService.getBalanceAt(accountCreated.getId(), start.minusMinutes(1L)).getBalance());
+		assertEquals(3, history.size());
+		assertEquals(Transaction.INCOME, accountCreated.getStatementList().get(1).getTransaction());
+		assertEquals(0, accountCreated.getBalance().compareTo(history.get(2).getBalance()));
+	}
+
 	@Test
 	public void shouldGetBalanceEvenWhenAccountIsEmpty() {
 		final Account account =  new Account();
@@ -203,6 +230,84 @@ public class SaveAccountServiceTest {
 		assertEquals(BigDecimal.ZERO, result.get());
 	}
 
+	@Test
+	public void shouldNotMutateAccountWhenGettingBalance() {
+		final Account account =  new Account();
+		account.setAccountType(AccountType.SAVING);
+		account.setBalance(null);
+		account.setOwner(buildOwner());
+
+		Account accountCreated = saveAccountService.createAccount(account);
+		saveAccountService.deposit(BigDecimal.TEN, accountCreated.getId());
+
+		final LocalDateTime lastTransaction = LocalDateTime.now().minusMinutes(1L);
+		accountCreated.setLastTransaction(lastTransaction);
+		saveAccountService.getBalance(accountCreated.getId());
+		Optional<BigDecimal> result = saveAccountService.getBalance(accountCreated.getId());
+
+		assertEquals(BigDecimal.TEN.multiply(BigDecimal.valueOf(1.22)), result.get());
+		assertEquals(BigDecimal.TEN, accountCreated.getBalance());
+		assertEquals(lastTransaction, accountCreated.getLastTransaction());
+		assertEquals(1, accountCreated.getStatementList().size());
+	}
+
+	@Test
+	public void shouldMaterializeIncomeOnNextTransaction() {
+		final Account account =  new Account();
+		account.setAccountType(AccountType.SAVING);
+		account.setBalance(null);
+		account.setOwner(buildOwner());
+
+		Account accountCreated = saveAccountService.createAccount(account);
+		saveAccountService.deposit(BigDecimal.TEN, accountCreated.getId());
+
+		accountCreated.setLastTransaction(LocalDateTime.now().minusMinutes(1L));
+		BigDecimal result = saveAccountService.deposit(BigDecimal.ONE, accountCreated.getId());
+
+		assertEquals(0, BigDecimal.valueOf(13.2).compareTo(result));
+		final List<Statement> statements = saveAccountService.getStatement(accountCreated.getId());
+		assertEquals(3, statements.size());
+		assertEquals(Transaction.INCOME, statements.get(1).getTransaction());
+		assertEquals(0, BigDecimal.valueOf(2.2).compareTo(statements.get(1).getValue()));
+		assertEquals(Transaction.DEPOSIT, statements.get(2).getTransaction());
+	}
+
+	@Test
+	public void shouldNotMaterializeIncomeWhenWithdrawFails() {
+		final Account account =  new Account();
+		account.setAccountType(AccountType.SAVING);
+		account.setBalance(null);
+		account.setOwner(buildOwner());
+
+		Account accountCreated = saveAccountService.createAccount(account);
+		saveAccountService.deposit(BigDecimal.TEN, accountCreated.getId());
+		accountCreated.setLastTransaction(LocalDateTime.now().minusMinutes(1L));
+
+		assertThrows(
+				InvalidTransactionException.class, () -> saveAccountService.withdraw(BigDecimal.valueOf(100), accountCreated.getId()));
+		assertEquals(1, accountCreated.getStatementList().size());
+		assertEquals(BigDecimal.TEN, accountCreated.getBalance());
+	}
+
+	@Test
+	public void shouldProjectBalanceAtTimestamp() {
+		final Account account =  new Account();
+		account.setAccountType(AccountType.SAVING);
+		account.setBalance(null);
+		account.setOwner(buildOwner());
+
+		Account accountCreated = saveAccountService.createAccount(account);
+		saveAccountService.deposit(BigDecimal.TEN, accountCreated.getId());
+		final LocalDateTime lastTransaction = accountCreated.getLastTransaction();
+
+		assertEquals(BigDecimal.TEN, saveAccountService.getBalance(accountCreated.getId(), lastTransaction).get());
+		assertEquals(BigDecimal.TEN.multiply(BigDecimal.valueOf(1.22)).multiply(BigDecimal.valueOf(1.22)),
+				saveAccountService.getBalance(accountCreated.getId(), lastTransaction.plusMinutes(2L).plusSeconds(30L)).get());
+		assertThrows(
+				IllegalArgumentException.class, () -> saveAccountService.getBalance(accountCreated.getId(), lastTransaction.minusMinutes(1L)));
+		assertEquals(1, accountCreated.getStatementList().size());
+	}
+
 	@Test
 	public void shouldNotAllowGetBalanceFromInvalidAccount() {
 		assertThrows(
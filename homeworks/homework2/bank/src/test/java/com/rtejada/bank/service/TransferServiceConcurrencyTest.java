@@ -0,0 +1,138 @@
+package com.rtejada.bank.service;
+
+import com.rtejada.bank.exception.InvalidAccountException;
+import com.rtejada.bank.exception.InvalidTransactionException;
+import com.rtejada.bank.model.AccountType;
+import com.rtejada.bank.model.Statement;
+import com.rtejada.bank.model.Transfer;
+import com.rtejada.bank.repository.AccountStore;
+import com.rtejada.bank.support.TestAccounts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.rtejada.bank.support.TestAccounts.INITIAL_BALANCE;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TransferServiceConcurrencyTest {
+
+	private static final BigDecimal TRANSFER_FEE = BigDecimal.valueOf(0.05);
+
+	private CreditAccountService creditAccountService;
+	private TransferService transferService;
+
+	@BeforeEach
+	public void setUp() {
+		final AccountStore accountStore = new AccountStore();
+		creditAccountService = new CreditAccountService(accountStore);
+		transferService = new TransferService(creditAccountService, new SaveAccountService(accountStore), accountStore);
+	}
+
+	@Test
+	public void shouldRestoreSourceWhenTargetDepositFails() {
+		final UUID sourceId = TestAccounts.open(creditAccountService, AccountType.CREDIT);
+		final int statements = creditAccountService.getStatement(sourceId).size();
+
+		assertThrows(
+				InvalidAccountException.class,
+				() -> transferService.transfer(buildTransfer(sourceId, UUID.randomUUID(), BigDecimal.TEN)));
+
+		assertEquals(INITIAL_BALANCE, creditAccountService.getBalance(sourceId).get());
+		assertEquals(statements, creditAccountService.getStatement(sourceId).size());
+		assertNull(creditAccountService.getAccount(sourceId).get().getTransferCount());
+	}
+
+	@Test
+	public void shouldNotAllowTransferWithoutAccounts() {
+		assertThrows(
+				InvalidAccountException.class,
+				() -> transferService.transfer(buildTransfer(null, UUID.randomUUID(), BigDecimal.TEN)));
+		assertThrows(
+				InvalidAccountException.class,
+				() -> transferService.transfer(buildTransfer(UUID.randomUUID(), null, BigDecimal.TEN)));
+	}
+
+	@Test
+	public void shouldKeepTotalMoneyUnderCrissCrossTransfers() throws Exception {
+		final int threads = Runtime.getRuntime().availableProcessors() * 4;
+		final int transfersPerThread = 5_000;
+		final List<UUID> hotAccounts = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			hotAccounts.add(TestAccounts.open(creditAccountService, AccountType.CREDIT));
+		}
+
+		final AtomicLong completed = new AtomicLong();
+		final AtomicLong rejected = new AtomicLong();
+		final ExecutorService executor = Executors.newFixedThreadPool(threads);
+		final CountDownLatch start = new CountDownLatch(1);
+		final List<Future<?>> futures = new ArrayList<>();
+
+		try {
+			for (int t = 0; t < threads; t++) {
+				futures.add(executor.submit(() -> {
+					start.await();
+					final ThreadLocalRandom random = ThreadLocalRandom.current();
+					for (int i = 0; i < transfersPerThread; i++) {
+						final int source = random.nextInt(hotAccounts.size());
+						final int target = (source + 1 + random.nextInt(hotAccounts.size() - 1)) % hotAccounts.size();
+						try {
+							transferService.transfer(buildTransfer(hotAccounts.get(source), hotAccounts.get(target), BigDecimal.ONE));
+							completed.incrementAndGet();
+						} catch (InvalidTransactionException e) {
+							rejected.incrementAndGet();
+						}
+					}
+					return null;
+				}));
+			}
+
+			start.countDown();
+
+			for (Future<?> future : futures) {
+				future.get(1, TimeUnit.MINUTES);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		BigDecimal total = BigDecimal.ZERO;
+		for (UUID accountId : hotAccounts) {
+			final BigDecimal balance = creditAccountService.getBalance(accountId).get();
+			final BigDecimal statementTotal = creditAccountService.getStatement(accountId)
+					.stream()
+					.map(Statement::getValue)
+					.reduce(BigDecimal.ZERO, BigDecimal::add);
+
+			assertTrue(balance.compareTo(BigDecimal.ZERO) >= 0);
+			assertEquals(0, statementTotal.compareTo(balance));
+			total = total.add(balance);
+		}
+
+		final BigDecimal collectedFees = TRANSFER_FEE.multiply(BigDecimal.valueOf(completed.get()));
+		final BigDecimal initialTotal = INITIAL_BALANCE.multiply(BigDecimal.valueOf(hotAccounts.size()));
+
+		assertEquals(0, initialTotal.compareTo(total.add(collectedFees)));
+		assertEquals((long) threads * transfersPerThread, completed.get() + rejected.get());
+	}
+
+	private Transfer buildTransfer(final UUID sourceId, final UUID targetId, final BigDecimal amount) {
+		final Transfer transfer = new Transfer();
+		transfer.setSourceId(sourceId);
+		transfer.setSourceType(AccountType.CREDIT);
+		transfer.setTargetId(targetId);
+		transfer.setTargetType(AccountType.CREDIT);
+		transfer.setAmount(amount);
+		return transfer;
+	}
+}
@@ -369,4 +369,34 @@ public class TransferServiceTest {
 				InvalidTransactionException.class,
 				() -> transferService.transfer(transfer));
 	}
+
+	@Test
+	public void shouldTreatFormattedAndPlainCpfAsSameOwner() {
+		Transfer transfer = new Transfer();
+		transfer.setSourceId(UUID.randomUUID());
+		transfer.setSourceType(AccountType.CREDIT);
+		transfer.setTargetId(UUID.randomUUID());
+		transfer.setTargetType(AccountType.SAVING);
+		transfer.setAmount(BigDecimal.valueOf(100));
+
+		Owner owner = new Owner();
+		owner.setCpf("529.982.247-25");
+		owner.setName("John");
+
+		Account sourceAccount = new Account();
+		sourceAccount.setOwner(owner);
+
+		Owner targetOwner = new Owner();
+		targetOwner.setCpf("52998224725");
+		targetOwner.setName("John");
+
+		Account targetAccount = new Account();
+		targetAccount.setOwner(targetOwner);
+
+		when(creditAccountServiceMock.getAccount(any())).thenReturn(Optional.of(sourceAccount));
+		when(saveAccountServiceMock.getAccount(any())).thenReturn(Optional.of(targetAccount));
+		when(creditAccountServiceMock.withdrawForTransfer(any(), any(), any())).thenReturn(BigDecimal.TEN);
+
+		assertEquals(BigDecimal.TEN, transferService.transfer(transfer));
+	}
 }
@@ -0,0 +1,56 @@
+package com.rtejada.bank.support;
+
+import com.rtejada.bank.exception.JournalException;
+import com.rtejada.bank.journal.Journal;
+import com.rtejada.bank.journal.JournalRecord;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+public class FailingJournal implements Journal {
+
+	private final AtomicLong sequence = new AtomicLong();
+	private volatile boolean failing;
+	private volatile boolean failingAppends;
+
+	public void setFailing(final boolean failing) {
+		this.failing = failing;
+	}
+
+	public void setFailingAppends(final boolean failingAppends) {
+		this.failingAppends = failingAppends;
+	}
+
+	public boolean isEnabled() {
+		return true;
+	}
+
+	public void checkWritable() {
+	}
+
+	public long append(final JournalRecord record) {
+		if (failingAppends) {
+			throw new JournalException("Journal append failed");
+		}
+		return sequence.incrementAndGet();
+	}
+
+	public void awaitDurable(final long sequence) {
+		if (failing) {
+			throw new JournalException("Journal flush failed at sequence " + sequence);
+		}
+	}
+
+	public void replay(final long fromPosition, final Consumer<JournalRecord> consumer) {
+	}
+
+	public long checkpoint() {
+		return sequence.get();
+	}
+
+	public void truncate(final long beforePosition) {
+	}
+
+	public void close() {
+	}
+}
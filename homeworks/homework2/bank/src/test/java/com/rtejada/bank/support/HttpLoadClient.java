@@ -0,0 +1,172 @@
+package com.rtejada.bank.support;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public final class HttpLoadClient {
+
+	private static final long DEADLINE_NANOS = TimeUnit.MINUTES.toNanos(2);
+
+	private HttpLoadClient() {
+	}
+
+	public static int connectionsWithinDescriptorLimit(final int requested) {
+		final OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+		if (!(os instanceof com.sun.management.UnixOperatingSystemMXBean)) {
+			return requested;
+		}
+
+		final long limit = ((com.sun.management.UnixOperatingSystemMXBean) os).getMaxFileDescriptorCount();
+		return (int) Math.min(requested, (limit - 2_000) / 2);
+	}
+
+	public static String createAccount(final int port, final String path) throws IOException {
+		final String response = send(port, request(path, "{\"name\":\"ana\",\"cpf\":\"52998224725\"}"));
+		final String body = response.substring(response.indexOf('{'), response.lastIndexOf('}') + 1);
+		return new ObjectMapper().readTree(body).get("id").asText();
+	}
+
+	public static long[] post(final int port, final List<String> paths, final String body, final int connections) throws IOException {
+		final long[] latencies = new long[connections];
+		final long start = System.nanoTime();
+		int open = connections;
+
+		try (Selector selector = Selector.open()) {
+			for (int i = 0; i < connections; i++) {
+				final SocketChannel channel = SocketChannel.open();
+				channel.configureBlocking(false);
+				channel.connect(new InetSocketAddress("127.0.0.1", port));
+				channel.register(selector, SelectionKey.OP_CONNECT,
+						new Exchange(i, ByteBuffer.wrap(request(paths.get(i % paths.size()), body))));
+			}
+
+			while (open > 0) {
+				if (System.nanoTime() - start > DEADLINE_NANOS) {
+					for (SelectionKey key : selector.keys()) {
+						latencies[((Exchange) key.attachment()).index] = -1;
+						key.channel().close();
+					}
+					break;
+				}
+
+				selector.select(1_000);
+				final Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+
+				while (keys.hasNext()) {
+					final SelectionKey key = keys.next();
+					keys.remove();
+					final Exchange exchange = (Exchange) key.attachment();
+					final SocketChannel channel = (SocketChannel) key.channel();
+
+					try {
+						if (key.isConnectable()) {
+							channel.finishConnect();
+							key.interestOps(SelectionKey.OP_WRITE);
+						} else if (key.isWritable()) {
+							channel.write(exchange.request);
+							if (!exchange.request.hasRemaining()) {
+								key.interestOps(SelectionKey.OP_READ);
+							}
+						} else if (key.isReadable() && exchange.read(channel) < 0) {
+							latencies[exchange.index] = exchange.isOk() ? (System.nanoTime() - start) / 1_000_000 : -1;
+							channel.close();
+							open--;
+						}
+					} catch (IOException e) {
+						latencies[exchange.index] = -1;
+						channel.close();
+						open--;
+					}
+				}
+			}
+		}
+
+		return latencies;
+	}
+
+	public static long failures(final long[] latencies) {
+		return Arrays.stream(latencies).filter(latency -> latency < 0).count();
+	}
+
+	public static String summary(final long[] latencies) {
+		final long[] succeeded = Arrays.stream(latencies).filter(latency -> latency >= 0).sorted().toArray();
+		return String.format("failed=%d, p50=%dms p99=%dms max=%dms", latencies.length - succeeded.length,
+				percentile(succeeded, 0.50), percentile(succeeded, 0.99), percentile(succeeded, 1.0));
+	}
+
+	private static long percentile(final long[] sorted, final double percentile) {
+		if (sorted.length == 0) {
+			return 0;
+		}
+		return sorted[(int) Math.min(sorted.length - 1, Math.max(0, Math.ceil(sorted.length * percentile) - 1))];
+	}
+
+	private static byte[] request(final String path, final String body) {
+		return ("POST " + path + " HTTP/1.1\r\n"
+				+ "Host: localhost\r\n"
+				+ "Content-Type: application/json\r\n"
+				+ "Content-Length: " + body.length() + "\r\n"
+				+ "Connection: close\r\n\r\n"
+				+ body).getBytes(StandardCharsets.US_ASCII);
+	}
+
+	private static String send(final int port, final byte[] request) throws IOException {
+		try (Socket socket = new Socket("127.0.0.1", port)) {
+			final OutputStream output = socket.getOutputStream();
+			output.write(request);
+			output.flush();
+
+			final InputStream input = socket.getInputStream();
+			final ByteArrayOutputStream response = new ByteArrayOutputStream();
+			final byte[] buffer = new byte[1024];
+			int read;
+			while ((read = input.read(buffer)) >= 0) {
+				response.write(buffer, 0, read);
+			}
+			return new String(response.toByteArray(), StandardCharsets.UTF_8);
+		}
+	}
+
+	private static class Exchange {
+
+		private final int index;
+		private final ByteBuffer request;
+		private final ByteBuffer response = ByteBuffer.allocate(1024);
+		private final ByteBuffer discard = ByteBuffer.allocate(1024);
+
+		private Exchange(final int index, final ByteBuffer request) {
+			this.index = index;
+			this.request = request;
+		}
+
+		private int read(final SocketChannel channel) throws IOException {
+			if (response.hasRemaining()) {
+				return channel.read(response);
+			}
+
+			discard.clear();
+			return channel.read(discard);
+		}
+
+		private boolean isOk() {
+			return new String(response.array(), 0, response.position(), StandardCharsets.US_ASCII).startsWith("HTTP/1.1 200");
+		}
+	}
+}
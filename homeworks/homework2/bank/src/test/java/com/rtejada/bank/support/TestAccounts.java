@@ -0,0 +1,35 @@
+package com.rtejada.bank.support;
+
+import com.rtejada.bank.model.Account;
+import com.rtejada.bank.model.AccountType;
+import com.rtejada.bank.model.Owner;
+import com.rtejada.bank.service.AccountService;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public final class TestAccounts {
+
+	public static final String OWNER_CPF = "12345678910";
+	public static final BigDecimal INITIAL_BALANCE = BigDecimal.valueOf(10_000);
+
+	private TestAccounts() {
+	}
+
+	public static Account build(final AccountType accountType) {
+		final Owner owner = new Owner();
+		owner.setCpf(OWNER_CPF);
+		owner.setName("joao");
+
+		final Account account = new Account();
+		account.setAccountType(accountType);
+		account.setOwner(owner);
+		return account;
+	}
+
+	public static UUID open(final AccountService accountService, final AccountType accountType) {
+		final UUID accountId = accountService.createAccount(build(accountType)).getId();
+		accountService.deposit(INITIAL_BALANCE, accountId);
+		return accountId;
+	}
+}
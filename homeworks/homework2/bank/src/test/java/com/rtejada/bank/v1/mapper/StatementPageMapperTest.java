@@ -0,0 +1,73 @@
+package com.rtejada.bank.v1.mapper;
+
+import com.rtejada.bank.model.Statement;
+import com.rtejada.bank.model.Transaction;
+import com.rtejada.bank.v1.dto.StatementPageResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StatementPageMapperTest {
+
+	private StatementPageMapper statementPageMapper;
+
+	@BeforeEach
+	public void setUp() {
+		statementPageMapper = new StatementPageMapper(new AccountMapper());
+	}
+
+	@Test
+	public void shouldRoundTripCursor() {
+		assertEquals(0, statementPageMapper.toOffset(null));
+		assertEquals(0, statementPageMapper.toOffset(""));
+		assertEquals(1234, statementPageMapper.toOffset(statementPageMapper.toCursor(1234)));
+	}
+
+	@Test
+	public void shouldNotAllowInvalidCursor() {
+		assertThrows(IllegalArgumentException.class, () -> statementPageMapper.toOffset("not a cursor"));
+		assertThrows(IllegalArgumentException.class, () -> statementPageMapper.toOffset("MTIz"));
+	}
+
+	@Test
+	public void shouldNotAllowInvalidLimit() {
+		assertThrows(IllegalArgumentException.class, () -> statementPageMapper.toLimit(0));
+		assertThrows(IllegalArgumentException.class, () -> statementPageMapper.toLimit(StatementPageMapper.MAX_LIMIT + 1));
+		assertEquals(10, statementPageMapper.toLimit(10));
+	}
+
+	@Test
+	public void shouldMapPageWithNextCursor() {
+		final StatementPageResponse result = statementPageMapper.toResponse(buildStatements(3), 4, 2);
+
+		assertEquals(2, result.getStatements().size());
+		assertEquals(6, statementPageMapper.toOffset(result.getNextCursor()));
+	}
+
+	@Test
+	public void shouldMapLastPageWithoutNextCursor() {
+		final StatementPageResponse result = statementPageMapper.toResponse(buildStatements(2), 4, 2);
+
+		assertEquals(2, result.getStatements().size());
+		assertNull(result.getNextCursor());
+	}
+
+	@Test
+	public void shouldNotAllowMapNullStatements() {
+		assertThrows(IllegalArgumentException.class, () -> statementPageMapper.toResponse(null, 0, 1));
+	}
+
+	private List<Statement> buildStatements(int count) {
+		final List<Statement> statements = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			statements.add(new Statement(LocalDateTime.now(), BigDecimal.valueOf(i), Transaction.DEPOSIT));
+		}
+		return statements;
+	}
+}
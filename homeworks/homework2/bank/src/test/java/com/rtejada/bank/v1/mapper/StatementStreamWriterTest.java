@@ -0,0 +1,85 @@
+package com.rtejada.bank.v1.mapper;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.rtejada.bank.exception.InvalidAccountException;
+import com.rtejada.bank.model.Account;
+import com.rtejada.bank.model.AccountType;
+import com.rtejada.bank.model.Owner;
+import com.rtejada.bank.service.CreditAccountService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StatementStreamWriterTest {
+
+	private CreditAccountService creditAccountService;
+	private StatementStreamWriter statementStreamWriter;
+
+	@BeforeEach
+	public void setUp() {
+		creditAccountService = new CreditAccountService();
+		statementStreamWriter = new StatementStreamWriter(new AccountMapper(), new ObjectMapper().registerModule(new JavaTimeModule()));
+	}
+
+	@Test
+	public void shouldStreamStatementsAsNdjson() throws Exception {
+		final Owner owner = new Owner();
+		owner.setCpf("12345678910");
+		owner.setName("joao");
+		final Account account = new Account();
+		account.setAccountType(AccountType.CREDIT);
+		account.setOwner(owner);
+		final UUID accountId = creditAccountService.createAccount(account).getId();
+
+		for (int i = 0; i < 1500; i++) {
+			creditAccountService.deposit(BigDecimal.ONE, accountId);
+		}
+
+		final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		statementStreamWriter.stream(creditAccountService, accountId).getBody().writeTo(output);
+
+		final String[] lines = output.toString(StandardCharsets.UTF_8.name()).split("\n");
+
+		assertEquals(1500, lines.length);
+		assertTrue(lines[0].startsWith("{"));
+		assertTrue(lines[0].contains("\"transaction\":\"DEPOSIT\""));
+	}
+
+	@Test
+	public void shouldStreamBalanceHistoryAsNdjson() throws Exception {
+		final Owner owner = new Owner();
+		owner.setCpf("12345678910");
+		owner.setName("joao");
+		final Account account = new Account();
+		account.setAccountType(AccountType.CREDIT);
+		account.setOwner(owner);
+		final UUID accountId = creditAccountService.createAccount(account).getId();
+
+		for (int i = 0; i < 1500; i++) {
+			creditAccountService.deposit(BigDecimal.ONE, accountId);
+		}
+
+		final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		statementStreamWriter.streamBalances(creditAccountService.getBalanceHistory(accountId, null, null)).getBody().writeTo(output);
+
+		final String[] lines = output.toString(StandardCharsets.UTF_8.name()).split("\n");
+
+		assertEquals(1500, lines.length);
+		assertTrue(lines[0].contains("\"balance\":1"));
+		assertTrue(lines[1499].contains("\"balance\":1500"));
+	}
+
+	@Test
+	public void shouldNotAllowStreamFromInvalidAccount() {
+		assertThrows(
+				InvalidAccountException.class,
+				() -> statementStreamWriter.stream(creditAccountService, UUID.randomUUID()));
+	}
+}
@@ -0,0 +1,82 @@
+package com.rtejada.bank.v1.mapper;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rtejada.bank.model.AccountType;
+import com.rtejada.bank.model.TransferResult;
+import com.rtejada.bank.service.BatchTransferService;
+import com.rtejada.bank.v1.dto.TransferRequest;
+import com.rtejada.bank.v1.dto.TransferResultResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.validation.Validation;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TransferBatchMapperTest {
+
+	private TransferBatchMapper transferBatchMapper;
+
+	@BeforeEach
+	public void setUp() {
+		transferBatchMapper = new TransferBatchMapper(new TransferMapper(), new ObjectMapper(),
+				Validation.buildDefaultValidatorFactory().getValidator());
+	}
+
+	@Test
+	public void shouldReportViolationsPerItem() {
+		final BatchTransferService batchTransferService = mock(BatchTransferService.class);
+		when(batchTransferService.transfer(argThat(transfers -> transfers.size() == 2
+				&& transfers.get(0) != null && transfers.get(1) == null)))
+				.thenReturn(Arrays.asList(
+						TransferResult.success(0, BigDecimal.ONE),
+						TransferResult.failure(1, "Invalid transfer request")));
+
+		final TransferRequest invalid = buildRequest();
+		invalid.setAmount(null);
+
+		final List<TransferResultResponse> responses = transferBatchMapper.execute(batchTransferService,
+				Arrays.asList(buildRequest(), invalid));
+
+		assertTrue(responses.get(0).isSuccess());
+		assertEquals(BigDecimal.ONE, responses.get(0).getBalance());
+		assertFalse(responses.get(1).isSuccess());
+		assertEquals(1, responses.get(1).getIndex());
+		assertTrue(responses.get(1).getError().startsWith("amount"));
+	}
+
+	@Test
+	public void shouldReadNdjson() throws IOException {
+		final UUID sourceId = UUID.randomUUID();
+		final String body = "{\"sourceId\":\"" + sourceId + "\",\"sourceType\":\"CREDIT\",\"amount\":10}\n\n"
+				+ "{\"sourceType\":\"SAVING\",\"amount\":2.5}\n";
+
+		final List<TransferRequest> requests = transferBatchMapper.readNdjson(
+				new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+
+		assertEquals(2, requests.size());
+		assertEquals(sourceId, requests.get(0).getSourceId());
+		assertEquals(AccountType.SAVING, requests.get(1).getSourceType());
+		assertEquals(new BigDecimal("2.5"), requests.get(1).getAmount());
+	}
+
+	private TransferRequest buildRequest() {
+		final TransferRequest request = new TransferRequest();
+		request.setSourceId(UUID.randomUUID());
+		request.setSourceType(AccountType.CREDIT);
+		request.setTargetId(UUID.randomUUID());
+		request.setTargetType(AccountType.CREDIT);
+		request.setAmount(BigDecimal.TEN);
+		return request;
+	}
+}
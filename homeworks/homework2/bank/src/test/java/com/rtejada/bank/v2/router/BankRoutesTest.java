@@ -0,0 +1,190 @@
+package com.rtejada.bank.v2.router;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.rtejada.bank.engine.DirectCommandExecutor;
+import com.rtejada.bank.engine.DirectTransactionGateway;
+import com.rtejada.bank.engine.TransactionGateway;
+import com.rtejada.bank.repository.AccountStore;
+import com.rtejada.bank.service.CreditAccountService;
+import com.rtejada.bank.service.IdempotencyService;
+import com.rtejada.bank.service.SaveAccountService;
+import com.rtejada.bank.service.TransferService;
+import com.rtejada.bank.v1.dto.AccountResponse;
+import com.rtejada.bank.v1.dto.BalancePointResponse;
+import com.rtejada.bank.v1.dto.StatementResponse;
+import com.rtejada.bank.v1.dto.StatementSummaryResponse;
+import com.rtejada.bank.v1.mapper.AccountFactory;
+import com.rtejada.bank.v1.mapper.AccountMapper;
+import com.rtejada.bank.v1.mapper.TransferMapper;
+import com.rtejada.bank.v2.handler.AccountHandler;
+import com.rtejada.bank.v2.handler.RequestValidator;
+import com.rtejada.bank.v2.handler.TransferHandler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import javax.validation.Validation;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BankRoutesTest {
+
+	private WebTestClient client;
+
+	@BeforeEach
+	public void setUp() {
+		final AccountStore accountStore = new AccountStore();
+		final CreditAccountService creditAccountService = new CreditAccountService(accountStore);
+		final SaveAccountService saveAccountService = new SaveAccountService(accountStore);
+		final TransferService transferService = new TransferService(creditAccountService, saveAccountService, accountStore);
+		final TransactionGateway transactionGateway = new DirectTransactionGateway(creditAccountService, saveAccountService, transferService,
+				new DirectCommandExecutor());
+		final IdempotencyService idempotencyService = new IdempotencyService(100, 1_000_000_000L, System::nanoTime);
+		final RequestValidator requestValidator = new RequestValidator(Validation.buildDefaultValidatorFactory().getValidator());
+
+		final AccountHandler accountHandler = new AccountHandler(creditAccountService, saveAccountService, new AccountMapper(),
+				new AccountFactory(), requestValidator, idempotencyService, transactionGateway);
+		final TransferHandler transferHandler = new TransferHandler(new TransferMapper(), requestValidator, idempotencyService,
+				transactionGateway);
+
+		final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+		client = WebTestClient.bindToRouterFunction(BankRoutes.routes(accountHandler, transferHandler))
+				.handlerStrategies(BankRoutes.strategies(objectMapper))
+				.configureClient()
+				.codecs(configurer -> configurer.defaultCodecs().jackson2JsonDecoder(
+						new Jackson2JsonDecoder(objectMapper, MediaType.APPLICATION_JSON, BankRoutes.APPLICATION_NDJSON)))
+				.build();
+	}
+
+	@Test
+	public void shouldDepositAndWithdraw() {
+		final UUID accountId = createAccount("/v2/credit-accounts");
+
+		post("/v2/credit-accounts/" + accountId + "/deposit", "{\"value\":100}")
+				.expectStatus().isOk()
+				.expectBody(BigDecimal.class).isEqualTo(new BigDecimal("100"));
+		post("/v2/credit-accounts/" + accountId + "/withdraw", "{\"value\":10}")
+				.expectStatus().isOk()
+				.expectBody(BigDecimal.class).isEqualTo(new BigDecimal("90"));
+
+		client.get().uri("/v2/credit-accounts/" + accountId + "/balance")
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody(BigDecimal.class).isEqualTo(new BigDecimal("90"));
+	}
+
+	@Test
+	public void shouldRejectInvalidRequests() {
+		final UUID accountId = createAccount("/v2/save-accounts");
+
+		post("/v2/save-accounts/" + accountId + "/deposit", "{}").expectStatus().isBadRequest();
+		post("/v2/save-accounts/not-an-id/deposit", "{\"value\":1}").expectStatus().isBadRequest();
+		post("/v2/save-accounts/" + accountId + "/withdraw", "{\"value\":1}").expectStatus().is5xxServerError();
+		client.get().uri("/v2/save-accounts/" + UUID.randomUUID() + "/balance").exchange().expectStatus().is5xxServerError();
+		client.get().uri("/v2/save-accounts/" + accountId + "/balance?at=yesterday").exchange().expectStatus().isBadRequest();
+		client.get().uri("/v2/credit-accounts/" + accountId + "/balance?at=2030-01-01T00:00:00").exchange().expectStatus().isBadRequest();
+		client.get().uri("/v2/save-accounts/" + accountId + "/balance?at=2030-01-01T00:00:00")
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody(BigDecimal.class).isEqualTo(BigDecimal.ZERO);
+	}
+
+	@Test
+	public void shouldReplayDepositWithSameIdempotencyKey() {
+		final UUID accountId = createAccount("/v2/credit-accounts");
+
+		for (int i = 0; i < 2; i++) {
+			client.post().uri("/v2/credit-accounts/" + accountId + "/deposit")
+					.header(IdempotencyService.IDEMPOTENCY_KEY_HEADER, "key")
+					.contentType(MediaType.APPLICATION_JSON)
+					.bodyValue("{\"value\":100}")
+					.exchange()
+					.expectStatus().isOk()
+					.expectBody(BigDecimal.class).isEqualTo(new BigDecimal("100"));
+		}
+	}
+
+	@Test
+	public void shouldTransferAndStreamStatement() {
+		final UUID sourceId = createAccount("/v2/credit-accounts");
+		final UUID targetId = createAccount("/v2/credit-accounts");
+		for (int i = 0; i < 1_200; i++) {
+			post("/v2/credit-accounts/" + sourceId + "/deposit", "{\"value\":1}").expectStatus().isOk();
+		}
+
+		post("/v2/transfers", "{\"sourceId\":\"" + sourceId + "\",\"sourceType\":\"CREDIT\",\"targetId\":\"" + targetId
+				+ "\",\"targetType\":\"CREDIT\",\"amount\":100}")
+				.expectStatus().isOk()
+				.expectBody(BigDecimal.class).isEqualTo(new BigDecimal("1095.00"));
+
+		final List<StatementResponse> statement = client.get().uri("/v2/credit-accounts/" + sourceId + "/statement/stream")
+				.exchange()
+				.expectStatus().isOk()
+				.expectHeader().contentType(BankRoutes.APPLICATION_NDJSON)
+				.returnResult(StatementResponse.class)
+				.getResponseBody()
+				.collectList()
+				.block();
+
+		assertEquals(1_201, statement.size());
+		assertEquals(0, new BigDecimal("-105").compareTo(statement.get(1_200).getValue()));
+
+		client.get().uri("/v2/credit-accounts/" + targetId + "/statement")
+				.exchange()
+				.expectStatus().isOk()
+				.expectHeader().contentType(MediaType.APPLICATION_JSON)
+				.expectBodyList(StatementResponse.class).hasSize(1);
+
+		client.get().uri("/v2/credit-accounts/" + sourceId + "/statement?type=WITHDRAW,TRANSFER")
+				.exchange()
+				.expectStatus().isOk()
+				.expectBodyList(StatementResponse.class).hasSize(1);
+		client.get().uri("/v2/credit-accounts/" + sourceId + "/statement?to=2000-01-01T00:00:00")
+				.exchange()
+				.expectStatus().isOk()
+				.expectBodyList(StatementResponse.class).hasSize(0);
+		client.get().uri("/v2/credit-accounts/" + sourceId + "/statement?type=LOAN").exchange().expectStatus().isBadRequest();
+
+		client.get().uri("/v2/credit-accounts/" + sourceId + "/statement/summary?granularity=month")
+				.exchange()
+				.expectStatus().isOk()
+				.expectBodyList(StatementSummaryResponse.class).hasSize(2);
+		client.get().uri("/v2/credit-accounts/" + sourceId + "/statement/summary?granularity=week").exchange().expectStatus().isBadRequest();
+
+		client.get().uri("/v2/credit-accounts/" + sourceId + "/balance/history?to=2000-01-01T00:00:00")
+				.exchange()
+				.expectStatus().isOk()
+				.expectBodyList(BalancePointResponse.class).hasSize(0);
+		client.get().uri("/v2/credit-accounts/" + sourceId + "/balance/history?at=2000-01-01T00:00:00")
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody(BalancePointResponse.class)
+				.value(point -> assertEquals(BigDecimal.ZERO, point.getBalance()));
+		client.get().uri("/v2/credit-accounts/" + sourceId + "/balance/history?at=yesterday").exchange().expectStatus().isBadRequest();
+	}
+
+	private UUID createAccount(final String path) {
+		return client.post().uri(path)
+				.contentType(MediaType.APPLICATION_JSON)
+				.bodyValue("{\"name\":\"ana\",\"cpf\":\"52998224725\"}")
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody(AccountResponse.class)
+				.returnResult()
+				.getResponseBody()
+				.getId();
+	}
+
+	private WebTestClient.ResponseSpec post(final String path, final String body) {
+		return client.post().uri(path)
+				.contentType(MediaType.APPLICATION_JSON)
+				.bodyValue(body)
+				.exchange();
+	}
+}
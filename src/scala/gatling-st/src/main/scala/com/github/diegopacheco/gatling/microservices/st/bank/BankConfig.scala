@@ -0,0 +1,53 @@
+package com.github.diegopacheco.gatling.microservices.st.bank
+
+import scala.concurrent.duration._
+
+object BankConfig {
+
+  def url: String = string("GATLING_URL", "http://localhost:8080")
+
+  def profile: String = string("GATLING_PROFILE", "ramp").toLowerCase
+
+  def createRate: Double = double("GATLING_CREATE_RATE", 5)
+
+  def transactionRate: Double = double("GATLING_TRANSACTION_RATE", 20)
+
+  def transferRate: Double = double("GATLING_TRANSFER_RATE", 10)
+
+  def statementRate: Double = double("GATLING_STATEMENT_RATE", 2)
+
+  def rampDuration: FiniteDuration = seconds("GATLING_RAMP", 30)
+
+  def during: FiniteDuration = seconds("GATLING_DURING", 60)
+
+  def steps: Int = int("GATLING_STEPS", 5)
+
+  def stepDuration: FiniteDuration = seconds("GATLING_STEP_DURING", 30)
+
+  def spikeFactor: Double = double("GATLING_SPIKE_FACTOR", 10)
+
+  def spikeDuration: FiniteDuration = seconds("GATLING_SPIKE_DURING", 10)
+
+  def operationsPerUser: Int = int("GATLING_OPERATIONS", 10)
+
+  def hotAccounts: Int = int("GATLING_HOT_ACCOUNTS", 4)
+
+  def history: Int = int("GATLING_HISTORY", 2000)
+
+  def pageSize: Int = int("GATLING_PAGE_SIZE", 500)
+
+  def p95Millis: Int = int("GATLING_P95_MS", 250)
+
+  def p99Millis: Int = int("GATLING_P99_MS", 1000)
+
+  def maxErrorPercent: Double = double("GATLING_MAX_ERROR_PCT", 1)
+
+  private def string(name: String, default: String): String =
+    Option(System.getProperty(name)).filter(_.nonEmpty).getOrElse(default)
+
+  private def double(name: String, default: Double): Double = string(name, default.toString).toDouble
+
+  private def int(name: String, default: Int): Int = string(name, default.toString).toInt
+
+  private def seconds(name: String, default: Long): FiniteDuration = string(name, default.toString).toLong.seconds
+}
@@ -0,0 +1,50 @@
+package com.github.diegopacheco.gatling.microservices.st.bank
+
+import java.net.{HttpURLConnection, URL}
+import java.nio.charset.StandardCharsets
+import java.util.concurrent.ThreadLocalRandom
+
+import scala.io.Source
+
+object BankFixtures {
+
+  @volatile private var accounts: Vector[String] = Vector.empty
+
+  def createHotAccounts(baseUrl: String, count: Int, history: Int): Unit = {
+    accounts = Vector.fill(count) {
+      val cpf = CpfFeeder.next()
+      val response = post(baseUrl + "/v1/credit-accounts", s"""{"name":"hot-$cpf","cpf":"$cpf"}""")
+      val accountId = """"id":"([^"]+)"""".r.findFirstMatchIn(response)
+        .map(_.group(1))
+        .getOrElse(throw new IllegalStateException("Cannot create hot account: " + response))
+
+      (1 to history).foreach(_ => post(s"$baseUrl/v1/credit-accounts/$accountId/deposit", """{"value":1}"""))
+      accountId
+    }
+  }
+
+  def hotAccounts: Vector[String] = accounts
+
+  def randomHotAccount(): String = accounts(ThreadLocalRandom.current().nextInt(accounts.size))
+
+  def hotAccountFeeder(): Iterator[Map[String, Any]] = Iterator.continually(Map("hotAccountId" -> randomHotAccount()))
+
+  private def post(url: String, body: String): String = {
+    val connection = new URL(url).openConnection().asInstanceOf[HttpURLConnection]
+    try {
+      connection.setRequestMethod("POST")
+      connection.setRequestProperty("Content-Type", "application/json")
+      connection.setDoOutput(true)
+      connection.getOutputStream.write(body.getBytes(StandardCharsets.UTF_8))
+
+      if (connection.getResponseCode / 100 != 2) {
+        throw new IllegalStateException(s"POST $url failed with ${connection.getResponseCode}")
+      }
+
+      val source = Source.fromInputStream(connection.getInputStream, "UTF-8")
+      try source.mkString finally source.close()
+    } finally {
+      connection.disconnect()
+    }
+  }
+}
@@ -0,0 +1,110 @@
+package com.github.diegopacheco.gatling.microservices.st.bank
+
+import java.util.UUID
+
+import io.gatling.core.Predef._
+import io.gatling.core.structure.ChainBuilder
+import io.gatling.http.Predef._
+
+object BankScenarios {
+
+  private val owners = CpfFeeder()
+  private val idempotencyKeys = Iterator.continually(Map("idempotencyKey" -> UUID.randomUUID().toString))
+
+  private def createAccount(path: String, name: String): ChainBuilder =
+    exec(
+      http(name)
+        .post(path)
+        .body(StringBody("""{"name":"${name}","cpf":"${cpf}"}""")).asJson
+        .check(status.is(200), jsonPath("$.id").saveAs("accountId"))
+    )
+
+  private def deposit(name: String, value: String): ChainBuilder =
+    exec(
+      http(name)
+        .post("/v1/credit-accounts/${accountId}/deposit")
+        .body(StringBody(s"""{"value":$value}""")).asJson
+        .check(status.is(200))
+    )
+
+  val accountCreation = scenario("Account creation")
+    .feed(owners)
+    .exec(createAccount("/v1/credit-accounts", "create credit account"))
+    .exec(createAccount("/v1/save-accounts", "create saving account"))
+    .exec(
+      http("owner accounts")
+        .get("/v1/owners/${cpf}/accounts")
+        .check(status.is(200), jsonPath("$[*].id").count.is(2))
+    )
+
+  val depositWithdraw = scenario("Mixed deposit/withdraw")
+    .feed(owners)
+    .exec(createAccount("/v1/credit-accounts", "create credit account"))
+    .exec(deposit("opening deposit", "10000"))
+    .repeat(BankConfig.operationsPerUser) {
+      feed(idempotencyKeys)
+        .randomSwitch(
+          60.0 -> exec(
+            http("deposit")
+              .post("/v1/credit-accounts/${accountId}/deposit")
+              .header("Idempotency-Key", "${idempotencyKey}")
+              .body(StringBody("""{"value":25.50}""")).asJson
+              .check(status.is(200))
+          ),
+          40.0 -> exec(
+            http("withdraw")
+              .post("/v1/credit-accounts/${accountId}/withdraw")
+              .header("Idempotency-Key", "${idempotencyKey}")
+              .body(StringBody("""{"value":10}""")).asJson
+              .check(status.is(200))
+          )
+        )
+    }
+    .exec(
+      http("balance")
+        .get("/v1/credit-accounts/${accountId}/balance")
+        .check(status.is(200))
+    )
+
+  val hotAccountTransfers = scenario("Hot-account transfer contention")
+    .feed(owners)
+    .exec(createAccount("/v1/credit-accounts", "create credit account"))
+    .exec(deposit("opening deposit", "100000"))
+    .repeat(BankConfig.operationsPerUser) {
+      feed(BankFixtures.hotAccountFeeder())
+        .exec(
+          http("transfer to hot account")
+            .post("/v1/transfers")
+            .body(StringBody(
+              """{"sourceId":"${accountId}","sourceType":"CREDIT","targetId":"${hotAccountId}","targetType":"CREDIT","amount":5}""")).asJson
+            .check(status.is(200))
+        )
+    }
+
+  val longStatementReads = scenario("Long statement reads")
+    .feed(BankFixtures.hotAccountFeeder())
+    .exec(
+      http("full statement")
+        .get("/v1/credit-accounts/${hotAccountId}/statement")
+        .check(status.is(200), jsonPath("$[*]").count.gte(BankConfig.history))
+    )
+    .exec(session => session.set("cursor", ""))
+    .asLongAs(session => session("cursor").asOption[String].isDefined) {
+      exec(
+        http("statement page")
+          .get("/v1/credit-accounts/${hotAccountId}/statement")
+          .queryParam("limit", BankConfig.pageSize)
+          .queryParam("cursor", "${cursor}")
+          .check(status.is(200), jsonPath("$.nextCursor").ofType[String].optional.saveAs("nextCursor"))
+      ).exec(session => session.attributes.get("nextCursor").collect { case cursor: String => cursor } match {
+        case Some(cursor) => session.set("cursor", cursor).remove("nextCursor")
+        case None => session.remove("cursor")
+      })
+    }
+    .exec(
+      http("statement stream")
+        .get("/v1/credit-accounts/${hotAccountId}/statement/stream")
+        .header("Accept", "application/x-ndjson")
+        .check(status.is(200))
+    )
+}
@@ -0,0 +1,57 @@
+package com.github.diegopacheco.gatling.microservices.st.bank
+
+import io.gatling.core.Predef._
+import io.gatling.core.structure.{PopulationBuilder, ScenarioBuilder}
+import io.gatling.http.Predef._
+
+import scala.concurrent.duration._
+
+class BankStressTest extends Simulation {
+
+  val httpProtocol = http
+    .baseUrl(BankConfig.url)
+    .acceptHeader("application/json")
+    .contentTypeHeader("application/json")
+    .userAgentHeader("gatling-bank-st")
+
+  before {
+    BankFixtures.createHotAccounts(BankConfig.url, BankConfig.hotAccounts, BankConfig.history)
+  }
+
+  def inject(scenario: ScenarioBuilder, rate: Double): PopulationBuilder = BankConfig.profile match {
+    case "step" =>
+      scenario.inject(incrementUsersPerSec(rate / BankConfig.steps)
+        .times(BankConfig.steps)
+        .eachLevelLasting(BankConfig.stepDuration)
+        .separatedByRampsLasting((BankConfig.stepDuration / 6).max(1.second))
+        .startingFrom(math.round(rate / BankConfig.steps).toInt))
+    case "spike" =>
+      scenario.inject(
+        constantUsersPerSec(rate) during BankConfig.during,
+        rampUsersPerSec(rate) to (rate * BankConfig.spikeFactor) during 2.seconds,
+        constantUsersPerSec(rate * BankConfig.spikeFactor) during BankConfig.spikeDuration,
+        rampUsersPerSec(rate * BankConfig.spikeFactor) to rate during 2.seconds,
+        constantUsersPerSec(rate) during BankConfig.during
+      )
+    case "ramp" =>
+      scenario.inject(
+        rampUsersPerSec(1) to rate during BankConfig.rampDuration,
+        constantUsersPerSec(rate) during BankConfig.during
+      )
+    case other =>
+      throw new IllegalArgumentException("Unknown GATLING_PROFILE: " + other)
+  }
+
+  setUp(
+    inject(BankScenarios.accountCreation, BankConfig.createRate),
+    inject(BankScenarios.depositWithdraw, BankConfig.transactionRate),
+    inject(BankScenarios.hotAccountTransfers, BankConfig.transferRate),
+    inject(BankScenarios.longStatementReads, BankConfig.statementRate)
+  ).protocols(httpProtocol)
+    .assertions(
+      global.responseTime.percentile3.lt(BankConfig.p95Millis),
+      global.responseTime.percentile4.lt(BankConfig.p99Millis),
+      global.failedRequests.percent.lte(BankConfig.maxErrorPercent),
+      forAll.failedRequests.percent.lte(BankConfig.maxErrorPercent)
+    )
+}
@@ -0,0 +1,26 @@
+package com.github.diegopacheco.gatling.microservices.st.bank
+
+import java.util.concurrent.ThreadLocalRandom
+
+object CpfFeeder {
+
+  def apply(): Iterator[Map[String, Any]] =
+    Iterator.continually(Map("cpf" -> next(), "name" -> ("gatling-" + ThreadLocalRandom.current().nextInt(1000000))))
+
+  def next(): String = {
+    val random = ThreadLocalRandom.current()
+    val digits = Array.fill(9)(random.nextInt(10))
+    if (digits.forall(_ == digits(0))) {
+      digits(8) = (digits(0) + 1) % 10
+    }
+
+    val first = checkDigit(digits, 10)
+    val second = checkDigit(digits :+ first, 11)
+    (digits :+ first :+ second).mkString
+  }
+
+  private def checkDigit(digits: Array[Int], weight: Int): Int = {
+    val sum = digits.zipWithIndex.map { case (digit, index) => digit * (weight - index) }.sum
+    (sum * 10) % 11 % 10
+  }
+}